@@ -0,0 +1,94 @@
+package com.hrm.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caching is served by {@link TwoLevelCacheManager}: a per-instance Caffeine tier in front of
+ * the shared Redis tier configured under {@code spring.cache.redis}.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${spring.cache.redis.time-to-live:3600000}")
+    private Duration redisTimeToLive;
+
+    @Value("${hrm.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${hrm.cache.local.time-to-live:60s}")
+    private Duration localTimeToLive;
+
+    @Value("${hrm.cache.invalidation-channel:hrm:cache:invalidation}")
+    private String invalidationChannel;
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate,
+                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        RedisCacheConfiguration redisConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(redisTimeToLive)
+                .disableCachingNullValues()
+                .prefixCacheNameWith("hrm:")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(redisValueSerializer(objectMapper)));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisConfiguration)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, redisTemplate, meterRegistry,
+                List.of(CacheNames.EMPLOYEES, CacheNames.EMPLOYEES_BY_EMAIL,
+                        CacheNames.DEPARTMENTS, CacheNames.ROOT_DEPARTMENTS, CacheNames.LEAVE_CALENDAR),
+                localMaximumSize, localTimeToLive, invalidationChannel);
+        // Defer puts and evictions to commit so a rolled-back write never invalidates or poisons the cache
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           CacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            container.addMessageListener(
+                    (message, pattern) -> twoLevelCacheManager.onInvalidation(
+                            new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(invalidationChannel));
+        }
+        return container;
+    }
+
+    private GenericJackson2JsonRedisSerializer redisValueSerializer(ObjectMapper objectMapper) {
+        // Cached values are DTOs and lists of DTOs; type ids let them round-trip without per-cache serializers
+        ObjectMapper redisMapper = objectMapper.copy();
+        redisMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.hrm.")
+                        .allowIfSubType("java.util.")
+                        .allowIfSubType("java.time.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(redisMapper);
+    }
+}
\ No newline at end of file
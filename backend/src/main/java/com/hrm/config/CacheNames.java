@@ -0,0 +1,16 @@
+package com.hrm.config;
+
+/**
+ * Names of the caches served by {@link TwoLevelCacheManager}.
+ */
+public final class CacheNames {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String EMPLOYEES_BY_EMAIL = "employeesByEmail";
+    public static final String DEPARTMENTS = "departments";
+    public static final String ROOT_DEPARTMENTS = "rootDepartments";
+    public static final String LEAVE_CALENDAR = "leaveCalendar";
+
+    private CacheNames() {
+    }
+}
\ No newline at end of file
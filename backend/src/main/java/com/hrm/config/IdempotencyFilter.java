@@ -0,0 +1,230 @@
+package com.hrm.config;
+
+import com.hrm.service.IdempotencyStore;
+import com.hrm.service.IdempotencyStore.Entry;
+import com.hrm.service.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+
+/**
+ * Deduplicates retried attendance POSTs (check-in, check-out, breaks, kiosk batches) from kiosks on
+ * flaky networks. A request carrying an {@value #HEADER} header is executed once; a retry with the
+ * same key, caller and path gets the original response replayed from {@link IdempotencyStore}, or
+ * 409 while the original is still running. Reusing a key for a different request body is rejected
+ * with 422. Only successful responses are kept, so a failed request can be retried.
+ *
+ * <p>Runs after the security filter chain, so keys are scoped to the authenticated principal and a
+ * replay is still authenticated. If Redis is unavailable the request is executed without
+ * deduplication.</p>
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String PATH_PREFIX = "/api/attendance/";
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final IdempotencyStore idempotencyStore;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore) {
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !PATH_HELPER.getPathWithinApplication(request).startsWith(PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + HEADER + " header");
+            return;
+        }
+        Principal principal = request.getUserPrincipal();
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        String key = key(principal != null ? principal.getName() : "anonymous", path, idempotencyKey);
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = hash(cachedRequest.body);
+
+        try {
+            if (!idempotencyStore.claim(key, requestHash)) {
+                Entry entry = idempotencyStore.find(key).orElse(null);
+                if (entry != null && !requestHash.equals(entry.requestHash())) {
+                    idempotencyStore.count("mismatch");
+                    response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                            HEADER + " was already used for a different request");
+                    return;
+                }
+                if (entry == null || entry.response() == null) {
+                    idempotencyStore.count("in_flight");
+                    response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is in progress");
+                    return;
+                }
+                idempotencyStore.count("replayed");
+                replay(entry.response(), response);
+                return;
+            }
+        } catch (DataAccessException e) {
+            idempotencyStore.count("unavailable");
+            log.warn("Idempotency store unavailable, executing {} without deduplication", path, e);
+            chain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        idempotencyStore.count("executed");
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(cachedRequest, wrapper);
+            save(key, requestHash, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            release(key);
+            throw e;
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // Hashed so neither the principal nor the client's key can shift the boundary between the parts
+    static String key(String principalName, String path, String idempotencyKey) {
+        return hash((principalName + "\n" + path + "\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void save(String key, String requestHash, ContentCachingResponseWrapper wrapper) {
+        if (!HttpStatusCode.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+            release(key);
+            return;
+        }
+        try {
+            idempotencyStore.complete(key, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                    new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8), requestHash));
+        } catch (DataAccessException e) {
+            // The request itself completed; a retry after the in-flight timeout runs it again
+            log.warn("Could not store response for idempotency key {}", key, e);
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && !stored.body().isEmpty()) {
+            byte[] body = stored.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private void release(String key) {
+        try {
+            idempotencyStore.release(key);
+        } catch (DataAccessException e) {
+            // The claim expires after the in-flight timeout
+            log.warn("Could not release idempotency key {}", key, e);
+        }
+    }
+
+    // Reads the body up front so it can be hashed and still be read by the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
\ No newline at end of file
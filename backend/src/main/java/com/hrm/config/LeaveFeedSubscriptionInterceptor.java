@@ -0,0 +1,66 @@
+package com.hrm.config;
+
+import com.hrm.service.EmployeeService;
+import com.hrm.service.dto.EmployeeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Only lets a manager subscribe to their own leave request feed,
+ * {@code /topic/managers/{id}/leave-requests}. The session principal comes from the authenticated
+ * handshake; its {@code email} claim (or name) is resolved to an employee, whose id must match
+ * {@code {id}}. Other destinations are left to the broker.
+ */
+@Component
+@Slf4j
+public class LeaveFeedSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern MANAGER_FEED = Pattern.compile("^/topic/managers/([^/]+)/leave-requests$");
+
+    private final EmployeeService employeeService;
+
+    public LeaveFeedSubscriptionInterceptor(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE || accessor.getDestination() == null) {
+            return message;
+        }
+        Matcher matcher = MANAGER_FEED.matcher(accessor.getDestination());
+        if (!matcher.matches()) {
+            return message;
+        }
+        Principal principal = accessor.getUser();
+        Long employeeId = principal == null ? null : employeeIdOf(principal).orElse(null);
+        if (employeeId == null || !employeeId.toString().equals(matcher.group(1))) {
+            log.warn("Rejected subscription to {} by {}", accessor.getDestination(),
+                    principal != null ? principal.getName() : "anonymous session");
+            throw new MessageDeliveryException(message, "Not authorised to subscribe to " + accessor.getDestination());
+        }
+        return message;
+    }
+
+    private Optional<Long> employeeIdOf(Principal principal) {
+        String email = principal.getName();
+        if (principal instanceof JwtAuthenticationToken token && token.getToken().hasClaim("email")) {
+            email = token.getToken().getClaimAsString("email");
+        }
+        return employeeService.getEmployeeByEmail(email).map(EmployeeDTO::getId);
+    }
+}
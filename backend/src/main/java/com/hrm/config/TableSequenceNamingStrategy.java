@@ -0,0 +1,42 @@
+package com.hrm.config;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedNameParser;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Resolves each entity's id sequence to the {@code <table>_id_seq} sequence that Postgres
+ * created for its BIGSERIAL primary key, so {@link com.hrm.entity.BaseEntity} can use
+ * sequence generation without a sequence per entity name.
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+
+    private static final String SEQUENCE_SUFFIX = "_id_seq";
+
+    private final StandardNamingStrategy fallback = new StandardNamingStrategy();
+
+    @Override
+    public QualifiedName determineSequenceName(Identifier catalogName, Identifier schemaName,
+                                               Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        String tableName = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+        if (tableName == null || tableName.isBlank()) {
+            return fallback.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+
+        return new QualifiedNameParser.NameParts(catalogName, schemaName,
+                Identifier.toIdentifier(tableName + SEQUENCE_SUFFIX));
+    }
+
+    @Override
+    public QualifiedName determineTableName(Identifier catalogName, Identifier schemaName,
+                                            Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        return fallback.determineTableName(catalogName, schemaName, configValues, serviceRegistry);
+    }
+}
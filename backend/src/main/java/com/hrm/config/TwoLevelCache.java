@@ -0,0 +1,157 @@
+package com.hrm.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache that serves from a bounded in-process Caffeine map (L1) and falls back
+ * to Redis (L2) before the caller's loader hits Postgres. L2 hits are copied into L1.
+ * Evictions are applied to both tiers and broadcast so other instances drop their L1 copy.
+ * Redis errors are logged and treated as misses rather than failing the request.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final Consumer<String> invalidationPublisher;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoLevelCache(String name, Cache<String, Object> local, org.springframework.cache.Cache remote,
+                         Consumer<String> invalidationPublisher, MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localHits = requestCounter(meterRegistry, "l1", "hit");
+        this.localMisses = requestCounter(meterRegistry, "l1", "miss");
+        this.remoteHits = requestCounter(meterRegistry, "l2", "hit");
+        this.remoteMisses = requestCounter(meterRegistry, "l2", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper = null;
+        try {
+            wrapper = remote.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Redis lookup failed for cache {} key {}: {}", name, key, e.getMessage());
+        }
+        if (wrapper == null || wrapper.get() == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey, wrapper.get());
+        return wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Redis write failed for cache {} key {}: {}", name, key, e.getMessage());
+        }
+        local.put(localKey(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Redis evict failed for cache {} key {}: {}", name, key, e.getMessage());
+        }
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        invalidationPublisher.accept(localKey);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("Redis clear failed for cache {}: {}", name, e.getMessage());
+        }
+        local.invalidateAll();
+        invalidationPublisher.accept(null);
+    }
+
+    /**
+     * Drops the L1 entry only; called when another instance broadcasts an eviction.
+     */
+    void evictLocal(String localKey) {
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("hrm.cache.requests")
+                .description("Cache lookups by tier and outcome")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.hrm.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds a {@link TwoLevelCache} per cache name, pairing a Caffeine L1 with the matching
+ * {@link RedisCacheManager} cache. Local evictions are published on a Redis channel as
+ * {@code <origin>:<cache>:<key>} (an empty key clears the whole cache) so every instance
+ * keeps its L1 consistent with Redis.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Collection<String> cacheNames;
+    private final long localMaximumSize;
+    private final Duration localTimeToLive;
+    private final String invalidationChannel;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry, Collection<String> cacheNames,
+                                long localMaximumSize, Duration localTimeToLive, String invalidationChannel) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.cacheNames = cacheNames;
+        this.localMaximumSize = localMaximumSize;
+        this.localTimeToLive = localTimeToLive;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    protected Collection<? extends org.springframework.cache.Cache> loadCaches() {
+        return cacheNames.stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected org.springframework.cache.Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * Applies an invalidation broadcast by another instance to the local tier.
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split(":", 3);
+        if (parts.length < 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        org.springframework.cache.Cache cache = lookupCache(parts[1]);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evictLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTimeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, List.of());
+
+        org.springframework.cache.Cache remote = redisCacheManager.getCache(name);
+        return new TwoLevelCache(name, local, remote, localKey -> publishInvalidation(name, localKey), meterRegistry);
+    }
+
+    private void publishInvalidation(String cacheName, String localKey) {
+        String message = instanceId + ":" + cacheName + ":" + (localKey != null ? localKey : "");
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, message);
+        } catch (RuntimeException e) {
+            // Other instances fall back to the L1 time-to-live
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
\ No newline at end of file
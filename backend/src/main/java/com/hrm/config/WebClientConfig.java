@@ -0,0 +1,24 @@
+package com.hrm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class WebClientConfig {
+
+    @Bean
+    public WebClient airflowWebClient(WebClient.Builder builder,
+                                      @Value("${airflow.base-url}") String baseUrl,
+                                      @Value("${airflow.username}") String username,
+                                      @Value("${airflow.password}") String password) {
+        return builder
+                .baseUrl(baseUrl)
+                .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+}
\ No newline at end of file
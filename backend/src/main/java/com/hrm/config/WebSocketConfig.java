@@ -0,0 +1,73 @@
+package com.hrm.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
+
+/**
+ * STOMP over WebSocket at {@code /ws}, served by the in-memory simple broker on {@code /topic}.
+ *
+ * <p>Each session sends through a bounded buffer. A client that falls further behind than the
+ * buffer size, or blocks a send for longer than the time limit, is disconnected rather than
+ * buffered without bound; it resubscribes and reloads its state from the REST endpoints.</p>
+ *
+ * <p>Handshakes are accepted from the same origins as the REST API, and subscriptions to a
+ * manager's feed are checked by {@link LeaveFeedSubscriptionInterceptor}.</p>
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Value("${hrm.feed.allowed-origins:${hrm.cors.allowed-origins}}")
+    private String[] allowedOrigins;
+
+    @Value("${hrm.feed.send-buffer-size:512KB}")
+    private DataSize sendBufferSize;
+
+    @Value("${hrm.feed.send-time-limit:10s}")
+    private Duration sendTimeLimit;
+
+    @Value("${hrm.feed.outbound-threads:4}")
+    private int outboundThreads;
+
+    private final LeaveFeedSubscriptionInterceptor subscriptionInterceptor;
+
+    public WebSocketConfig(LeaveFeedSubscriptionInterceptor subscriptionInterceptor) {
+        this.subscriptionInterceptor = subscriptionInterceptor;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOriginPatterns(allowedOrigins);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit((int) sendBufferSize.toBytes())
+                .setSendTimeLimit((int) sendTimeLimit.toMillis());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(subscriptionInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Sends to a busy session are buffered per session, so slow clients never hold these threads
+        registration.taskExecutor().corePoolSize(outboundThreads).maxPoolSize(outboundThreads);
+    }
+}
\ No newline at end of file
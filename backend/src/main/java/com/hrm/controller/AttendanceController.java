@@ -1,7 +1,14 @@
 package com.hrm.controller;
 
 import com.hrm.entity.Attendance;
+import com.hrm.service.AttendanceRollupJob;
 import com.hrm.service.AttendanceService;
+import com.hrm.service.dto.AttendanceDTO;
+import com.hrm.service.dto.AttendanceMonthlyRollupDTO;
+import com.hrm.service.dto.CursorPage;
+import com.hrm.service.dto.DepartmentPresenceDTO;
+import com.hrm.service.dto.KioskBatchResultDTO;
+import com.hrm.service.dto.KioskEventDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -13,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,43 +32,52 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
 
+    @Autowired
+    private AttendanceRollupJob attendanceRollupJob;
+
     @GetMapping
-    public ResponseEntity<List<Attendance>> getAllAttendance() {
-        List<Attendance> attendance = attendanceService.getAllAttendance();
-        return ResponseEntity.ok(attendance);
+    public ResponseEntity<CursorPage<AttendanceDTO>> getAllAttendance(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<AttendanceDTO> attendance = attendanceService.getAllAttendance(cursor, size);
+            return ResponseEntity.ok(attendance);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Attendance> getAttendanceById(@PathVariable Long id) {
-        Optional<Attendance> attendance = attendanceService.getAttendanceById(id);
+    public ResponseEntity<AttendanceDTO> getAttendanceById(@PathVariable Long id) {
+        Optional<AttendanceDTO> attendance = attendanceService.getAttendanceById(id);
         return attendance.map(ResponseEntity::ok)
                         .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<Attendance>> getAttendanceByEmployee(@PathVariable Long employeeId) {
-        List<Attendance> attendance = attendanceService.getAttendanceByEmployee(employeeId);
+    public ResponseEntity<List<AttendanceDTO>> getAttendanceByEmployee(@PathVariable Long employeeId) {
+        List<AttendanceDTO> attendance = attendanceService.getAttendanceByEmployee(employeeId);
         return ResponseEntity.ok(attendance);
     }
 
     @GetMapping("/employee/{employeeId}/paginated")
-    public ResponseEntity<Page<Attendance>> getAttendanceByEmployeePaginated(
+    public ResponseEntity<Page<AttendanceDTO>> getAttendanceByEmployeePaginated(
             @PathVariable Long employeeId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "workDate") String sortBy,
+            @RequestParam(defaultValue = "date") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
         
         Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
         
-        Page<Attendance> attendance = attendanceService.getAttendanceByEmployee(employeeId, pageable);
+        Page<AttendanceDTO> attendance = attendanceService.getAttendanceByEmployee(employeeId, pageable);
         return ResponseEntity.ok(attendance);
     }
 
     @GetMapping("/employee/{employeeId}/today")
-    public ResponseEntity<Attendance> getTodayAttendance(@PathVariable Long employeeId) {
-        Optional<Attendance> attendance = attendanceService.getTodayAttendance(employeeId);
+    public ResponseEntity<AttendanceDTO> getTodayAttendance(@PathVariable Long employeeId) {
+        Optional<AttendanceDTO> attendance = attendanceService.getTodayAttendanceSummary(employeeId);
         return attendance.map(ResponseEntity::ok)
                         .orElse(ResponseEntity.notFound().build());
     }
@@ -79,6 +96,33 @@ public class AttendanceController {
         }
     }
 
+    @PostMapping("/employee/{employeeId}/check-in/buffered")
+    public ResponseEntity<AttendanceDTO> bufferCheckIn(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) String location,
+            HttpServletRequest request) {
+        try {
+            String ipAddress = getClientIpAddress(request);
+            AttendanceDTO attendance = attendanceService.bufferCheckIn(employeeId, ipAddress, location);
+            return ResponseEntity.accepted().body(attendance);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/kiosk/events")
+    public ResponseEntity<KioskBatchResultDTO> recordKioskEvents(
+            @RequestBody List<KioskEventDTO> events,
+            HttpServletRequest request) {
+        try {
+            String ipAddress = getClientIpAddress(request);
+            KioskBatchResultDTO result = attendanceService.recordKioskEvents(events, ipAddress);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping("/employee/{employeeId}/check-out")
     public ResponseEntity<Attendance> checkOut(@PathVariable Long employeeId) {
         try {
@@ -110,31 +154,31 @@ public class AttendanceController {
     }
 
     @GetMapping("/employee/{employeeId}/date-range")
-    public ResponseEntity<List<Attendance>> getAttendanceByDateRange(
+    public ResponseEntity<List<AttendanceDTO>> getAttendanceByDateRange(
             @PathVariable Long employeeId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
-        List<Attendance> attendance = attendanceService.getAttendanceByDateRange(employeeId, startDate, endDate);
+        List<AttendanceDTO> attendance = attendanceService.getAttendanceByDateRange(employeeId, startDate, endDate);
         return ResponseEntity.ok(attendance);
     }
 
     @GetMapping("/department/{departmentId}/date/{date}")
-    public ResponseEntity<List<Attendance>> getDepartmentAttendanceForDate(
+    public ResponseEntity<List<AttendanceDTO>> getDepartmentAttendanceForDate(
             @PathVariable Long departmentId,
             @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         
-        List<Attendance> attendance = attendanceService.getDepartmentAttendanceForDate(departmentId, date);
+        List<AttendanceDTO> attendance = attendanceService.getDepartmentAttendanceForDate(departmentId, date);
         return ResponseEntity.ok(attendance);
     }
 
     @GetMapping("/manager/{managerId}/team")
-    public ResponseEntity<List<Attendance>> getManagerTeamAttendance(
+    public ResponseEntity<List<AttendanceDTO>> getManagerTeamAttendance(
             @PathVariable Long managerId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
-        List<Attendance> attendance = attendanceService.getManagerTeamAttendance(managerId, startDate, endDate);
+        List<AttendanceDTO> attendance = attendanceService.getManagerTeamAttendance(managerId, startDate, endDate);
         return ResponseEntity.ok(attendance);
     }
 
@@ -158,12 +202,48 @@ public class AttendanceController {
         return ResponseEntity.ok(workingDays);
     }
 
+    @GetMapping("/employee/{employeeId}/monthly")
+    public ResponseEntity<List<AttendanceMonthlyRollupDTO>> getMonthlyRollups(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        
+        List<AttendanceMonthlyRollupDTO> rollups = attendanceService.getMonthlyRollups(employeeId, from, to);
+        return ResponseEntity.ok(rollups);
+    }
+
+    // Recomputes the monthly rollups from raw attendance; returns the number of rollup rows written
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Integer> rebuildRollups(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        try {
+            int rows = attendanceRollupJob.rebuild(from, to);
+            return ResponseEntity.ok(rows);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/employee/{employeeId}/scheduled-working-days")
+    public ResponseEntity<Integer> getScheduledWorkingDays(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            int workingDays = attendanceService.getScheduledWorkingDays(employeeId, startDate, endDate);
+            return ResponseEntity.ok(workingDays);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/overtime")
-    public ResponseEntity<List<Attendance>> getOvertimeRecords(
+    public ResponseEntity<List<AttendanceDTO>> getOvertimeRecords(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
-        List<Attendance> overtimeRecords = attendanceService.getOvertimeRecords(startDate, endDate);
+        List<AttendanceDTO> overtimeRecords = attendanceService.getOvertimeRecords(startDate, endDate);
         return ResponseEntity.ok(overtimeRecords);
     }
 
@@ -205,6 +285,12 @@ public class AttendanceController {
         return ResponseEntity.ok(onBreak);
     }
 
+    @GetMapping("/presence/department/{departmentId}")
+    public ResponseEntity<DepartmentPresenceDTO> getDepartmentPresence(@PathVariable Long departmentId) {
+        DepartmentPresenceDTO presence = attendanceService.getDepartmentPresence(departmentId);
+        return ResponseEntity.ok(presence);
+    }
+
     @PostMapping
     public ResponseEntity<Attendance> createAttendance(@RequestBody Attendance attendance) {
         try {
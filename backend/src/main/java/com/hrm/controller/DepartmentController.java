@@ -2,6 +2,7 @@ package com.hrm.controller;
 
 import com.hrm.entity.Department;
 import com.hrm.service.DepartmentService;
+import com.hrm.service.dto.DepartmentDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,21 +19,21 @@ public class DepartmentController {
     private DepartmentService departmentService;
 
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments() {
-        List<Department> departments = departmentService.getAllDepartments();
+    public ResponseEntity<List<DepartmentDTO>> getAllDepartments() {
+        List<DepartmentDTO> departments = departmentService.getAllDepartments();
         return ResponseEntity.ok(departments);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Department> getDepartmentById(@PathVariable Long id) {
-        Optional<Department> department = departmentService.getDepartmentById(id);
+    public ResponseEntity<DepartmentDTO> getDepartmentById(@PathVariable Long id) {
+        Optional<DepartmentDTO> department = departmentService.getDepartmentById(id);
         return department.map(ResponseEntity::ok)
                         .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<Department> getDepartmentByName(@PathVariable String name) {
-        Optional<Department> department = departmentService.getDepartmentByName(name);
+    public ResponseEntity<DepartmentDTO> getDepartmentByName(@PathVariable String name) {
+        Optional<DepartmentDTO> department = departmentService.getDepartmentByName(name);
         return department.map(ResponseEntity::ok)
                         .orElse(ResponseEntity.notFound().build());
     }
@@ -68,26 +69,26 @@ public class DepartmentController {
     }
 
     @GetMapping("/{parentId}/children")
-    public ResponseEntity<List<Department>> getChildDepartments(@PathVariable Long parentId) {
-        List<Department> childDepartments = departmentService.getChildDepartments(parentId);
+    public ResponseEntity<List<DepartmentDTO>> getChildDepartments(@PathVariable Long parentId) {
+        List<DepartmentDTO> childDepartments = departmentService.getChildDepartments(parentId);
         return ResponseEntity.ok(childDepartments);
     }
 
     @GetMapping("/root")
-    public ResponseEntity<List<Department>> getRootDepartments() {
-        List<Department> rootDepartments = departmentService.getRootDepartments();
+    public ResponseEntity<List<DepartmentDTO>> getRootDepartments() {
+        List<DepartmentDTO> rootDepartments = departmentService.getRootDepartments();
         return ResponseEntity.ok(rootDepartments);
     }
 
     @GetMapping("/manager/{managerId}")
-    public ResponseEntity<List<Department>> getDepartmentsByManager(@PathVariable Long managerId) {
-        List<Department> departments = departmentService.getDepartmentsByManager(managerId);
+    public ResponseEntity<List<DepartmentDTO>> getDepartmentsByManager(@PathVariable Long managerId) {
+        List<DepartmentDTO> departments = departmentService.getDepartmentsByManager(managerId);
         return ResponseEntity.ok(departments);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Department>> searchDepartments(@RequestParam String searchTerm) {
-        List<Department> departments = departmentService.searchDepartments(searchTerm);
+    public ResponseEntity<List<DepartmentDTO>> searchDepartments(@RequestParam String searchTerm) {
+        List<DepartmentDTO> departments = departmentService.searchDepartments(searchTerm);
         return ResponseEntity.ok(departments);
     }
 
@@ -104,11 +105,24 @@ public class DepartmentController {
     }
 
     @GetMapping("/{id}/hierarchy")
-    public ResponseEntity<List<Department>> getDepartmentHierarchy(@PathVariable Long id) {
-        List<Department> hierarchy = departmentService.getDepartmentHierarchy(id);
+    public ResponseEntity<List<DepartmentDTO>> getDepartmentHierarchy(@PathVariable Long id) {
+        List<DepartmentDTO> hierarchy = departmentService.getDepartmentHierarchy(id);
         return ResponseEntity.ok(hierarchy);
     }
 
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<DepartmentDTO>> getDepartmentAncestors(@PathVariable Long id) {
+        List<DepartmentDTO> ancestors = departmentService.getDepartmentAncestors(id);
+        return ResponseEntity.ok(ancestors);
+    }
+
+    @GetMapping("/{id}/depth")
+    public ResponseEntity<Integer> getDepartmentDepth(@PathVariable Long id) {
+        Optional<Integer> depth = departmentService.getDepartmentDepth(id);
+        return depth.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{departmentId}/validate-parent/{parentId}")
     public ResponseEntity<Boolean> validateParentDepartment(
             @PathVariable Long departmentId,
@@ -2,15 +2,23 @@ package com.hrm.controller;
 
 import com.hrm.entity.Employee;
 import com.hrm.entity.enums.EmployeeStatus;
+import com.hrm.service.EmployeeImportService;
 import com.hrm.service.EmployeeService;
+import com.hrm.service.dto.CursorPage;
+import com.hrm.service.dto.EmployeeDTO;
+import com.hrm.service.dto.EmployeeImportDTO;
+import com.hrm.service.dto.EmployeeImportResultDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,29 +30,38 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<CursorPage<EmployeeDTO>> getAllEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<EmployeeDTO> employees = employeeService.getAllEmployees(cursor, size);
+            return ResponseEntity.ok(employees);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
-        Optional<Employee> employee = employeeService.getEmployeeById(id);
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable Long id) {
+        Optional<EmployeeDTO> employee = employeeService.getEmployeeById(id);
         return employee.map(ResponseEntity::ok)
                       .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<Employee> getEmployeeByEmail(@PathVariable String email) {
-        Optional<Employee> employee = employeeService.getEmployeeByEmail(email);
+    public ResponseEntity<EmployeeDTO> getEmployeeByEmail(@PathVariable String email) {
+        Optional<EmployeeDTO> employee = employeeService.getEmployeeByEmail(email);
         return employee.map(ResponseEntity::ok)
                       .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/employee-id/{employeeId}")
-    public ResponseEntity<Employee> getEmployeeByEmployeeId(@PathVariable String employeeId) {
-        Optional<Employee> employee = employeeService.getEmployeeByEmployeeId(employeeId);
+    public ResponseEntity<EmployeeDTO> getEmployeeByEmployeeId(@PathVariable String employeeId) {
+        Optional<EmployeeDTO> employee = employeeService.getEmployeeByEmployeeId(employeeId);
         return employee.map(ResponseEntity::ok)
                       .orElse(ResponseEntity.notFound().build());
     }
@@ -59,6 +76,22 @@ public class EmployeeController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EmployeeImportResultDTO> importEmployees(@RequestBody List<EmployeeImportDTO> employees) {
+        EmployeeImportResultDTO result = employeeImportService.importEmployees(employees);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EmployeeImportResultDTO> importEmployeesFromCsv(@RequestParam("file") MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            EmployeeImportResultDTO result = employeeImportService.importEmployeesFromCsv(inputStream);
+            return ResponseEntity.ok(result);
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employeeDetails) {
         try {
@@ -80,41 +113,39 @@ public class EmployeeController {
     }
 
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<Employee>> getEmployeesByDepartment(@PathVariable Long departmentId) {
-        List<Employee> employees = employeeService.getEmployeesByDepartment(departmentId);
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByDepartment(@PathVariable Long departmentId) {
+        List<EmployeeDTO> employees = employeeService.getEmployeesByDepartment(departmentId);
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/manager/{managerId}")
-    public ResponseEntity<List<Employee>> getEmployeesByManager(@PathVariable Long managerId) {
-        List<Employee> employees = employeeService.getEmployeesByManager(managerId);
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByManager(@PathVariable Long managerId) {
+        List<EmployeeDTO> employees = employeeService.getEmployeesByManager(managerId);
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Employee>> getEmployeesByStatus(@PathVariable EmployeeStatus status) {
-        List<Employee> employees = employeeService.getEmployeesByStatus(status);
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByStatus(@PathVariable EmployeeStatus status) {
+        List<EmployeeDTO> employees = employeeService.getEmployeesByStatus(status);
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/department/{departmentId}/active")
-    public ResponseEntity<List<Employee>> getActiveEmployeesByDepartment(@PathVariable Long departmentId) {
-        List<Employee> employees = employeeService.getActiveEmployeesByDepartment(departmentId);
+    public ResponseEntity<List<EmployeeDTO>> getActiveEmployeesByDepartment(@PathVariable Long departmentId) {
+        List<EmployeeDTO> employees = employeeService.getActiveEmployeesByDepartment(departmentId);
         return ResponseEntity.ok(employees);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<Employee>> searchEmployees(
+    public ResponseEntity<Page<EmployeeDTO>> searchEmployees(
             @RequestParam String searchTerm,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "lastName") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "10") int size) {
         
-        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        // Results are ordered by match rank, so no caller-supplied sort is applied
+        Pageable pageable = PageRequest.of(page, size);
         
-        Page<Employee> employees = employeeService.searchEmployees(searchTerm, pageable);
+        Page<EmployeeDTO> employees = employeeService.searchEmployees(searchTerm, pageable);
         return ResponseEntity.ok(employees);
     }
 
@@ -125,8 +156,8 @@ public class EmployeeController {
     }
 
     @GetMapping("/manager/{managerId}/direct-reports")
-    public ResponseEntity<List<Employee>> getActiveDirectReports(@PathVariable Long managerId) {
-        List<Employee> employees = employeeService.getActiveDirectReports(managerId);
+    public ResponseEntity<List<EmployeeDTO>> getActiveDirectReports(@PathVariable Long managerId) {
+        List<EmployeeDTO> employees = employeeService.getActiveDirectReports(managerId);
         return ResponseEntity.ok(employees);
     }
 
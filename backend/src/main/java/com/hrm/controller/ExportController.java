@@ -0,0 +1,87 @@
+package com.hrm.controller;
+
+import com.hrm.service.ExportService;
+import com.hrm.service.dto.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/employees")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        return stream("employees", format, acceptEncoding,
+                out -> exportService.exportEmployees(format, out));
+    }
+
+    @GetMapping("/attendance")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean overtimeOnly,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return stream("attendance", format, acceptEncoding,
+                out -> exportService.exportAttendance(startDate, endDate, overtimeOnly, format, out));
+    }
+
+    @GetMapping("/leave-requests")
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequests(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return stream("leave-requests", format, acceptEncoding,
+                out -> exportService.exportLeaveRequests(startDate, endDate, format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, String acceptEncoding,
+                                                         Consumer<OutputStream> writer) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, true)) {
+                    writer.accept(gzipStream);
+                }
+            } else {
+                writer.accept(outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getFileExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,35 @@
+package com.hrm.controller;
+
+import com.hrm.entity.LeaveAccrualRun;
+import com.hrm.service.LeaveAccrualJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/leave-accruals")
+@CrossOrigin(origins = "*")
+public class LeaveAccrualController {
+
+    @Autowired
+    private LeaveAccrualJob leaveAccrualJob;
+
+    @GetMapping("/{year}")
+    public ResponseEntity<LeaveAccrualRun> getAccrualRun(@PathVariable int year) {
+        return leaveAccrualJob.getRun(year)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Starts or resumes the run in the background; poll GET for its progress
+    @PostMapping("/{year}")
+    public ResponseEntity<LeaveAccrualRun> runAccrual(@PathVariable int year) {
+        try {
+            LeaveAccrualRun run = leaveAccrualJob.start(year);
+            leaveAccrualJob.runInBackground(year);
+            return ResponseEntity.accepted().body(run);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
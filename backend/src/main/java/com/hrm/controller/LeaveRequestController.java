@@ -3,17 +3,29 @@ package com.hrm.controller;
 import com.hrm.entity.LeaveRequest;
 import com.hrm.entity.enums.LeaveStatus;
 import com.hrm.entity.enums.LeaveType;
+import com.hrm.service.LeaveBalanceReportService;
+import com.hrm.service.LeaveCalendarService;
+import com.hrm.service.LeaveOverlapException;
 import com.hrm.service.LeaveRequestService;
+import com.hrm.service.dto.BulkLeaveDecisionDTO;
+import com.hrm.service.dto.BulkLeaveDecisionResultDTO;
+import com.hrm.service.dto.CalendarScope;
+import com.hrm.service.dto.CursorPage;
+import com.hrm.service.dto.LeaveBalanceSummaryDTO;
+import com.hrm.service.dto.LeaveLedgerEntryDTO;
+import com.hrm.service.dto.TeamLeaveCalendarDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,10 +37,22 @@ public class LeaveRequestController {
     @Autowired
     private LeaveRequestService leaveRequestService;
 
+    @Autowired
+    private LeaveCalendarService leaveCalendarService;
+
+    @Autowired
+    private LeaveBalanceReportService leaveBalanceReportService;
+
     @GetMapping
-    public ResponseEntity<List<LeaveRequest>> getAllLeaveRequests() {
-        List<LeaveRequest> leaveRequests = leaveRequestService.getAllLeaveRequests();
-        return ResponseEntity.ok(leaveRequests);
+    public ResponseEntity<CursorPage<LeaveRequest>> getAllLeaveRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<LeaveRequest> leaveRequests = leaveRequestService.getAllLeaveRequests(cursor, size);
+            return ResponseEntity.ok(leaveRequests);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
@@ -86,6 +110,8 @@ public class LeaveRequestController {
         try {
             LeaveRequest savedLeaveRequest = leaveRequestService.saveLeaveRequest(leaveRequest);
             return ResponseEntity.ok(savedLeaveRequest);
+        } catch (LeaveOverlapException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -96,6 +122,8 @@ public class LeaveRequestController {
         try {
             LeaveRequest updatedLeaveRequest = leaveRequestService.updateLeaveRequest(id, leaveRequestDetails);
             return ResponseEntity.ok(updatedLeaveRequest);
+        } catch (LeaveOverlapException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -141,6 +169,31 @@ public class LeaveRequestController {
         }
     }
 
+    @PostMapping("/bulk-decision")
+    public ResponseEntity<BulkLeaveDecisionResultDTO> decideLeaveRequests(@RequestBody BulkLeaveDecisionDTO decisionDTO) {
+        try {
+            BulkLeaveDecisionResultDTO result = leaveRequestService.decideLeaveRequests(decisionDTO);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<TeamLeaveCalendarDTO> getTeamCalendar(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long managerId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        
+        if ((departmentId == null) == (managerId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        TeamLeaveCalendarDTO calendar = departmentId != null
+            ? leaveCalendarService.getTeamCalendar(CalendarScope.DEPARTMENT, departmentId, month)
+            : leaveCalendarService.getTeamCalendar(CalendarScope.MANAGER, managerId, month);
+        return ResponseEntity.ok(calendar);
+    }
+
     @GetMapping("/employee/{employeeId}/overlapping")
     public ResponseEntity<List<LeaveRequest>> checkOverlappingLeaves(
             @PathVariable Long employeeId,
@@ -161,6 +214,27 @@ public class LeaveRequestController {
         return ResponseEntity.ok(balance);
     }
 
+    @GetMapping("/balances")
+    public ResponseEntity<List<LeaveBalanceSummaryDTO>> getLeaveBalances(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam int year) {
+        
+        List<LeaveBalanceSummaryDTO> balances = departmentId != null
+            ? leaveBalanceReportService.getDepartmentBalances(departmentId, year)
+            : leaveBalanceReportService.getOrganizationBalances(year);
+        return ResponseEntity.ok(balances);
+    }
+
+    @GetMapping("/employee/{employeeId}/ledger/{leaveType}/{year}")
+    public ResponseEntity<List<LeaveLedgerEntryDTO>> getLeaveLedger(
+            @PathVariable Long employeeId,
+            @PathVariable LeaveType leaveType,
+            @PathVariable int year) {
+        
+        List<LeaveLedgerEntryDTO> entries = leaveRequestService.getLeaveLedger(employeeId, leaveType, year);
+        return ResponseEntity.ok(entries);
+    }
+
     @GetMapping("/status/{status}/date/{date}")
     public ResponseEntity<List<LeaveRequest>> getLeaveRequestsByStatusAndDate(
             @PathVariable LeaveStatus status,
@@ -175,6 +249,8 @@ public class LeaveRequestController {
         try {
             LeaveRequest submittedRequest = leaveRequestService.submitLeaveRequest(id);
             return ResponseEntity.ok(submittedRequest);
+        } catch (LeaveOverlapException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
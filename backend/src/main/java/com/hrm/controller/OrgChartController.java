@@ -0,0 +1,45 @@
+package com.hrm.controller;
+
+import com.hrm.service.OrgChartService;
+import com.hrm.service.dto.EmployeeDTO;
+import com.hrm.service.dto.OrgChartNodeDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/org-chart")
+@CrossOrigin(origins = "*")
+public class OrgChartController {
+
+    @Autowired
+    private OrgChartService orgChartService;
+
+    @GetMapping("/{employeeId}")
+    public ResponseEntity<OrgChartNodeDTO> getNode(@PathVariable Long employeeId) {
+        Optional<OrgChartNodeDTO> node = orgChartService.getNode(employeeId);
+        return node.map(ResponseEntity::ok)
+                   .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{managerId}/reports")
+    public ResponseEntity<List<EmployeeDTO>> getAllReports(@PathVariable Long managerId) {
+        List<EmployeeDTO> reports = orgChartService.getAllReports(managerId);
+        return ResponseEntity.ok(reports);
+    }
+
+    @GetMapping("/{managerId}/reports/ids")
+    public ResponseEntity<List<Long>> getAllReportIds(@PathVariable Long managerId) {
+        List<Long> reportIds = orgChartService.getSubtreeIds(managerId);
+        return ResponseEntity.ok(reportIds);
+    }
+
+    @GetMapping("/{managerId}/contains/{employeeId}")
+    public ResponseEntity<Boolean> isInSubtree(@PathVariable Long managerId, @PathVariable Long employeeId) {
+        boolean inSubtree = orgChartService.isInSubtree(managerId, employeeId);
+        return ResponseEntity.ok(inSubtree);
+    }
+}
@@ -0,0 +1,60 @@
+package com.hrm.controller;
+
+import com.hrm.entity.PublicHoliday;
+import com.hrm.service.PublicHolidayService;
+import com.hrm.service.WorkingDayCalendar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/holidays")
+@CrossOrigin(origins = "*")
+public class PublicHolidayController {
+
+    @Autowired
+    private PublicHolidayService publicHolidayService;
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    @GetMapping
+    public ResponseEntity<List<PublicHoliday>> getHolidays(@RequestParam String country, @RequestParam int year) {
+        List<PublicHoliday> holidays = publicHolidayService.getHolidays(country, year);
+        return ResponseEntity.ok(holidays);
+    }
+
+    @PostMapping
+    public ResponseEntity<PublicHoliday> addHoliday(@RequestBody PublicHoliday holiday) {
+        try {
+            PublicHoliday savedHoliday = publicHolidayService.addHoliday(holiday);
+            return ResponseEntity.ok(savedHoliday);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteHoliday(@PathVariable Long id) {
+        try {
+            publicHolidayService.deleteHoliday(id);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/working-days")
+    public ResponseEntity<Integer> countWorkingDays(
+            @RequestParam(required = false) String country,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        int workingDays = workingDayCalendar.countWorkingDays(country, startDate, endDate);
+        return ResponseEntity.ok(workingDays);
+    }
+}
\ No newline at end of file
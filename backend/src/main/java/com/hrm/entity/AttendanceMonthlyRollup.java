@@ -0,0 +1,39 @@
+package com.hrm.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "attendance_monthly_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "month"}))
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class AttendanceMonthlyRollup extends BaseEntity {
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // First day of the month
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "hours_worked", nullable = false)
+    private Double hoursWorked;
+
+    @Column(name = "overtime_hours", nullable = false)
+    private Double overtimeHours;
+
+    @Column(name = "present_days", nullable = false)
+    private Integer presentDays;
+
+    @Column(name = "late_days", nullable = false)
+    private Integer lateDays;
+
+    @Column(name = "remote_days", nullable = false)
+    private Integer remoteDays;
+}
\ No newline at end of file
@@ -133,10 +133,11 @@ public class Employee extends BaseEntity {
     @Column(name = "keycloak_user_id")
     private String keycloakUserId;
 
-    @Column(name = "annual_leave_balance")
+    // Mirrors of the current year's ledger balances, maintained by LeaveLedgerService
+    @Column(name = "annual_leave_balance", updatable = false)
     private Integer annualLeaveBalance = 20;
 
-    @Column(name = "sick_leave_balance")
+    @Column(name = "sick_leave_balance", updatable = false)
     private Integer sickLeaveBalance = 10;
 
     @OneToMany(mappedBy = "employee", fetch = FetchType.LAZY)
@@ -0,0 +1,40 @@
+package com.hrm.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.hrm.entity.enums.AccrualRunStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "leave_accrual_runs")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class LeaveAccrualRun extends BaseEntity {
+
+    @Column(name = "balance_year", nullable = false, unique = true)
+    private Integer balanceYear;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AccrualRunStatus status = AccrualRunStatus.RUNNING;
+
+    // Checkpoint: employees are processed in id order and every id up to this one is done
+    @Column(name = "last_employee_id", nullable = false)
+    private Long lastEmployeeId = 0L;
+
+    @Column(name = "processed_employees", nullable = false)
+    private Integer processedEmployees = 0;
+
+    @Column(name = "started_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime completedAt;
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.hrm.entity;
+
+import com.hrm.entity.enums.LeaveType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "leave_balance_snapshots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "leave_type", "balance_year"}))
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class LeaveBalanceSnapshot extends BaseEntity {
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false)
+    private LeaveType leaveType;
+
+    @Column(name = "balance_year", nullable = false)
+    private Integer balanceYear;
+
+    @Column(name = "balance", nullable = false, precision = 7, scale = 2)
+    private BigDecimal balance;
+
+    // Highest ledger entry folded into the balance
+    @Column(name = "last_entry_id", nullable = false)
+    private Long lastEntryId;
+}
\ No newline at end of file
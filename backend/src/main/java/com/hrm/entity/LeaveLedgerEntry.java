@@ -0,0 +1,44 @@
+package com.hrm.entity;
+
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.entity.enums.LedgerEntryType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "leave_ledger_entries")
+@Immutable
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class LeaveLedgerEntry extends BaseEntity {
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false)
+    private LeaveType leaveType;
+
+    @Column(name = "balance_year", nullable = false)
+    private Integer balanceYear;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LedgerEntryType entryType;
+
+    // Signed: debits are negative
+    @Column(name = "days", nullable = false, precision = 7, scale = 2)
+    private BigDecimal days;
+
+    @Column(name = "leave_request_id")
+    private Long leaveRequestId;
+
+    @Column(name = "description", length = 500)
+    private String description;
+}
\ No newline at end of file
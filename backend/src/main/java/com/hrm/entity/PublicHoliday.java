@@ -0,0 +1,37 @@
+package com.hrm.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "public_holidays",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"country", "holiday_date"}))
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class PublicHoliday extends BaseEntity {
+
+    // Matches Employee.country
+    @Column(name = "country", nullable = false)
+    @NotBlank(message = "Country is required")
+    @Size(max = 50, message = "Country must not exceed 50 characters")
+    private String country;
+
+    @Column(name = "holiday_date", nullable = false)
+    @NotNull(message = "Holiday date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate holidayDate;
+
+    @Column(name = "name", nullable = false)
+    @NotBlank(message = "Holiday name is required")
+    @Size(max = 255, message = "Holiday name must not exceed 255 characters")
+    private String name;
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.hrm.entity;
+
+import com.hrm.entity.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "workflow_outbox")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class WorkflowOutboxEntry extends BaseEntity {
+
+    @Column(name = "leave_request_id", nullable = false)
+    private Long leaveRequestId;
+
+    @Column(name = "dag_id", nullable = false)
+    private String dagId;
+
+    @Column(name = "dag_run_id", nullable = false, unique = true)
+    private String dagRunId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    @ToString.Exclude
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+}
\ No newline at end of file
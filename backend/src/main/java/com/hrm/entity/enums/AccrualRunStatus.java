@@ -0,0 +1,6 @@
+package com.hrm.entity.enums;
+
+public enum AccrualRunStatus {
+    RUNNING,
+    COMPLETED
+}
\ No newline at end of file
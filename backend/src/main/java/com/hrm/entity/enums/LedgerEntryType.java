@@ -0,0 +1,12 @@
+package com.hrm.entity.enums;
+
+public enum LedgerEntryType {
+    OPENING,
+    // Cut-over year balance taken from the employee columns; it already includes that year's grant
+    LEGACY_OPENING,
+    ACCRUAL,
+    CARRY_OVER,
+    DEBIT,
+    CREDIT,
+    ADJUSTMENT
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.hrm.entity.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
\ No newline at end of file
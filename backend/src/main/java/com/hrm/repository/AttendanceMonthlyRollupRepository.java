@@ -0,0 +1,73 @@
+package com.hrm.repository;
+
+import com.hrm.entity.AttendanceMonthlyRollup;
+import com.hrm.service.dto.AttendanceMonthlyRollupDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttendanceMonthlyRollupRepository extends JpaRepository<AttendanceMonthlyRollup, Long> {
+    
+    // Aggregates one month of attendance per employee; :month is its first day and :nextMonth the next
+    // month's, which keeps the scan inside a single attendance partition. Late matches Attendance.isLateArrival.
+    String UPSERT_MONTH = "INSERT INTO attendance_monthly_rollups (employee_id, month, hours_worked, overtime_hours, " +
+                          "present_days, late_days, remote_days) " +
+                          "SELECT a.employee_id, CAST(:month AS DATE), COALESCE(SUM(a.total_hours_worked), 0), " +
+                          "COALESCE(SUM(a.overtime_hours), 0), COUNT(a.check_in_time), " +
+                          "COUNT(*) FILTER (WHERE CAST(date_trunc('minute', a.check_in_time) AS TIME) > TIME '09:00'), " +
+                          "COUNT(*) FILTER (WHERE a.is_remote) " +
+                          "FROM attendance a WHERE a.date >= :month AND a.date < :nextMonth ";
+    
+    String ON_CONFLICT = "GROUP BY a.employee_id " +
+                         "ON CONFLICT (employee_id, month) DO UPDATE SET hours_worked = EXCLUDED.hours_worked, " +
+                         "overtime_hours = EXCLUDED.overtime_hours, present_days = EXCLUDED.present_days, " +
+                         "late_days = EXCLUDED.late_days, remote_days = EXCLUDED.remote_days, " +
+                         "version = attendance_monthly_rollups.version + 1";
+    
+    @Modifying
+    @Query(value = "DELETE FROM attendance_monthly_rollups WHERE employee_id IN :employeeIds AND month = :month",
+           nativeQuery = true)
+    int deleteByEmployeesAndMonth(@Param("employeeIds") Collection<Long> employeeIds,
+                                  @Param("month") LocalDate month);
+    
+    @Modifying
+    @Query(value = UPSERT_MONTH + "AND a.employee_id IN :employeeIds " + ON_CONFLICT, nativeQuery = true)
+    int upsertForEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                           @Param("month") LocalDate month,
+                           @Param("nextMonth") LocalDate nextMonth);
+    
+    @Modifying
+    @Query(value = "DELETE FROM attendance_monthly_rollups WHERE month = :month", nativeQuery = true)
+    int deleteByMonth(@Param("month") LocalDate month);
+    
+    @Modifying
+    @Query(value = UPSERT_MONTH + ON_CONFLICT, nativeQuery = true)
+    int upsertMonth(@Param("month") LocalDate month, @Param("nextMonth") LocalDate nextMonth);
+    
+    // Whole months only: :from and :to are first days of months, :to exclusive
+    @Query("SELECT COALESCE(SUM(r.hoursWorked), 0) FROM AttendanceMonthlyRollup r " +
+           "WHERE r.employeeId = :employeeId AND r.month >= :from AND r.month < :to")
+    Double sumHoursWorked(@Param("employeeId") Long employeeId,
+                          @Param("from") LocalDate from,
+                          @Param("to") LocalDate to);
+    
+    @Query("SELECT COALESCE(SUM(r.presentDays), 0) FROM AttendanceMonthlyRollup r " +
+           "WHERE r.employeeId = :employeeId AND r.month >= :from AND r.month < :to")
+    Long sumPresentDays(@Param("employeeId") Long employeeId,
+                        @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+    
+    @Query("SELECT new com.hrm.service.dto.AttendanceMonthlyRollupDTO(r.employeeId, r.month, r.hoursWorked, " +
+           "r.overtimeHours, r.presentDays, r.lateDays, r.remoteDays) FROM AttendanceMonthlyRollup r " +
+           "WHERE r.employeeId = :employeeId AND r.month >= :from AND r.month < :to ORDER BY r.month ASC")
+    List<AttendanceMonthlyRollupDTO> findDtosByEmployeeId(@Param("employeeId") Long employeeId,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+}
\ No newline at end of file
@@ -1,57 +1,179 @@
 package com.hrm.repository;
 
 import com.hrm.entity.Attendance;
+import com.hrm.repository.projection.AttendanceKeyRow;
+import com.hrm.repository.projection.AttendanceStateRow;
+import com.hrm.repository.projection.PresenceRow;
+import com.hrm.service.dto.AttendanceDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
+    // attendance is range-partitioned by month on date (V11); queries that filter on a.date only touch
+    // the partitions they need, the others scan every month
+    String DTO_SELECT = "SELECT new com.hrm.service.dto.AttendanceDTO(a.id, e.id, CONCAT(e.firstName, ' ', e.lastName), " +
+                        "a.date, a.checkInTime, a.checkOutTime, a.breakStartTime, a.breakEndTime, " +
+                        "a.breakDurationMinutes, a.totalHoursWorked, a.overtimeHours, a.status, a.isRemote, " +
+                        "a.location, a.notes) " +
+                        "FROM Attendance a JOIN a.employee e ";
+    
     List<Attendance> findByEmployeeId(Long employeeId);
     
     Page<Attendance> findByEmployeeId(Long employeeId, Pageable pageable);
     
-    Optional<Attendance> findByEmployeeIdAndWorkDate(Long employeeId, LocalDate workDate);
+    @Query("SELECT a FROM Attendance a WHERE a.employee.id = :employeeId AND a.date = :workDate")
+    Optional<Attendance> findByEmployeeIdAndWorkDate(@Param("employeeId") Long employeeId,
+                                                     @Param("workDate") LocalDate workDate);
     
-    @Query("SELECT a FROM Attendance a WHERE a.employee.id = :employeeId " +
-           "AND a.workDate BETWEEN :startDate AND :endDate ORDER BY a.workDate DESC")
-    List<Attendance> findByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
-                                                 @Param("startDate") LocalDate startDate,
-                                                 @Param("endDate") LocalDate endDate);
+    @Query(DTO_SELECT + "WHERE e.id = :employeeId " +
+           "AND a.date BETWEEN :startDate AND :endDate ORDER BY a.date DESC")
+    List<AttendanceDTO> findByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT a FROM Attendance a WHERE a.employee.department.id = :departmentId " +
-           "AND a.workDate = :workDate")
-    List<Attendance> findByDepartmentIdAndDate(@Param("departmentId") Long departmentId,
-                                              @Param("workDate") LocalDate workDate);
+    @Query(DTO_SELECT + "WHERE e.department.id = :departmentId AND a.date = :workDate")
+    List<AttendanceDTO> findByDepartmentIdAndDate(@Param("departmentId") Long departmentId,
+                                                  @Param("workDate") LocalDate workDate);
     
-    @Query("SELECT a FROM Attendance a WHERE a.employee.manager.id = :managerId " +
-           "AND a.workDate BETWEEN :startDate AND :endDate")
-    List<Attendance> findByManagerIdAndDateRange(@Param("managerId") Long managerId,
-                                                @Param("startDate") LocalDate startDate,
-                                                @Param("endDate") LocalDate endDate);
+    @Query(DTO_SELECT + "WHERE e.manager.id = :managerId " +
+           "AND a.date BETWEEN :startDate AND :endDate ORDER BY a.date DESC, e.id ASC")
+    List<AttendanceDTO> findByManagerIdAndDateRange(@Param("managerId") Long managerId,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT SUM(a.hoursWorked) FROM Attendance a WHERE a.employee.id = :employeeId " +
-           "AND a.workDate BETWEEN :startDate AND :endDate")
+    @Query("SELECT SUM(a.totalHoursWorked) FROM Attendance a WHERE a.employee.id = :employeeId " +
+           "AND a.date BETWEEN :startDate AND :endDate")
     Double getTotalHoursWorked(@Param("employeeId") Long employeeId,
                               @Param("startDate") LocalDate startDate,
                               @Param("endDate") LocalDate endDate);
     
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId " +
-           "AND a.workDate BETWEEN :startDate AND :endDate AND a.checkInTime IS NOT NULL")
+           "AND a.date BETWEEN :startDate AND :endDate AND a.checkInTime IS NOT NULL")
     Long getWorkingDaysCount(@Param("employeeId") Long employeeId,
                             @Param("startDate") LocalDate startDate,
                             @Param("endDate") LocalDate endDate);
     
+    @Query(DTO_SELECT + "WHERE a.overtimeHours > 0 " +
+           "AND a.date BETWEEN :startDate AND :endDate ORDER BY a.date ASC, e.id ASC")
+    List<AttendanceDTO> findOvertimeRecords(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+    
+    @Query(DTO_SELECT + "WHERE a.id = :id")
+    Optional<AttendanceDTO> findDtoById(@Param("id") Long id);
+    
+    @Query(DTO_SELECT + "WHERE e.id = :employeeId AND a.date = :date")
+    Optional<AttendanceDTO> findDtoByEmployeeIdAndDate(@Param("employeeId") Long employeeId,
+                                                       @Param("date") LocalDate date);
+    
+    @Query(DTO_SELECT + "WHERE a.id > :afterId ORDER BY a.id ASC")
+    List<AttendanceDTO> findDtosAfterId(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE e.id = :employeeId ORDER BY a.date DESC")
+    List<AttendanceDTO> findDtosByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    @Query(value = DTO_SELECT + "WHERE e.id = :employeeId",
+           countQuery = "SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId")
+    Page<AttendanceDTO> findDtosByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
+    
+    // Writes a batch of buffered check-ins in one statement. Unknown employees are skipped and an existing
+    // check-in time is never overwritten, so replaying a batch after a crash changes nothing.
+    @Modifying
+    @Query(value = "INSERT INTO attendance (employee_id, date, check_in_time, ip_address, location) " +
+           "SELECT c.employee_id, c.work_date, c.check_in_time, c.ip_address, c.location " +
+           "FROM unnest(CAST(:employeeIds AS BIGINT[]), CAST(:workDates AS DATE[]), " +
+           "CAST(:checkInTimes AS TIMESTAMP[]), CAST(:ipAddresses AS VARCHAR[]), CAST(:locations AS VARCHAR[])) " +
+           "AS c(employee_id, work_date, check_in_time, ip_address, location) " +
+           "WHERE EXISTS (SELECT 1 FROM employees e WHERE e.id = c.employee_id) " +
+           "ON CONFLICT (employee_id, date) DO UPDATE SET check_in_time = EXCLUDED.check_in_time, " +
+           "ip_address = EXCLUDED.ip_address, location = EXCLUDED.location, version = attendance.version + 1 " +
+           "WHERE attendance.check_in_time IS NULL",
+           nativeQuery = true)
+    int upsertCheckIns(@Param("employeeIds") Long[] employeeIds,
+                       @Param("workDates") LocalDate[] workDates,
+                       @Param("checkInTimes") LocalDateTime[] checkInTimes,
+                       @Param("ipAddresses") String[] ipAddresses,
+                       @Param("locations") String[] locations);
+    
+    // Superset of the requested (employee, date) pairs; callers match the pairs themselves
+    @Query("SELECT a.employee.id AS employeeId, a.date AS date, a.checkInTime AS checkInTime, " +
+           "a.checkOutTime AS checkOutTime, a.breakDurationMinutes AS breakDurationMinutes " +
+           "FROM Attendance a WHERE a.employee.id IN :employeeIds AND a.date IN :dates")
+    List<AttendanceStateRow> findStatesByEmployeeIdsAndDates(@Param("employeeIds") Collection<Long> employeeIds,
+                                                             @Param("dates") Collection<LocalDate> dates);
+    
+    // Writes a batch of kiosk check-ins and check-outs in one statement and returns the rows it wrote.
+    // A recorded check-in or check-out is never overwritten, so a row that lost a race with another
+    // writer, or whose employee no longer exists, is not returned.
+    @Query(value = "INSERT INTO attendance (employee_id, date, check_in_time, check_out_time, total_hours_worked, " +
+           "overtime_hours, ip_address, location) " +
+           "SELECT k.employee_id, k.work_date, k.check_in_time, k.check_out_time, k.hours_worked, k.overtime_hours, " +
+           "k.ip_address, k.location " +
+           "FROM unnest(CAST(:employeeIds AS BIGINT[]), CAST(:workDates AS DATE[]), " +
+           "CAST(:checkInTimes AS TIMESTAMP[]), CAST(:checkOutTimes AS TIMESTAMP[]), " +
+           "CAST(:hoursWorked AS DOUBLE PRECISION[]), CAST(:overtimeHours AS DOUBLE PRECISION[]), " +
+           "CAST(:ipAddresses AS VARCHAR[]), CAST(:locations AS VARCHAR[])) " +
+           "AS k(employee_id, work_date, check_in_time, check_out_time, hours_worked, overtime_hours, ip_address, location) " +
+           "WHERE EXISTS (SELECT 1 FROM employees e WHERE e.id = k.employee_id) " +
+           "ON CONFLICT (employee_id, date) DO UPDATE SET " +
+           "check_in_time = COALESCE(attendance.check_in_time, EXCLUDED.check_in_time), " +
+           "check_out_time = COALESCE(attendance.check_out_time, EXCLUDED.check_out_time), " +
+           "total_hours_worked = COALESCE(EXCLUDED.total_hours_worked, attendance.total_hours_worked), " +
+           "overtime_hours = COALESCE(EXCLUDED.overtime_hours, attendance.overtime_hours), " +
+           "ip_address = COALESCE(attendance.ip_address, EXCLUDED.ip_address), " +
+           "location = COALESCE(attendance.location, EXCLUDED.location), version = attendance.version + 1 " +
+           "WHERE attendance.check_out_time IS NULL " +
+           "AND (attendance.check_in_time IS NULL OR attendance.check_in_time = EXCLUDED.check_in_time) " +
+           "RETURNING attendance.employee_id AS \"employeeId\", to_char(attendance.date, 'YYYY-MM-DD') AS \"workDate\"",
+           nativeQuery = true)
+    List<AttendanceKeyRow> upsertKioskEvents(@Param("employeeIds") Long[] employeeIds,
+                          @Param("workDates") LocalDate[] workDates,
+                          @Param("checkInTimes") LocalDateTime[] checkInTimes,
+                          @Param("checkOutTimes") LocalDateTime[] checkOutTimes,
+                          @Param("hoursWorked") Double[] hoursWorked,
+                          @Param("overtimeHours") Double[] overtimeHours,
+                          @Param("ipAddresses") String[] ipAddresses,
+                          @Param("locations") String[] locations);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date ASC, a.id ASC")
+    Stream<Attendance> streamByDateRange(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
     @Query("SELECT a FROM Attendance a WHERE a.overtimeHours > 0 " +
-           "AND a.workDate BETWEEN :startDate AND :endDate")
-    List<Attendance> findOvertimeRecords(@Param("startDate") LocalDate startDate,
-                                        @Param("endDate") LocalDate endDate);
+           "AND a.date BETWEEN :startDate AND :endDate ORDER BY a.date ASC, a.id ASC")
+    Stream<Attendance> streamOvertimeByDateRange(@Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT a.employee.id AS employeeId, a.checkInTime AS checkInTime, a.breakStartTime AS breakStartTime, " +
+           "a.breakEndTime AS breakEndTime, a.checkOutTime AS checkOutTime FROM Attendance a WHERE a.date = :date")
+    List<PresenceRow> findPresenceByDate(@Param("date") LocalDate date);
+    
+    @Query(value = "SELECT create_attendance_partition(CAST(:month AS DATE))", nativeQuery = true)
+    String createPartition(@Param("month") LocalDate month);
+    
+    // First day of each month with rows in attendance_default, as ISO yyyy-MM-dd
+    @Query(value = "SELECT DISTINCT to_char(date_trunc('month', date), 'YYYY-MM-DD') FROM attendance_default ORDER BY 1",
+           nativeQuery = true)
+    List<String> findMonthsInDefaultPartition();
+    
+    @Query(value = "SELECT archive_attendance_partitions(CAST(:cutoff AS DATE))", nativeQuery = true)
+    List<String> archivePartitionsBefore(@Param("cutoff") LocalDate cutoff);
 }
\ No newline at end of file
@@ -1,30 +1,95 @@
 package com.hrm.repository;
 
 import com.hrm.entity.Department;
+import com.hrm.repository.projection.DepartmentRow;
+import com.hrm.service.dto.DepartmentDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     
+    String DTO_SELECT = "SELECT new com.hrm.service.dto.DepartmentDTO(d.id, d.name, d.code, d.description, " +
+                        "d.location, d.budget, d.isActive, p.id, p.name, h.id, CONCAT(h.firstName, ' ', h.lastName)) " +
+                        "FROM Department d LEFT JOIN d.parentDepartment p LEFT JOIN d.head h ";
+    
+    String ROW_COLUMNS = "d.id AS \"id\", d.name AS \"name\", d.code AS \"code\", " +
+                         "d.description AS \"description\", d.location AS \"location\", d.budget AS \"budget\", " +
+                         "d.is_active AS \"isActive\", p.id AS \"parentDepartmentId\", p.name AS \"parentDepartmentName\", " +
+                         "h.id AS \"headId\", h.first_name || ' ' || h.last_name AS \"headName\" ";
+    
+    String ROW_JOINS = "LEFT JOIN departments p ON p.id = d.parent_department_id " +
+                       "LEFT JOIN employees h ON h.id = d.head_id ";
+    
+    // Walks down from :departmentId; the path array stops the recursion on corrupt (cyclic) data
+    String SUBTREE_CTE = "WITH RECURSIVE tree (id, depth, path) AS ( " +
+                         "SELECT id, 0, ARRAY[id] FROM departments WHERE id = :departmentId " +
+                         "UNION ALL " +
+                         "SELECT c.id, t.depth + 1, t.path || c.id FROM departments c " +
+                         "JOIN tree t ON c.parent_department_id = t.id WHERE c.id <> ALL(t.path)) ";
+    
+    // Walks up from :departmentId to its root, :departmentId itself at depth 0
+    String ANCESTRY_CTE = "WITH RECURSIVE chain (id, parent_id, depth, path) AS ( " +
+                          "SELECT id, parent_department_id, 0, ARRAY[id] FROM departments WHERE id = :departmentId " +
+                          "UNION ALL " +
+                          "SELECT a.id, a.parent_department_id, c.depth + 1, c.path || a.id FROM departments a " +
+                          "JOIN chain c ON a.id = c.parent_id WHERE a.id <> ALL(c.path)) ";
+    
     Optional<Department> findByName(String name);
     
     List<Department> findByParentDepartmentId(Long parentDepartmentId);
     
-    @Query("SELECT d FROM Department d WHERE d.parentDepartment IS NULL")
-    List<Department> findRootDepartments();
+    @Query(DTO_SELECT + "ORDER BY d.name ASC")
+    List<DepartmentDTO> findAllDtos();
+    
+    @Query(DTO_SELECT + "WHERE d.id = :id")
+    Optional<DepartmentDTO> findDtoById(@Param("id") Long id);
+    
+    @Query(DTO_SELECT + "WHERE d.name = :name")
+    Optional<DepartmentDTO> findDtoByName(@Param("name") String name);
     
-    @Query("SELECT d FROM Department d WHERE d.managerId = :managerId")
-    List<Department> findByManagerId(@Param("managerId") Long managerId);
+    @Query(DTO_SELECT + "WHERE p.id = :parentDepartmentId ORDER BY d.name ASC")
+    List<DepartmentDTO> findChildDtos(@Param("parentDepartmentId") Long parentDepartmentId);
     
-    @Query("SELECT d FROM Department d WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Department> searchDepartments(@Param("searchTerm") String searchTerm);
+    @Query(DTO_SELECT + "WHERE d.parentDepartment IS NULL ORDER BY d.name ASC")
+    List<DepartmentDTO> findRootDtos();
+    
+    @Query(DTO_SELECT + "WHERE h.id = :headId ORDER BY d.name ASC")
+    List<DepartmentDTO> findDtosByHeadId(@Param("headId") Long headId);
+    
+    @Query(value = "SELECT " + ROW_COLUMNS + "FROM departments d " + ROW_JOINS +
+           "WHERE d.search_text LIKE CONCAT('%', :searchTerm, '%') OR :searchTerm <% d.search_text " +
+           "ORDER BY word_similarity(:searchTerm, d.search_text) DESC, d.id ASC LIMIT :limit",
+           nativeQuery = true)
+    List<DepartmentRow> searchDepartments(@Param("searchTerm") String searchTerm, @Param("limit") int limit);
     
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId")
     Long countEmployeesInDepartment(@Param("departmentId") Long departmentId);
+    
+    @Query(value = SUBTREE_CTE +
+           "SELECT " + ROW_COLUMNS + "FROM tree t JOIN departments d ON d.id = t.id " + ROW_JOINS +
+           "ORDER BY t.depth ASC, d.name ASC",
+           nativeQuery = true)
+    List<DepartmentRow> findSubtree(@Param("departmentId") Long departmentId);
+    
+    @Query(value = ANCESTRY_CTE +
+           "SELECT " + ROW_COLUMNS + "FROM chain c JOIN departments d ON d.id = c.id " + ROW_JOINS +
+           "WHERE c.depth > 0 ORDER BY c.depth DESC",
+           nativeQuery = true)
+    List<DepartmentRow> findAncestors(@Param("departmentId") Long departmentId);
+    
+    @Query(value = ANCESTRY_CTE + "SELECT COUNT(*) FROM chain", nativeQuery = true)
+    long countAncestryChain(@Param("departmentId") Long departmentId);
+    
+    @Query(value = ANCESTRY_CTE + "SELECT EXISTS (SELECT 1 FROM chain WHERE id = :ancestorId)", nativeQuery = true)
+    boolean existsInAncestry(@Param("departmentId") Long departmentId, @Param("ancestorId") Long ancestorId);
+    
+    @Query("SELECT d.id FROM Department d WHERE d.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
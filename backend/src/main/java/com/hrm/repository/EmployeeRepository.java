@@ -2,19 +2,39 @@ package com.hrm.repository;
 
 import com.hrm.entity.Employee;
 import com.hrm.entity.enums.EmployeeStatus;
+import com.hrm.repository.projection.EmployeeSearchRow;
+import com.hrm.service.dto.EmployeeDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
+    String DTO_SELECT = "SELECT new com.hrm.service.dto.EmployeeDTO(e.id, e.employeeId, e.firstName, e.lastName, " +
+                        "e.email, e.phoneNumber, e.jobTitle, e.status, e.hireDate, d.id, d.name, m.id, " +
+                        "CONCAT(m.firstName, ' ', m.lastName), e.annualLeaveBalance, e.sickLeaveBalance) " +
+                        "FROM Employee e LEFT JOIN e.department d LEFT JOIN e.manager m ";
+    
+    // Walks up the reporting line from :employeeId; the path guard stops at a cycle already in the data
+    String REPORTING_CHAIN_CTE = "WITH RECURSIVE chain (id, manager_id, path) AS ( " +
+                                 "SELECT id, manager_id, ARRAY[id] FROM employees WHERE id = :employeeId " +
+                                 "UNION ALL " +
+                                 "SELECT m.id, m.manager_id, c.path || m.id FROM employees m " +
+                                 "JOIN chain c ON m.id = c.manager_id WHERE m.id <> ALL(c.path)) ";
+    
     Optional<Employee> findByEmail(String email);
     
     Optional<Employee> findByEmployeeId(String employeeId);
@@ -29,15 +49,102 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByDepartmentIdAndStatus(@Param("departmentId") Long departmentId, 
                                               @Param("status") EmployeeStatus status);
     
-    @Query("SELECT e FROM Employee e WHERE " +
-           "LOWER(CONCAT(e.firstName, ' ', e.lastName)) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(e.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(e.employeeId) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    Page<Employee> searchEmployees(@Param("searchTerm") String searchTerm, Pageable pageable);
+    @Query(value = "SELECT e.id AS \"id\", e.employee_id AS \"employeeId\", e.first_name AS \"firstName\", " +
+           "e.last_name AS \"lastName\", e.email AS \"email\", e.phone_number AS \"phoneNumber\", " +
+           "e.job_title AS \"jobTitle\", e.status AS \"status\", e.hire_date AS \"hireDate\", " +
+           "d.id AS \"departmentId\", d.name AS \"departmentName\", m.id AS \"managerId\", " +
+           "m.first_name || ' ' || m.last_name AS \"managerName\", " +
+           "e.annual_leave_balance AS \"annualLeaveBalance\", e.sick_leave_balance AS \"sickLeaveBalance\" " +
+           "FROM employees e " +
+           "LEFT JOIN departments d ON d.id = e.department_id " +
+           "LEFT JOIN employees m ON m.id = e.manager_id " +
+           "WHERE e.search_text LIKE CONCAT('%', :searchTerm, '%') OR :searchTerm <% e.search_text " +
+           "ORDER BY word_similarity(:searchTerm, e.search_text) DESC, e.id ASC",
+           countQuery = "SELECT COUNT(*) FROM employees e WHERE " +
+           "e.search_text LIKE CONCAT('%', :searchTerm, '%') OR :searchTerm <% e.search_text",
+           nativeQuery = true)
+    Page<EmployeeSearchRow> searchEmployees(@Param("searchTerm") String searchTerm, Pageable pageable);
     
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId AND e.status = 'ACTIVE'")
     Long countActiveEmployeesByDepartment(@Param("departmentId") Long departmentId);
     
     @Query("SELECT e FROM Employee e WHERE e.manager.id = :managerId AND e.status = 'ACTIVE'")
     List<Employee> findActiveDirectReports(@Param("managerId") Long managerId);
+    
+    @Query(DTO_SELECT + "WHERE e.id = :id")
+    Optional<EmployeeDTO> findDtoById(@Param("id") Long id);
+    
+    @Query(DTO_SELECT + "WHERE e.email = :email")
+    Optional<EmployeeDTO> findDtoByEmail(@Param("email") String email);
+    
+    @Query(DTO_SELECT + "WHERE e.employeeId = :employeeId")
+    Optional<EmployeeDTO> findDtoByEmployeeId(@Param("employeeId") String employeeId);
+    
+    @Query(DTO_SELECT + "WHERE e.id > :afterId ORDER BY e.id ASC")
+    List<EmployeeDTO> findDtosAfterId(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE d.id = :departmentId ORDER BY e.lastName ASC, e.firstName ASC")
+    List<EmployeeDTO> findDtosByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    @Query(DTO_SELECT + "WHERE d.id = :departmentId AND e.status = :status ORDER BY e.lastName ASC, e.firstName ASC")
+    List<EmployeeDTO> findDtosByDepartmentIdAndStatus(@Param("departmentId") Long departmentId,
+                                                      @Param("status") EmployeeStatus status);
+    
+    @Query(DTO_SELECT + "WHERE m.id = :managerId ORDER BY e.lastName ASC, e.firstName ASC")
+    List<EmployeeDTO> findDtosByManagerId(@Param("managerId") Long managerId);
+    
+    @Query(DTO_SELECT + "WHERE m.id = :managerId AND e.status = 'ACTIVE' ORDER BY e.lastName ASC, e.firstName ASC")
+    List<EmployeeDTO> findActiveDirectReportDtos(@Param("managerId") Long managerId);
+    
+    @Query(DTO_SELECT + "WHERE e.status = :status ORDER BY e.lastName ASC, e.firstName ASC")
+    List<EmployeeDTO> findDtosByStatus(@Param("status") EmployeeStatus status);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e FROM Employee e ORDER BY e.id ASC")
+    Stream<Employee> streamAll();
+    
+    @Query("SELECT e.email, e.employeeId FROM Employee e " +
+           "WHERE e.email IN :emails OR e.employeeId IN :employeeIds")
+    List<Object[]> findConflictingIdentifiers(@Param("emails") Collection<String> emails,
+                                              @Param("employeeIds") Collection<String> employeeIds);
+    
+    @Query("SELECT e.id FROM Employee e WHERE e.id > :afterId AND e.status = 'ACTIVE' ORDER BY e.id ASC")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT e.id, e.manager.id FROM Employee e WHERE e.status <> 'TERMINATED'")
+    List<Object[]> findAllReportingLines();
+    
+    @Query(DTO_SELECT + "WHERE e.id IN :ids")
+    List<EmployeeDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(value = REPORTING_CHAIN_CTE + "SELECT EXISTS (SELECT 1 FROM chain WHERE id = :ancestorId)", nativeQuery = true)
+    boolean existsInReportingChain(@Param("employeeId") Long employeeId, @Param("ancestorId") Long ancestorId);
+    
+    // Serialises manager changes until the transaction ends, so two moves cannot each pass the cycle
+    // check against the other's uncommitted line. The two-key form keeps clear of the per-employee locks.
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(1, 0)) locked", nativeQuery = true)
+    long lockReportingLines();
+    
+    // Balance mirrors are written only here (the columns are not updatable through the entity),
+    // so they never bump the row version or race with profile edits
+    @Modifying
+    @Query(value = "UPDATE employees SET annual_leave_balance = :balance WHERE id = :employeeId", nativeQuery = true)
+    int updateAnnualLeaveBalanceMirror(@Param("employeeId") Long employeeId, @Param("balance") int balance);
+    
+    @Modifying
+    @Query(value = "UPDATE employees SET sick_leave_balance = :balance WHERE id = :employeeId", nativeQuery = true)
+    int updateSickLeaveBalanceMirror(@Param("employeeId") Long employeeId, @Param("balance") int balance);
+    
+    @Modifying
+    @Query(value = "UPDATE employees e SET " +
+           "annual_leave_balance = COALESCE((SELECT TRUNC(s.balance) FROM leave_balance_snapshots s " +
+           "WHERE s.employee_id = e.id AND s.leave_type = 'ANNUAL' AND s.balance_year = :year), e.annual_leave_balance), " +
+           "sick_leave_balance = COALESCE((SELECT TRUNC(s.balance) FROM leave_balance_snapshots s " +
+           "WHERE s.employee_id = e.id AND s.leave_type = 'SICK' AND s.balance_year = :year), e.sick_leave_balance) " +
+           "WHERE e.id IN :employeeIds",
+           nativeQuery = true)
+    int refreshLeaveBalanceMirrors(@Param("employeeIds") Collection<Long> employeeIds, @Param("year") int year);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.hrm.repository;
+
+import com.hrm.entity.LeaveAccrualRun;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LeaveAccrualRunRepository extends JpaRepository<LeaveAccrualRun, Long> {
+    
+    Optional<LeaveAccrualRun> findByBalanceYear(Integer balanceYear);
+    
+    // Held for the duration of a chunk, so instances running the same year take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM LeaveAccrualRun r WHERE r.balanceYear = :year")
+    Optional<LeaveAccrualRun> lockByBalanceYear(@Param("year") int year);
+    
+    @Modifying
+    @Query(value = "INSERT INTO leave_accrual_runs (balance_year) VALUES (:year) " +
+           "ON CONFLICT (balance_year) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("year") int year);
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.hrm.repository;
+
+import com.hrm.entity.LeaveBalanceSnapshot;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.repository.projection.LeaveBalanceRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveBalanceSnapshotRepository extends JpaRepository<LeaveBalanceSnapshot, Long> {
+    
+    @Query("SELECT s.balance FROM LeaveBalanceSnapshot s WHERE s.employeeId = :employeeId " +
+           "AND s.leaveType = :leaveType AND s.balanceYear = :year")
+    Optional<BigDecimal> findBalance(@Param("employeeId") Long employeeId,
+                                     @Param("leaveType") LeaveType leaveType,
+                                     @Param("year") int year);
+    
+    // Debits only apply while the balance covers them; 0 rows updated means insufficient balance
+    @Modifying
+    @Query(value = "UPDATE leave_balance_snapshots SET balance = balance + :days, last_entry_id = :entryId, " +
+           "version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+           "WHERE employee_id = :employeeId AND leave_type = :leaveType AND balance_year = :year " +
+           "AND balance + :days >= 0",
+           nativeQuery = true)
+    int applyDebit(@Param("employeeId") Long employeeId,
+                   @Param("leaveType") String leaveType,
+                   @Param("year") int year,
+                   @Param("days") BigDecimal days,
+                   @Param("entryId") Long entryId);
+    
+    @Modifying
+    @Query(value = "UPDATE leave_balance_snapshots SET balance = balance + :days, last_entry_id = :entryId, " +
+           "version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+           "WHERE employee_id = :employeeId AND leave_type = :leaveType AND balance_year = :year",
+           nativeQuery = true)
+    int applyEntry(@Param("employeeId") Long employeeId,
+                   @Param("leaveType") String leaveType,
+                   @Param("year") int year,
+                   @Param("days") BigDecimal days,
+                   @Param("entryId") Long entryId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO leave_balance_snapshots (employee_id, leave_type, balance_year, balance, last_entry_id) " +
+           "VALUES (:employeeId, :leaveType, :year, :balance, :entryId) " +
+           "ON CONFLICT (employee_id, leave_type, balance_year) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("employeeId") Long employeeId,
+                       @Param("leaveType") String leaveType,
+                       @Param("year") int year,
+                       @Param("balance") BigDecimal balance,
+                       @Param("entryId") Long entryId);
+    
+    // Serializes adjustments against one balance so the recorded delta stays exact
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM LeaveBalanceSnapshot s WHERE s.employeeId = :employeeId " +
+           "AND s.leaveType = :leaveType AND s.balanceYear = :year")
+    Optional<LeaveBalanceSnapshot> findForUpdate(@Param("employeeId") Long employeeId,
+                                                 @Param("leaveType") LeaveType leaveType,
+                                                 @Param("year") int year);
+    
+    // Locks every balance a batch touches in one statement, in id order so concurrent batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM LeaveBalanceSnapshot s WHERE s.employeeId IN :employeeIds " +
+           "AND s.balanceYear IN :years ORDER BY s.id")
+    List<LeaveBalanceSnapshot> findAllForUpdate(@Param("employeeIds") Collection<Long> employeeIds,
+                                                @Param("years") Collection<Integer> years);
+    
+    @Query("SELECT s.employeeId AS employeeId, s.leaveType AS leaveType, s.balance AS balance " +
+           "FROM LeaveBalanceSnapshot s WHERE s.balanceYear = :year")
+    List<LeaveBalanceRow> findBalancesByYear(@Param("year") int year);
+    
+    @Query("SELECT s.employeeId AS employeeId, s.leaveType AS leaveType, s.balance AS balance " +
+           "FROM LeaveBalanceSnapshot s, Employee e WHERE e.id = s.employeeId " +
+           "AND e.department.id = :departmentId AND s.balanceYear = :year")
+    List<LeaveBalanceRow> findBalancesByDepartmentAndYear(@Param("departmentId") Long departmentId,
+                                                          @Param("year") int year);
+    
+    // Serialises opening and rebuilding an employee's balances until the transaction ends, in id order
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(e.id) FROM employees e " +
+           "WHERE e.id IN :employeeIds ORDER BY e.id) locked",
+           nativeQuery = true)
+    long lockEmployees(@Param("employeeIds") Collection<Long> employeeIds);
+    
+    // Row locks only; a posting that is blocked here has not committed its ledger entry yet
+    @Query(value = "SELECT s.id FROM leave_balance_snapshots s WHERE s.employee_id IN :employeeIds " +
+           "AND s.balance_year IN :years ORDER BY s.id FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockBalances(@Param("employeeIds") Collection<Long> employeeIds,
+                            @Param("years") Collection<Integer> years);
+    
+    // Recomputes the year's snapshots from the ledger; callers hold the employee and snapshot row locks
+    @Modifying
+    @Query(value = "INSERT INTO leave_balance_snapshots (employee_id, leave_type, balance_year, balance, last_entry_id) " +
+           "SELECT l.employee_id, l.leave_type, l.balance_year, SUM(l.days), MAX(l.id) " +
+           "FROM leave_ledger_entries l WHERE l.employee_id IN :employeeIds AND l.balance_year = :year " +
+           "GROUP BY l.employee_id, l.leave_type, l.balance_year " +
+           "ON CONFLICT (employee_id, leave_type, balance_year) DO UPDATE SET balance = EXCLUDED.balance, " +
+           "last_entry_id = EXCLUDED.last_entry_id, version = leave_balance_snapshots.version + 1, " +
+           "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int rebuildBalances(@Param("employeeIds") Collection<Long> employeeIds, @Param("year") int year);
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.hrm.repository;
+
+import com.hrm.entity.LeaveLedgerEntry;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.service.dto.LeaveLedgerEntryDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LeaveLedgerEntryRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+    
+    @Query("SELECT new com.hrm.service.dto.LeaveLedgerEntryDTO(l.id, l.employeeId, l.leaveType, l.balanceYear, " +
+           "l.entryType, l.days, l.leaveRequestId, l.description, l.createdAt) " +
+           "FROM LeaveLedgerEntry l WHERE l.employeeId = :employeeId AND l.leaveType = :leaveType " +
+           "AND l.balanceYear = :year ORDER BY l.id ASC")
+    List<LeaveLedgerEntryDTO> findDtosByBalance(@Param("employeeId") Long employeeId,
+                                                @Param("leaveType") LeaveType leaveType,
+                                                @Param("year") int year);
+    
+    @Query("SELECT COALESCE(SUM(l.days), 0) FROM LeaveLedgerEntry l WHERE l.employeeId = :employeeId " +
+           "AND l.leaveType = :leaveType AND l.balanceYear = :year")
+    BigDecimal sumDays(@Param("employeeId") Long employeeId,
+                       @Param("leaveType") LeaveType leaveType,
+                       @Param("year") int year);
+    
+    @Query("SELECT MAX(l.id) FROM LeaveLedgerEntry l WHERE l.employeeId = :employeeId " +
+           "AND l.leaveType = :leaveType AND l.balanceYear = :year")
+    Long findLastEntryId(@Param("employeeId") Long employeeId,
+                         @Param("leaveType") LeaveType leaveType,
+                         @Param("year") int year);
+    
+    // Balances opened from the legacy employee columns (V6) already include the cut-over year's grant;
+    // later years are opened by the accrual rules and only skip postings that already exist
+    String NOT_OPENED_FROM_LEGACY = "NOT EXISTS (SELECT 1 FROM leave_ledger_entries o WHERE o.employee_id = e.id " +
+                                    "AND o.leave_type = t.leave_type AND o.balance_year = :year " +
+                                    "AND o.entry_type = 'LEGACY_OPENING') ";
+    
+    // Carries the previous year's closing ANNUAL balance, capped, into :year. ON CONFLICT relies on
+    // uk_leave_ledger_period_posting, which makes re-running a chunk a no-op.
+    @Modifying
+    @Query(value = "INSERT INTO leave_ledger_entries (employee_id, leave_type, balance_year, entry_type, days, description) " +
+           "SELECT e.id, t.leave_type, :year, 'CARRY_OVER', LEAST(s.balance, :cap), :description " +
+           "FROM employees e CROSS JOIN (VALUES ('ANNUAL')) AS t(leave_type) " +
+           "JOIN leave_balance_snapshots s ON s.employee_id = e.id AND s.leave_type = t.leave_type " +
+           "AND s.balance_year = :year - 1 " +
+           "WHERE e.id IN :employeeIds AND s.balance > 0 AND " + NOT_OPENED_FROM_LEGACY +
+           "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertCarryOver(@Param("employeeIds") Collection<Long> employeeIds,
+                        @Param("year") int year,
+                        @Param("cap") BigDecimal cap,
+                        @Param("description") String description);
+    
+    @Modifying
+    @Query(value = "INSERT INTO leave_ledger_entries (employee_id, leave_type, balance_year, entry_type, days, description) " +
+           "SELECT e.id, t.leave_type, :year, 'ACCRUAL', t.days, :description " +
+           "FROM employees e CROSS JOIN (VALUES ('ANNUAL', CAST(:annualDays AS NUMERIC)), " +
+           "('SICK', CAST(:sickDays AS NUMERIC))) AS t(leave_type, days) " +
+           "WHERE e.id IN :employeeIds AND t.days > 0 AND " + NOT_OPENED_FROM_LEGACY +
+           "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertAccruals(@Param("employeeIds") Collection<Long> employeeIds,
+                       @Param("year") int year,
+                       @Param("annualDays") BigDecimal annualDays,
+                       @Param("sickDays") BigDecimal sickDays,
+                       @Param("description") String description);
+}
\ No newline at end of file
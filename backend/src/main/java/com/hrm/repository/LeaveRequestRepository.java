@@ -3,23 +3,69 @@ package com.hrm.repository;
 import com.hrm.entity.LeaveRequest;
 import com.hrm.entity.enums.LeaveStatus;
 import com.hrm.entity.enums.LeaveType;
+import com.hrm.repository.projection.LeaveIntervalRow;
+import com.hrm.repository.projection.LeaveUsageRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
     
+    String OVERLAP_CONSTRAINT = "ex_leave_requests_no_overlap";
+    
+    // Same predicate as the exclusion constraint, so the lookup is served by its GiST index
+    String OVERLAP_PREDICATE = "lr.employee_id = :employeeId AND lr.status IN ('PENDING', 'APPROVED') " +
+                               "AND lr.leave_period && daterange(:startDate, :endDate, '[]') ";
+    
+    // Fetch plans for DTO paths: LeaveRequestMapper.toDTO reads the employee's name, so these load
+    // it in the same statement instead of one lazy select per row. Paged variants count separately.
+    @EntityGraph(attributePaths = "employee")
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.id = :id")
+    Optional<LeaveRequest> findWithEmployeeById(@Param("id") Long id);
+    
+    @Query(value = "SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee",
+           countQuery = "SELECT COUNT(lr) FROM LeaveRequest lr")
+    Page<LeaveRequest> findAllWithEmployee(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "employee")
+    Page<LeaveRequest> findByEmployeeId(Long employeeId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "employee")
+    Page<LeaveRequest> findByStatus(LeaveStatus status, Pageable pageable);
+    
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee " +
+           "WHERE lr.startDate <= :endDate AND lr.endDate >= :startDate ORDER BY lr.startDate ASC, lr.id ASC")
+    List<LeaveRequest> findByDateRange(@Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+    
+    @Query(value = "SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee e " +
+                   "WHERE e.manager.id = :managerId AND lr.status = 'PENDING'",
+           countQuery = "SELECT COUNT(lr) FROM LeaveRequest lr JOIN lr.employee e " +
+                        "WHERE e.manager.id = :managerId AND lr.status = 'PENDING'")
+    Page<LeaveRequest> findPendingRequestsForManager(@Param("managerId") Long managerId, Pageable pageable);
+    
     List<LeaveRequest> findByEmployeeId(Long employeeId);
     
     List<LeaveRequest> findByEmployeeIdAndStatus(Long employeeId, LeaveStatus status);
     
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee WHERE lr.id IN :ids")
+    List<LeaveRequest> findAllWithEmployeeByIdIn(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.manager.id = :managerId")
     List<LeaveRequest> findByManagerId(@Param("managerId") Long managerId);
     
@@ -29,22 +75,84 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.department.id = :departmentId")
     Page<LeaveRequest> findByDepartmentId(@Param("departmentId") Long departmentId, Pageable pageable);
     
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.id = :employeeId " +
-           "AND lr.status IN ('APPROVED', 'PENDING') " +
-           "AND ((lr.startDate <= :endDate AND lr.endDate >= :startDate))")
+    @Query(value = "SELECT lr.* FROM leave_requests lr WHERE " + OVERLAP_PREDICATE +
+           "ORDER BY lr.start_date ASC",
+           nativeQuery = true)
     List<LeaveRequest> findOverlappingLeaves(@Param("employeeId") Long employeeId,
                                            @Param("startDate") LocalDate startDate,
                                            @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT SUM(lr.totalDays) FROM LeaveRequest lr WHERE lr.employee.id = :employeeId " +
+    @Query("SELECT lr.id AS id, e.id AS employeeId, CONCAT(e.firstName, ' ', e.lastName) AS employeeName, " +
+           "lr.leaveType AS leaveType, lr.status AS status, lr.startDate AS startDate, lr.endDate AS endDate " +
+           "FROM LeaveRequest lr JOIN lr.employee e WHERE e.department.id = :departmentId " +
+           "AND lr.status IN ('PENDING', 'APPROVED') AND lr.startDate <= :to AND lr.endDate >= :from " +
+           "ORDER BY lr.startDate ASC")
+    List<LeaveIntervalRow> findIntervalsByDepartment(@Param("departmentId") Long departmentId,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+    
+    @Query("SELECT lr.id AS id, e.id AS employeeId, CONCAT(e.firstName, ' ', e.lastName) AS employeeName, " +
+           "lr.leaveType AS leaveType, lr.status AS status, lr.startDate AS startDate, lr.endDate AS endDate " +
+           "FROM LeaveRequest lr JOIN lr.employee e WHERE e.manager.id = :managerId " +
+           "AND lr.status IN ('PENDING', 'APPROVED') AND lr.startDate <= :to AND lr.endDate >= :from " +
+           "ORDER BY lr.startDate ASC")
+    List<LeaveIntervalRow> findIntervalsByManager(@Param("managerId") Long managerId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+    
+    @Query("SELECT lr.id AS id, e.id AS employeeId, CONCAT(e.firstName, ' ', e.lastName) AS employeeName, " +
+           "lr.leaveType AS leaveType, lr.status AS status, lr.startDate AS startDate, lr.endDate AS endDate " +
+           "FROM LeaveRequest lr JOIN lr.employee e WHERE e.id = :employeeId " +
+           "AND lr.status IN ('PENDING', 'APPROVED') ORDER BY lr.startDate ASC")
+    List<LeaveIntervalRow> findIntervalsByEmployee(@Param("employeeId") Long employeeId);
+    
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM leave_requests lr WHERE " + OVERLAP_PREDICATE + ")",
+           nativeQuery = true)
+    boolean existsOverlappingLeave(@Param("employeeId") Long employeeId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+    
+    // Usage is attributed to the year the leave starts in. Every usage query takes a half-open
+    // [from, to) start_date range instead of YEAR(start_date) so idx_leave_requests_approved_usage covers it.
+    @Query("SELECT COALESCE(SUM(lr.daysRequested), 0) FROM LeaveRequest lr WHERE lr.employee.id = :employeeId " +
            "AND lr.leaveType = :leaveType AND lr.status = 'APPROVED' " +
-           "AND YEAR(lr.startDate) = :year")
-    Double getTotalApprovedLeavesByTypeAndYear(@Param("employeeId") Long employeeId,
-                                             @Param("leaveType") LeaveType leaveType,
-                                             @Param("year") int year);
+           "AND lr.startDate >= :from AND lr.startDate < :to")
+    Long sumApprovedDays(@Param("employeeId") Long employeeId,
+                         @Param("leaveType") LeaveType leaveType,
+                         @Param("from") LocalDate from,
+                         @Param("to") LocalDate to);
+    
+    default Long getTotalApprovedLeavesByTypeAndYear(Long employeeId, LeaveType leaveType, int year) {
+        return sumApprovedDays(employeeId, leaveType, LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+    
+    @Query("SELECT lr.employee.id AS employeeId, lr.leaveType AS leaveType, SUM(lr.daysRequested) AS days " +
+           "FROM LeaveRequest lr WHERE lr.status = 'APPROVED' AND lr.startDate >= :from AND lr.startDate < :to " +
+           "GROUP BY lr.employee.id, lr.leaveType")
+    List<LeaveUsageRow> findApprovedUsage(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Query("SELECT e.id AS employeeId, lr.leaveType AS leaveType, SUM(lr.daysRequested) AS days " +
+           "FROM LeaveRequest lr JOIN lr.employee e WHERE e.department.id = :departmentId " +
+           "AND lr.status = 'APPROVED' AND lr.startDate >= :from AND lr.startDate < :to " +
+           "GROUP BY e.id, lr.leaveType")
+    List<LeaveUsageRow> findApprovedUsageByDepartment(@Param("departmentId") Long departmentId,
+                                                      @Param("from") LocalDate from,
+                                                      @Param("to") LocalDate to);
     
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.status = :status " +
            "AND lr.startDate <= :date ORDER BY lr.startDate ASC")
     List<LeaveRequest> findLeaveRequestsByStatusAndDate(@Param("status") LeaveStatus status,
                                                        @Param("date") LocalDate date);
+    
+    List<LeaveRequest> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.startDate <= :endDate AND lr.endDate >= :startDate " +
+           "ORDER BY lr.startDate ASC, lr.id ASC")
+    Stream<LeaveRequest> streamByDateRange(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+    
+    @Modifying
+    @Query("UPDATE LeaveRequest lr SET lr.airflowDagRunId = :dagRunId WHERE lr.id = :id")
+    int updateAirflowDagRunId(@Param("id") Long id, @Param("dagRunId") String dagRunId);
 }
\ No newline at end of file
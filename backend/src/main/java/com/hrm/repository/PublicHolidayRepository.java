@@ -0,0 +1,26 @@
+package com.hrm.repository;
+
+import com.hrm.entity.PublicHoliday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PublicHolidayRepository extends JpaRepository<PublicHoliday, Long> {
+    
+    @Query("SELECT h.holidayDate FROM PublicHoliday h WHERE h.country = :country " +
+           "AND h.holidayDate BETWEEN :startDate AND :endDate")
+    List<LocalDate> findHolidayDates(@Param("country") String country,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+    
+    List<PublicHoliday> findByCountryAndHolidayDateBetweenOrderByHolidayDateAsc(String country,
+                                                                               LocalDate startDate,
+                                                                               LocalDate endDate);
+    
+    boolean existsByCountryAndHolidayDate(String country, LocalDate holidayDate);
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.hrm.repository;
+
+import com.hrm.entity.WorkflowOutboxEntry;
+import com.hrm.entity.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WorkflowOutboxRepository extends JpaRepository<WorkflowOutboxEntry, Long> {
+    
+    // Rows locked by another dispatcher are skipped rather than waited on
+    @Query(value = "SELECT * FROM workflow_outbox " +
+           "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+           "ORDER BY next_attempt_at ASC, id ASC LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<WorkflowOutboxEntry> lockDueEntries(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    List<WorkflowOutboxEntry> findByLeaveRequestIdOrderByIdAsc(Long leaveRequestId);
+    
+    long countByStatus(OutboxStatus status);
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.hrm.repository.projection;
+
+public interface AttendanceKeyRow {
+
+    Long getEmployeeId();
+
+    // ISO yyyy-MM-dd, formatted by the database
+    String getWorkDate();
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.hrm.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface AttendanceStateRow {
+
+    Long getEmployeeId();
+
+    LocalDate getDate();
+
+    LocalDateTime getCheckInTime();
+
+    LocalDateTime getCheckOutTime();
+
+    Integer getBreakDurationMinutes();
+}
\ No newline at end of file
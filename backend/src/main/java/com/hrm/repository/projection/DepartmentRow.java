@@ -0,0 +1,26 @@
+package com.hrm.repository.projection;
+
+public interface DepartmentRow {
+
+    Long getId();
+
+    String getName();
+
+    String getCode();
+
+    String getDescription();
+
+    String getLocation();
+
+    Long getBudget();
+
+    Boolean getIsActive();
+
+    Long getParentDepartmentId();
+
+    String getParentDepartmentName();
+
+    Long getHeadId();
+
+    String getHeadName();
+}
@@ -0,0 +1,38 @@
+package com.hrm.repository.projection;
+
+import com.hrm.entity.enums.EmployeeStatus;
+
+import java.time.LocalDate;
+
+public interface EmployeeSearchRow {
+
+    Long getId();
+
+    String getEmployeeId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    String getJobTitle();
+
+    EmployeeStatus getStatus();
+
+    LocalDate getHireDate();
+
+    Long getDepartmentId();
+
+    String getDepartmentName();
+
+    Long getManagerId();
+
+    String getManagerName();
+
+    Integer getAnnualLeaveBalance();
+
+    Integer getSickLeaveBalance();
+}
@@ -0,0 +1,14 @@
+package com.hrm.repository.projection;
+
+import com.hrm.entity.enums.LeaveType;
+
+import java.math.BigDecimal;
+
+public interface LeaveBalanceRow {
+
+    Long getEmployeeId();
+
+    LeaveType getLeaveType();
+
+    BigDecimal getBalance();
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.hrm.repository.projection;
+
+import com.hrm.entity.enums.LeaveStatus;
+import com.hrm.entity.enums.LeaveType;
+
+import java.time.LocalDate;
+
+public interface LeaveIntervalRow {
+
+    Long getId();
+
+    Long getEmployeeId();
+
+    String getEmployeeName();
+
+    LeaveType getLeaveType();
+
+    LeaveStatus getStatus();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
\ No newline at end of file
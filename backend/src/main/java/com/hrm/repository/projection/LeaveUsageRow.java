@@ -0,0 +1,12 @@
+package com.hrm.repository.projection;
+
+import com.hrm.entity.enums.LeaveType;
+
+public interface LeaveUsageRow {
+
+    Long getEmployeeId();
+
+    LeaveType getLeaveType();
+
+    Long getDays();
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.hrm.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface PresenceRow {
+
+    Long getEmployeeId();
+
+    LocalDateTime getCheckInTime();
+
+    LocalDateTime getBreakStartTime();
+
+    LocalDateTime getBreakEndTime();
+
+    LocalDateTime getCheckOutTime();
+}
\ No newline at end of file
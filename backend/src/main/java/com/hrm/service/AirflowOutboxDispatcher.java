@@ -0,0 +1,186 @@
+package com.hrm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrm.entity.WorkflowOutboxEntry;
+import com.hrm.entity.enums.OutboxStatus;
+import com.hrm.repository.LeaveRequestRepository;
+import com.hrm.repository.WorkflowOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued Airflow dagRun triggers from the workflow outbox.
+ *
+ * <p>Each poll locks a batch of due rows with {@code SKIP LOCKED} and pushes their next attempt
+ * past a lease, so a crashed dispatcher's rows become due again instead of being lost. The batch
+ * is sent with bounded concurrency outside any transaction, then the outcomes are written back in
+ * one transaction. Airflow rejects a reused {@code dag_run_id} with 409, which is treated as
+ * delivered, so redelivery after a crash does not start a second run.</p>
+ */
+@Component
+@Slf4j
+public class AirflowOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WorkflowOutboxRepository workflowOutboxRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final WebClient airflowWebClient;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${airflow.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${airflow.outbox.concurrency:8}")
+    private int concurrency;
+
+    @Value("${airflow.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${airflow.outbox.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    @Value("${airflow.outbox.lease:5m}")
+    private Duration lease;
+
+    @Value("${airflow.outbox.initial-backoff:5s}")
+    private Duration initialBackoff;
+
+    @Value("${airflow.outbox.max-backoff:30m}")
+    private Duration maxBackoff;
+
+    public AirflowOutboxDispatcher(WorkflowOutboxRepository workflowOutboxRepository,
+                                   LeaveRequestRepository leaveRequestRepository,
+                                   @Qualifier("airflowWebClient") WebClient airflowWebClient,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.workflowOutboxRepository = workflowOutboxRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.airflowWebClient = airflowWebClient;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${airflow.outbox.poll-interval-ms:2000}")
+    public void dispatchDueEntries() {
+        List<WorkflowOutboxEntry> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claimBatch());
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+
+            List<DispatchOutcome> outcomes = Flux.fromIterable(batch)
+                    .flatMap(this::trigger, concurrency)
+                    .collectList()
+                    .block();
+            if (outcomes != null) {
+                transactionTemplate.executeWithoutResult(status -> recordOutcomes(outcomes));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<WorkflowOutboxEntry> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<WorkflowOutboxEntry> entries = workflowOutboxRepository.lockDueEntries(now, batchSize);
+        for (WorkflowOutboxEntry entry : entries) {
+            entry.setNextAttemptAt(now.plus(lease));
+        }
+        return entries;
+    }
+
+    private Mono<DispatchOutcome> trigger(WorkflowOutboxEntry entry) {
+        return airflowWebClient.post()
+                .uri("/api/v1/dags/{dagId}/dagRuns", entry.getDagId())
+                .bodyValue(entry.getPayload())
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(requestTimeout)
+                .map(body -> DispatchOutcome.delivered(entry.getId(), dagRunIdFrom(body, entry.getDagRunId())))
+                .onErrorResume(WebClientResponseException.class,
+                        e -> e.getStatusCode().isSameCodeAs(HttpStatus.CONFLICT)
+                                ? Mono.just(DispatchOutcome.delivered(entry.getId(), entry.getDagRunId()))
+                                : Mono.just(DispatchOutcome.failed(entry.getId(),
+                                        e.getStatusCode() + " " + e.getResponseBodyAsString())))
+                .onErrorResume(e -> Mono.just(DispatchOutcome.failed(entry.getId(), String.valueOf(e.getMessage()))));
+    }
+
+    private void recordOutcomes(List<DispatchOutcome> outcomes) {
+        Map<Long, DispatchOutcome> outcomesById = outcomes.stream()
+                .collect(Collectors.toMap(DispatchOutcome::entryId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        for (WorkflowOutboxEntry entry : workflowOutboxRepository.findAllById(outcomesById.keySet())) {
+            DispatchOutcome outcome = outcomesById.get(entry.getId());
+            entry.setAttempts(entry.getAttempts() + 1);
+
+            if (outcome.delivered()) {
+                entry.setStatus(OutboxStatus.DISPATCHED);
+                entry.setDispatchedAt(now);
+                entry.setLastError(null);
+                leaveRequestRepository.updateAirflowDagRunId(entry.getLeaveRequestId(), outcome.dagRunId());
+                log.info("Airflow workflow triggered successfully for leave request: {}", entry.getLeaveRequestId());
+                continue;
+            }
+
+            entry.setLastError(truncate(outcome.error()));
+            if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(OutboxStatus.FAILED);
+                log.error("Giving up on Airflow trigger for leave request {} after {} attempts: {}",
+                        entry.getLeaveRequestId(), entry.getAttempts(), outcome.error());
+            } else {
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+                log.warn("Airflow trigger for leave request {} failed (attempt {}): {}",
+                        entry.getLeaveRequestId(), entry.getAttempts(), outcome.error());
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String dagRunIdFrom(String responseBody, String fallback) {
+        try {
+            JsonNode runId = objectMapper.readTree(responseBody).get("dag_run_id");
+            return runId != null && !runId.isNull() ? runId.asText() : fallback;
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private record DispatchOutcome(Long entryId, boolean delivered, String dagRunId, String error) {
+
+        static DispatchOutcome delivered(Long entryId, String dagRunId) {
+            return new DispatchOutcome(entryId, true, dagRunId, null);
+        }
+
+        static DispatchOutcome failed(Long entryId, String error) {
+            return new DispatchOutcome(entryId, false, null, error);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.hrm.service;
+
+import com.hrm.repository.AttendanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of {@code attendance}. Upcoming months are created ahead of time,
+ * and months older than the retention window are detached into the {@code attendance_archive}
+ * schema, where they can be dumped or dropped without touching live data. A row for a month without
+ * a partition lands in {@code attendance_default} (V13); such months get their own partition at the
+ * next run, which moves their rows out of the default. Every step is idempotent and serialised in
+ * the database, so every instance may run them.
+ */
+@Component
+@Slf4j
+public class AttendancePartitionJob {
+
+    private final AttendanceRepository attendanceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${hrm.attendance.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 keeps every month attached
+    @Value("${hrm.attendance.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    public AttendancePartitionJob(AttendanceRepository attendanceRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.attendanceRepository = attendanceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hrm.attendance.partitions.cron:0 30 1 * * *}")
+    public void maintain() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        createPartitions(currentMonth);
+        splitDefaultPartition();
+        if (retentionMonths > 0) {
+            archivePartitions(currentMonth.minusMonths(retentionMonths));
+        }
+    }
+
+    private void createPartitions(LocalDate currentMonth) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i <= monthsAhead; i++) {
+                attendanceRepository.createPartition(currentMonth.plusMonths(i));
+            }
+        });
+    }
+
+    private void splitDefaultPartition() {
+        List<String> months = attendanceRepository.findMonthsInDefaultPartition();
+        if (months.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> months.forEach(
+                month -> attendanceRepository.createPartition(LocalDate.parse(month))));
+        log.info("Moved attendance rows out of the default partition into months {}", months);
+    }
+
+    // Detaching locks attendance exclusively until commit; past the first run there is at most one month to move
+    private void archivePartitions(LocalDate cutoff) {
+        List<String> archived = transactionTemplate.execute(
+                status -> attendanceRepository.archivePartitionsBefore(cutoff));
+        if (archived != null && !archived.isEmpty()) {
+            log.info("Archived attendance partitions before {}: {}", cutoff, archived);
+        }
+    }
+}
\ No newline at end of file
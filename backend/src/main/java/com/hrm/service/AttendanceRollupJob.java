@@ -0,0 +1,61 @@
+package com.hrm.service;
+
+import com.hrm.repository.AttendanceMonthlyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Rebuilds {@code attendance_monthly_rollups} from raw attendance, one month per transaction. The
+ * nightly run repairs the most recent months, which are the only ones still being written; older
+ * months can be rebuilt on demand, e.g. after a bulk correction made directly in the database.
+ */
+@Component
+@Slf4j
+public class AttendanceRollupJob {
+
+    private final AttendanceMonthlyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${hrm.attendance.rollups.repair-months:2}")
+    private int repairMonths;
+
+    public AttendanceRollupJob(AttendanceMonthlyRollupRepository rollupRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${hrm.attendance.rollups.cron:0 45 1 * * *}")
+    public void repairRecentMonths() {
+        YearMonth current = YearMonth.now();
+        rebuild(current.minusMonths(repairMonths - 1L), current);
+    }
+
+    /**
+     * Rebuilds every month from {@code from} to {@code to}, inclusive, and returns the number of
+     * rollup rows written.
+     */
+    public int rebuild(YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Rebuild range ends before it starts");
+        }
+        int rows = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            LocalDate first = month.atDay(1);
+            Integer written = transactionTemplate.execute(status -> {
+                rollupRepository.deleteByMonth(first);
+                return rollupRepository.upsertMonth(first, first.plusMonths(1));
+            });
+            rows += written != null ? written : 0;
+        }
+        log.info("Rebuilt attendance rollups for {} to {}: {} rows", from, to, rows);
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.hrm.service;
+
+import com.hrm.repository.AttendanceMonthlyRollupRepository;
+import com.hrm.repository.AttendanceRepository;
+import com.hrm.service.dto.AttendanceMonthlyRollupDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps {@code attendance_monthly_rollups} current and answers range totals from it.
+ *
+ * <p>Whenever an attendance row is written, the employee's month is recomputed from its raw rows.
+ * That is one index range of at most 31 rows in a single partition, and recomputing rather than
+ * applying deltas means a retried or repeated refresh cannot double count. A range total reads the
+ * rollups of the whole months it covers plus the raw rows of the partial months at either end.
+ * {@link AttendanceRollupJob} rebuilds recent months to repair anything written around the service.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AttendanceRollupService {
+
+    private final AttendanceMonthlyRollupRepository rollupRepository;
+    private final AttendanceRepository attendanceRepository;
+
+    public void refresh(Long employeeId, LocalDate date) {
+        refresh(List.of(employeeId), YearMonth.from(date));
+    }
+
+    // Callers must have flushed their attendance changes; the recompute reads them back with SQL
+    public void refresh(Collection<Long> employeeIds, YearMonth month) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        // Deleting first drops the month for employees whose last row in it was removed
+        rollupRepository.deleteByEmployeesAndMonth(employeeIds, from);
+        rollupRepository.upsertForEmployees(employeeIds, from, from.plusMonths(1));
+    }
+
+    @Transactional(readOnly = true)
+    public Double getTotalHoursWorked(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        MonthSpan months = MonthSpan.within(startDate, endDate);
+        if (months.isEmpty()) {
+            return orZero(attendanceRepository.getTotalHoursWorked(employeeId, startDate, endDate));
+        }
+        double total = rollupRepository.sumHoursWorked(employeeId, months.from(), months.to());
+        if (startDate.isBefore(months.from())) {
+            total += orZero(attendanceRepository.getTotalHoursWorked(employeeId, startDate, months.from().minusDays(1)));
+        }
+        if (!endDate.isBefore(months.to())) {
+            total += orZero(attendanceRepository.getTotalHoursWorked(employeeId, months.to(), endDate));
+        }
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public Long getWorkingDaysCount(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        MonthSpan months = MonthSpan.within(startDate, endDate);
+        if (months.isEmpty()) {
+            return attendanceRepository.getWorkingDaysCount(employeeId, startDate, endDate);
+        }
+        long total = rollupRepository.sumPresentDays(employeeId, months.from(), months.to());
+        if (startDate.isBefore(months.from())) {
+            total += attendanceRepository.getWorkingDaysCount(employeeId, startDate, months.from().minusDays(1));
+        }
+        if (!endDate.isBefore(months.to())) {
+            total += attendanceRepository.getWorkingDaysCount(employeeId, months.to(), endDate);
+        }
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceMonthlyRollupDTO> getMonthlyRollups(Long employeeId, YearMonth from, YearMonth to) {
+        return rollupRepository.findDtosByEmployeeId(employeeId, from.atDay(1), to.plusMonths(1).atDay(1));
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    /**
+     * The whole calendar months inside {@code [startDate, endDate]}, as first days with {@code to}
+     * exclusive. Empty when the range does not cover a full month.
+     */
+    private record MonthSpan(LocalDate from, LocalDate to) {
+
+        static MonthSpan within(LocalDate startDate, LocalDate endDate) {
+            LocalDate from = startDate.getDayOfMonth() == 1 ? startDate : startDate.withDayOfMonth(1).plusMonths(1);
+            LocalDate to = endDate.plusDays(1).withDayOfMonth(1);
+            return new MonthSpan(from, to.isBefore(from) ? from : to);
+        }
+
+        boolean isEmpty() {
+            return !from.isBefore(to);
+        }
+    }
+}
\ No newline at end of file
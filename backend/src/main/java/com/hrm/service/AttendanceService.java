@@ -4,42 +4,111 @@ import com.hrm.entity.Attendance;
 import com.hrm.entity.Employee;
 import com.hrm.repository.AttendanceRepository;
 import com.hrm.repository.EmployeeRepository;
+import com.hrm.repository.projection.AttendanceKeyRow;
+import com.hrm.repository.projection.AttendanceStateRow;
+import com.hrm.service.dto.AttendanceDTO;
+import com.hrm.service.dto.AttendanceMonthlyRollupDTO;
+import com.hrm.service.dto.CursorPage;
+import com.hrm.service.dto.DepartmentPresenceDTO;
+import com.hrm.service.dto.KioskBatchResultDTO;
+import com.hrm.service.dto.KioskEventDTO;
+import com.hrm.service.dto.KioskEventType;
+import com.hrm.service.dto.PresenceState;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class AttendanceService {
 
+    private static final int MAX_KIOSK_BATCH_SIZE = 1000;
+    private static final Duration MAX_KIOSK_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    @Value("${hrm.attendance.kiosk.max-event-age:24h}")
+    private Duration maxKioskEventAge;
+
     @Autowired
     private AttendanceRepository attendanceRepository;
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
-    public List<Attendance> getAllAttendance() {
-        return attendanceRepository.findAll();
+    @Autowired
+    private CursorPagination cursorPagination;
+
+    @Autowired
+    private WorkingDayCalendar workingDayCalendar;
+
+    @Autowired
+    private CheckInBuffer checkInBuffer;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Transactional(readOnly = true)
+    public CursorPage<AttendanceDTO> getAllAttendance(String cursor, Integer size) {
+        return cursorPagination.fetch(cursor, size, attendanceRepository::findDtosAfterId, AttendanceDTO::getId);
     }
 
-    public Optional<Attendance> getAttendanceById(Long id) {
-        return attendanceRepository.findById(id);
+    @Transactional(readOnly = true)
+    public Optional<AttendanceDTO> getAttendanceById(Long id) {
+        return attendanceRepository.findDtoById(id);
     }
 
-    public List<Attendance> getAttendanceByEmployee(Long employeeId) {
-        return attendanceRepository.findByEmployeeId(employeeId);
+    @Transactional(readOnly = true)
+    public List<AttendanceDTO> getAttendanceByEmployee(Long employeeId) {
+        return attendanceRepository.findDtosByEmployeeId(employeeId);
     }
 
-    public Page<Attendance> getAttendanceByEmployee(Long employeeId, Pageable pageable) {
-        return attendanceRepository.findByEmployeeId(employeeId, pageable);
+    @Transactional(readOnly = true)
+    public Page<AttendanceDTO> getAttendanceByEmployee(Long employeeId, Pageable pageable) {
+        return attendanceRepository.findDtosByEmployeeId(employeeId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AttendanceDTO> getTodayAttendanceSummary(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        Optional<AttendanceDTO> attendance = attendanceRepository.findDtoByEmployeeIdAndDate(employeeId, today);
+        Optional<CheckInBuffer.CheckIn> buffered = checkInBuffer.find(employeeId, today);
+        if (buffered.isEmpty()) {
+            return attendance;
+        }
+        // A buffered check-in is not written yet; show it as the flush will record it
+        CheckInBuffer.CheckIn checkIn = buffered.get();
+        if (attendance.isEmpty()) {
+            return Optional.of(toDTO(checkIn));
+        }
+        AttendanceDTO summary = attendance.get();
+        if (summary.getCheckInTime() == null) {
+            summary.setCheckInTime(checkIn.checkInTime());
+            summary.setLocation(checkIn.location());
+        }
+        return Optional.of(summary);
     }
 
     public Optional<Attendance> getTodayAttendance(Long employeeId) {
@@ -61,7 +130,8 @@ public class AttendanceService {
             attendance.setCheckInTime(LocalTime.now());
             attendance.setIpAddress(ipAddress);
             attendance.setLocation(location);
-            return attendanceRepository.save(attendance);
+            presenceService.record(employeeId, today, PresenceState.CHECKED_IN);
+            return saveAndRefreshRollup(attendance);
         } else {
             Attendance attendance = new Attendance();
             attendance.setEmployee(employee);
@@ -69,12 +139,85 @@ public class AttendanceService {
             attendance.setCheckInTime(LocalTime.now());
             attendance.setIpAddress(ipAddress);
             attendance.setLocation(location);
-            return attendanceRepository.save(attendance);
+            presenceService.record(employeeId, today, PresenceState.CHECKED_IN);
+            return saveAndRefreshRollup(attendance);
+        }
+    }
+
+    /**
+     * Acknowledges a check-in once it is durable in the local check-in log, without touching the
+     * database; see {@link CheckInBuffer}. Runs outside a transaction, and the employee comes from
+     * the employee cache, so it only takes a connection on a cache miss.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttendanceDTO bufferCheckIn(Long employeeId, String ipAddress, String location) {
+        if (employeeService.getEmployeeById(employeeId).isEmpty()) {
+            throw new RuntimeException("Employee not found with id: " + employeeId);
+        }
+        CheckInBuffer.CheckIn checkIn = checkInBuffer.submit(employeeId, ipAddress, location);
+        presenceService.record(employeeId, checkIn.workDate(), PresenceState.CHECKED_IN);
+        return toDTO(checkIn);
+    }
+
+    /**
+     * Applies a batch of kiosk check-ins and check-outs in event order, each with its own outcome.
+     * The rows the batch touches are read with one query and written back with one upsert. An event
+     * succeeds only if its row was actually written, and events older than
+     * {@code hrm.attendance.kiosk.max-event-age} are rejected rather than backfilled.
+     */
+    public KioskBatchResultDTO recordKioskEvents(List<KioskEventDTO> events, String kioskIpAddress) {
+        if (events == null || events.isEmpty()) {
+            throw new RuntimeException("At least one kiosk event is required");
+        }
+        if (events.size() > MAX_KIOSK_BATCH_SIZE) {
+            throw new RuntimeException("Cannot record more than " + MAX_KIOSK_BATCH_SIZE + " kiosk events at once");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> employeeIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (KioskEventDTO event : events) {
+            if (event.getEmployeeId() != null) {
+                employeeIds.add(event.getEmployeeId());
+            }
+            dates.add((event.getTimestamp() != null ? event.getTimestamp() : now).toLocalDate());
+        }
+        Map<KioskKey, KioskRow> rows = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            for (AttendanceStateRow state : attendanceRepository.findStatesByEmployeeIdsAndDates(employeeIds, dates)) {
+                rows.put(new KioskKey(state.getEmployeeId(), state.getDate()), new KioskRow(state));
+            }
+        }
+
+        Map<KioskKey, KioskRow> changed = new LinkedHashMap<>();
+        KioskKey[] keys = new KioskKey[events.size()];
+        String[] failures = new String[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                keys[i] = applyKioskEvent(events.get(i), now, kioskIpAddress, rows);
+                changed.put(keys[i], rows.get(keys[i]));
+            } catch (RuntimeException e) {
+                failures[i] = e.getMessage();
+            }
+        }
+        Map<KioskKey, String> unwritten = changed.isEmpty() ? Map.of() : writeKioskRows(changed);
+
+        KioskBatchResultDTO result = new KioskBatchResultDTO();
+        for (int i = 0; i < events.size(); i++) {
+            KioskEventDTO event = events.get(i);
+            String failure = failures[i] != null ? failures[i] : unwritten.get(keys[i]);
+            if (failure != null) {
+                result.addFailure(i, event.getEmployeeId(), event.getType(), failure);
+            } else {
+                result.addSuccess(i, event.getEmployeeId(), event.getType());
+            }
         }
+        return result;
     }
 
     public Attendance checkOut(Long employeeId) {
         LocalDate today = LocalDate.now();
+        checkInBuffer.writeThrough(employeeId, today);
         Attendance attendance = attendanceRepository.findByEmployeeIdAndWorkDate(employeeId, today)
                 .orElseThrow(() -> new RuntimeException("No check-in record found for today"));
 
@@ -97,11 +240,13 @@ public class AttendanceService {
         double overtimeHours = Math.max(0, hoursWorked - 8.0);
         attendance.setOvertimeHours(overtimeHours);
 
-        return attendanceRepository.save(attendance);
+        presenceService.record(employeeId, today, PresenceState.CHECKED_OUT);
+        return saveAndRefreshRollup(attendance);
     }
 
     public Attendance startBreak(Long employeeId) {
         LocalDate today = LocalDate.now();
+        checkInBuffer.writeThrough(employeeId, today);
         Attendance attendance = attendanceRepository.findByEmployeeIdAndWorkDate(employeeId, today)
                 .orElseThrow(() -> new RuntimeException("No check-in record found for today"));
 
@@ -114,6 +259,7 @@ public class AttendanceService {
         }
 
         attendance.setBreakStartTime(LocalTime.now());
+        presenceService.record(employeeId, today, PresenceState.ON_BREAK);
         return attendanceRepository.save(attendance);
     }
 
@@ -137,30 +283,47 @@ public class AttendanceService {
         double breakDuration = Duration.between(attendance.getBreakStartTime(), breakEndTime).toMinutes() / 60.0;
         attendance.setBreakDuration(breakDuration);
 
+        presenceService.record(employeeId, today, PresenceState.CHECKED_IN);
         return attendanceRepository.save(attendance);
     }
 
-    public List<Attendance> getAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public List<AttendanceDTO> getAttendanceByDateRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
         return attendanceRepository.findByEmployeeIdAndDateRange(employeeId, startDate, endDate);
     }
 
-    public List<Attendance> getDepartmentAttendanceForDate(Long departmentId, LocalDate date) {
+    @Transactional(readOnly = true)
+    public List<AttendanceDTO> getDepartmentAttendanceForDate(Long departmentId, LocalDate date) {
         return attendanceRepository.findByDepartmentIdAndDate(departmentId, date);
     }
 
-    public List<Attendance> getManagerTeamAttendance(Long managerId, LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public List<AttendanceDTO> getManagerTeamAttendance(Long managerId, LocalDate startDate, LocalDate endDate) {
         return attendanceRepository.findByManagerIdAndDateRange(managerId, startDate, endDate);
     }
 
     public Double getTotalHoursWorked(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.getTotalHoursWorked(employeeId, startDate, endDate);
+        return attendanceRollupService.getTotalHoursWorked(employeeId, startDate, endDate);
     }
 
     public Long getWorkingDaysCount(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.getWorkingDaysCount(employeeId, startDate, endDate);
+        return attendanceRollupService.getWorkingDaysCount(employeeId, startDate, endDate);
+    }
+
+    public List<AttendanceMonthlyRollupDTO> getMonthlyRollups(Long employeeId, YearMonth from, YearMonth to) {
+        return attendanceRollupService.getMonthlyRollups(employeeId, from, to);
+    }
+
+    // Days the employee was expected to work, per their country's working-day calendar
+    @Transactional(readOnly = true)
+    public int getScheduledWorkingDays(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+        return workingDayCalendar.countWorkingDays(employee.getCountry(), startDate, endDate);
     }
 
-    public List<Attendance> getOvertimeRecords(LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public List<AttendanceDTO> getOvertimeRecords(LocalDate startDate, LocalDate endDate) {
         return attendanceRepository.findOvertimeRecords(startDate, endDate);
     }
 
@@ -187,28 +350,50 @@ public class AttendanceService {
             attendance.setOvertimeHours(overtimeHours);
         }
 
-        return attendanceRepository.save(attendance);
+        recordPresence(attendance);
+        return saveAndRefreshRollup(attendance);
     }
 
     public void deleteAttendance(Long id) {
-        attendanceRepository.deleteById(id);
+        attendanceRepository.findById(id).ifPresent(attendance -> {
+            attendanceRepository.delete(attendance);
+            attendanceRepository.flush();
+            attendanceRollupService.refresh(attendance.getEmployee().getId(), attendance.getDate());
+            presenceService.record(attendance.getEmployee().getId(), attendance.getDate(), PresenceState.NOT_CHECKED_IN);
+        });
     }
 
+    // Status checks are answered from the presence board rather than today's attendance row
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean hasCheckedInToday(Long employeeId) {
-        Optional<Attendance> attendance = getTodayAttendance(employeeId);
-        return attendance.isPresent() && attendance.get().getCheckInTime() != null;
+        if (checkInBuffer.find(employeeId, LocalDate.now()).isPresent()) {
+            return true;
+        }
+        return presenceService.getState(employeeId) != PresenceState.NOT_CHECKED_IN;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean hasCheckedOutToday(Long employeeId) {
-        Optional<Attendance> attendance = getTodayAttendance(employeeId);
-        return attendance.isPresent() && attendance.get().getCheckOutTime() != null;
+        return presenceService.getState(employeeId) == PresenceState.CHECKED_OUT;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean isOnBreak(Long employeeId) {
-        Optional<Attendance> attendance = getTodayAttendance(employeeId);
-        return attendance.isPresent() && 
-               attendance.get().getBreakStartTime() != null && 
-               attendance.get().getBreakEndTime() == null;
+        return presenceService.getState(employeeId) == PresenceState.ON_BREAK;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DepartmentPresenceDTO getDepartmentPresence(Long departmentId) {
+        return presenceService.getDepartmentPresence(departmentId);
+    }
+
+    private AttendanceDTO toDTO(CheckInBuffer.CheckIn checkIn) {
+        AttendanceDTO attendance = new AttendanceDTO();
+        attendance.setEmployeeId(checkIn.employeeId());
+        attendance.setDate(checkIn.workDate());
+        attendance.setCheckInTime(checkIn.checkInTime());
+        attendance.setLocation(checkIn.location());
+        return attendance;
     }
 
     private double calculateHoursWorked(LocalTime checkIn, LocalTime checkOut, Double breakDuration) {
@@ -219,7 +404,125 @@ public class AttendanceService {
 
     public Attendance saveAttendance(Attendance attendance) {
         validateAttendance(attendance);
-        return attendanceRepository.save(attendance);
+        recordPresence(attendance);
+        return saveAndRefreshRollup(attendance);
+    }
+
+    // The rollup is recomputed with SQL from the employee's month, so the row is flushed first
+    private Attendance saveAndRefreshRollup(Attendance attendance) {
+        Attendance saved = attendanceRepository.saveAndFlush(attendance);
+        attendanceRollupService.refresh(saved.getEmployee().getId(), saved.getDate());
+        return saved;
+    }
+
+    private KioskKey applyKioskEvent(KioskEventDTO event, LocalDateTime now, String kioskIpAddress,
+                                     Map<KioskKey, KioskRow> rows) {
+        if (event.getEmployeeId() == null || event.getType() == null) {
+            throw new RuntimeException("Employee id and event type are required");
+        }
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : now;
+        if (timestamp.isAfter(now.plus(MAX_KIOSK_CLOCK_SKEW))) {
+            throw new RuntimeException("Event timestamp is in the future");
+        }
+        if (timestamp.isBefore(now.minus(maxKioskEventAge))) {
+            throw new RuntimeException("Event timestamp is older than " + maxKioskEventAge.toHours() + " hours");
+        }
+
+        KioskKey key = new KioskKey(event.getEmployeeId(), timestamp.toLocalDate());
+        KioskRow row = rows.computeIfAbsent(key, k -> new KioskRow());
+        if (row.checkInTime == null) {
+            // A buffered check-in is not written yet, but the employee has checked in
+            checkInBuffer.find(key.employeeId(), key.date()).ifPresent(checkIn -> {
+                row.checkInTime = checkIn.checkInTime();
+                row.ipAddress = checkIn.ipAddress();
+                row.location = checkIn.location();
+            });
+        }
+
+        if (event.getType() == KioskEventType.CHECK_IN) {
+            if (row.checkInTime != null) {
+                throw new RuntimeException("Employee has already checked in today");
+            }
+            row.checkInTime = timestamp;
+            row.ipAddress = event.getIpAddress() != null ? event.getIpAddress() : kioskIpAddress;
+            row.location = event.getLocation();
+        } else {
+            if (row.checkInTime == null) {
+                throw new RuntimeException("Employee has not checked in today");
+            }
+            if (row.checkOutTime != null) {
+                throw new RuntimeException("Employee has already checked out today");
+            }
+            if (timestamp.isBefore(row.checkInTime)) {
+                throw new RuntimeException("Check-out time cannot be before check-in time");
+            }
+            row.checkOutTime = timestamp;
+        }
+        return key;
+    }
+
+    /**
+     * Writes the rows with one upsert and refreshes rollups and presence for the rows it wrote.
+     *
+     * @return the rows that were not written, with the reason
+     */
+    private Map<KioskKey, String> writeKioskRows(Map<KioskKey, KioskRow> changed) {
+        Set<KioskKey> written = upsertKioskRows(changed);
+        Map<KioskKey, String> unwritten = new HashMap<>();
+        for (KioskKey key : changed.keySet()) {
+            if (!written.contains(key)) {
+                unwritten.put(key, "Employee not found or attendance was changed concurrently");
+            }
+        }
+
+        written.stream()
+                .collect(Collectors.groupingBy(key -> YearMonth.from(key.date()),
+                        Collectors.mapping(KioskKey::employeeId, Collectors.toSet())))
+                .forEach((month, ids) -> attendanceRollupService.refresh(ids, month));
+        written.forEach(key -> presenceService.record(key.employeeId(), key.date(),
+                changed.get(key).checkOutTime != null ? PresenceState.CHECKED_OUT : PresenceState.CHECKED_IN));
+        return unwritten;
+    }
+
+    private Set<KioskKey> upsertKioskRows(Map<KioskKey, KioskRow> changed) {
+        int size = changed.size();
+        Long[] employeeIds = new Long[size];
+        LocalDate[] workDates = new LocalDate[size];
+        LocalDateTime[] checkInTimes = new LocalDateTime[size];
+        LocalDateTime[] checkOutTimes = new LocalDateTime[size];
+        Double[] hoursWorked = new Double[size];
+        Double[] overtimeHours = new Double[size];
+        String[] ipAddresses = new String[size];
+        String[] locations = new String[size];
+        int i = 0;
+        for (Map.Entry<KioskKey, KioskRow> entry : changed.entrySet()) {
+            KioskRow row = entry.getValue();
+            employeeIds[i] = entry.getKey().employeeId();
+            workDates[i] = entry.getKey().date();
+            checkInTimes[i] = row.checkInTime;
+            checkOutTimes[i] = row.checkOutTime;
+            if (row.checkOutTime != null) {
+                double breakHours = row.breakDurationMinutes != null ? row.breakDurationMinutes / 60.0 : 0.0;
+                hoursWorked[i] = Math.max(0, Duration.between(row.checkInTime, row.checkOutTime).toMinutes() / 60.0 - breakHours);
+                overtimeHours[i] = Math.max(0, hoursWorked[i] - 8.0);
+            }
+            ipAddresses[i] = row.ipAddress;
+            locations[i] = row.location;
+            i++;
+        }
+        Set<KioskKey> written = new HashSet<>();
+        for (AttendanceKeyRow row : attendanceRepository.upsertKioskEvents(employeeIds, workDates, checkInTimes,
+                checkOutTimes, hoursWorked, overtimeHours, ipAddresses, locations)) {
+            written.add(new KioskKey(row.getEmployeeId(), LocalDate.parse(row.getWorkDate())));
+        }
+        return written;
+    }
+
+    // Manual edits can move an employee to any state, so it is derived from the row
+    private void recordPresence(Attendance attendance) {
+        presenceService.record(attendance.getEmployee().getId(), attendance.getDate(),
+                PresenceState.of(attendance.getCheckInTime(), attendance.getBreakStartTime(),
+                        attendance.getBreakEndTime(), attendance.getCheckOutTime()));
     }
 
     private void validateAttendance(Attendance attendance) {
@@ -243,4 +546,25 @@ public class AttendanceService {
             throw new RuntimeException("Overtime hours cannot be negative");
         }
     }
+
+    private record KioskKey(Long employeeId, LocalDate date) {
+    }
+
+    // A kiosk batch's view of one attendance row, updated as its events are applied
+    private static final class KioskRow {
+        private LocalDateTime checkInTime;
+        private LocalDateTime checkOutTime;
+        private Integer breakDurationMinutes;
+        private String ipAddress;
+        private String location;
+
+        private KioskRow() {
+        }
+
+        private KioskRow(AttendanceStateRow state) {
+            this.checkInTime = state.getCheckInTime();
+            this.checkOutTime = state.getCheckOutTime();
+            this.breakDurationMinutes = state.getBreakDurationMinutes();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.hrm.service;
+
+import com.hrm.config.CacheNames;
+import com.hrm.service.dto.CalendarScope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Write-path invalidation for the lookup caches. The cache manager is transaction-aware, so
+ * evictions requested inside a transaction are applied only once it commits.
+ */
+@Component
+public class CacheInvalidation {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public void evictEmployee(Long id, String... emails) {
+        evict(CacheNames.EMPLOYEES, id);
+        for (String email : emails) {
+            if (email != null) {
+                evict(CacheNames.EMPLOYEES_BY_EMAIL, email);
+            }
+        }
+    }
+
+    public void evictDepartment(Long id) {
+        evict(CacheNames.DEPARTMENTS, id);
+    }
+
+    /**
+     * Evicts the team calendars (department and manager scope) of every month the range touches.
+     */
+    public void evictLeaveCalendar(Long departmentId, Long managerId, LocalDate startDate, LocalDate endDate) {
+        YearMonth last = YearMonth.from(endDate);
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(last); month = month.plusMonths(1)) {
+            if (departmentId != null) {
+                evict(CacheNames.LEAVE_CALENDAR, CalendarScope.DEPARTMENT.name() + ":" + departmentId + ":" + month);
+            }
+            if (managerId != null) {
+                evict(CacheNames.LEAVE_CALENDAR, CalendarScope.MANAGER.name() + ":" + managerId + ":" + month);
+            }
+        }
+    }
+
+    public void clear(String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,351 @@
+package com.hrm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrm.repository.AttendanceRepository;
+import com.hrm.service.dto.PresenceState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind ingestion for check-ins, so the shift-start burst does not hold a pooled connection
+ * per request.
+ *
+ * <p>A check-in is appended to a local log and acknowledged once the log is fsynced; callers that
+ * arrive while a sync is running share the next one. Pending check-ins are held per employee and
+ * day and written every flush interval with one {@code INSERT ... ON CONFLICT} per batch. The log
+ * is rolled at each flush and a segment is deleted only after the check-ins in it are committed;
+ * segments left behind by a crash are replayed on startup. The upsert never overwrites a recorded
+ * check-in, so replaying or writing a check-in twice is harmless.</p>
+ *
+ * <p>Once a check-in is flushed it leaves the buffer, so a repeat is rejected from the presence
+ * board, which every instance keeps in step with the recorded attendance.</p>
+ *
+ * <p>Lock order is {@code syncLock} before {@code appendLock}.</p>
+ */
+@Component
+@Slf4j
+public class CheckInBuffer {
+
+    private static final String SEGMENT_PREFIX = "check-ins-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceRollupService attendanceRollupService;
+    private final PresenceService presenceService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Path logDirectory;
+
+    private final Map<CheckInKey, CheckIn> pending = new ConcurrentHashMap<>();
+    private final List<Path> sealedSegments = new ArrayList<>();
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel segment;
+    private Path segmentPath;
+    private long segmentSequence;
+    private boolean segmentDirty;
+    private long appendedRecords;
+    private long syncedRecords;
+
+    @Value("${hrm.attendance.check-in.batch-size:1000}")
+    private int batchSize;
+
+    public CheckInBuffer(AttendanceRepository attendanceRepository,
+                         AttendanceRollupService attendanceRollupService,
+                         PresenceService presenceService,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${hrm.attendance.check-in.log-dir:data/check-in-log}") String logDirectory) {
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceRollupService = attendanceRollupService;
+        this.presenceService = presenceService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.logDirectory = Paths.get(logDirectory);
+        Gauge.builder("hrm.attendance.check-in.pending", pending, Map::size)
+                .description("Acknowledged check-ins not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void recover() throws IOException {
+        Files.createDirectories(logDirectory);
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            leftovers = files.filter(this::isSegment).sorted().toList();
+        }
+        for (Path path : leftovers) {
+            replay(path);
+            sealedSegments.add(path);
+            segmentSequence = Math.max(segmentSequence, sequenceOf(path));
+        }
+        openSegment();
+        if (!leftovers.isEmpty()) {
+            log.info("Recovered {} buffered check-ins from {} log segments", pending.size(), leftovers.size());
+        }
+    }
+
+    /**
+     * Records a check-in and returns once it is durable in the local log. A second check-in for the
+     * same employee and day is rejected, whether the first is still buffered or already recorded.
+     */
+    public CheckIn submit(Long employeeId, String ipAddress, String location) {
+        if (presenceService.getState(employeeId) != PresenceState.NOT_CHECKED_IN) {
+            throw new RuntimeException("Employee has already checked in today");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        CheckIn checkIn = new CheckIn(employeeId, now.toLocalDate(), now, ipAddress, location);
+        byte[] record = serialize(checkIn);
+
+        long sequence;
+        synchronized (appendLock) {
+            if (pending.putIfAbsent(checkIn.key(), checkIn) != null) {
+                throw new RuntimeException("Employee has already checked in today");
+            }
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer);
+                }
+            } catch (IOException e) {
+                pending.remove(checkIn.key(), checkIn);
+                throw new RuntimeException("Could not record check-in", e);
+            }
+            segmentDirty = true;
+            sequence = ++appendedRecords;
+        }
+        sync(sequence);
+        return checkIn;
+    }
+
+    public Optional<CheckIn> find(Long employeeId, LocalDate workDate) {
+        return Optional.ofNullable(pending.get(new CheckInKey(employeeId, workDate)));
+    }
+
+    /**
+     * Writes the employee's buffered check-in for the day in the caller's transaction, so a check-out
+     * or break that follows immediately finds the row. The check-in leaves the buffer when that
+     * transaction commits; its log record is dropped by the next flush.
+     */
+    public void writeThrough(Long employeeId, LocalDate workDate) {
+        CheckInKey key = new CheckInKey(employeeId, workDate);
+        CheckIn checkIn = pending.get(key);
+        if (checkIn == null) {
+            return;
+        }
+        write(List.of(checkIn));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.remove(key, checkIn);
+                }
+            });
+        } else {
+            pending.remove(key, checkIn);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hrm.attendance.check-in.flush-interval-ms:500}")
+    public void flush() {
+        List<CheckIn> batch;
+        List<Path> flushedSegments;
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                // Every pending check-in is in the current or a sealed segment, so this means nothing is buffered
+                if (!segmentDirty && sealedSegments.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                try {
+                    if (segmentDirty) {
+                        rollSegment();
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not roll check-in log {}, retrying next interval", segmentPath, e);
+                    return;
+                }
+                flushedSegments = new ArrayList<>(sealedSegments);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < batch.size(); from += batchSize) {
+                    write(batch.subList(from, Math.min(from + batchSize, batch.size())));
+                }
+            });
+        } catch (RuntimeException e) {
+            // The check-ins stay buffered and logged; the next flush writes them together with newer ones
+            log.warn("Writing {} buffered check-ins failed, retrying next interval", batch.size(), e);
+            return;
+        }
+
+        batch.forEach(checkIn -> pending.remove(checkIn.key(), checkIn));
+        synchronized (appendLock) {
+            sealedSegments.removeAll(flushedSegments);
+        }
+        flushedSegments.forEach(this::deleteSegment);
+        if (!batch.isEmpty()) {
+            log.debug("Wrote {} buffered check-ins", batch.size());
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        flush();
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                segment.force(false);
+                segment.close();
+            }
+        }
+    }
+
+    // Group commit: whoever holds syncLock forces everything appended so far, covering later waiters too
+    private void sync(long sequence) {
+        synchronized (syncLock) {
+            if (syncedRecords >= sequence) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            synchronized (appendLock) {
+                channel = segment;
+                target = appendedRecords;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not sync check-in log", e);
+            }
+            syncedRecords = target;
+        }
+    }
+
+    // Caller holds both locks, so no append or sync can touch the segment being sealed
+    private void rollSegment() throws IOException {
+        segment.force(false);
+        syncedRecords = appendedRecords;
+        segment.close();
+        sealedSegments.add(segmentPath);
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        segmentSequence++;
+        segmentPath = logDirectory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segmentSequence, SEGMENT_SUFFIX));
+        segment = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segmentDirty = false;
+    }
+
+    private void write(List<CheckIn> checkIns) {
+        int size = checkIns.size();
+        Long[] employeeIds = new Long[size];
+        LocalDate[] workDates = new LocalDate[size];
+        LocalDateTime[] checkInTimes = new LocalDateTime[size];
+        String[] ipAddresses = new String[size];
+        String[] locations = new String[size];
+        for (int i = 0; i < size; i++) {
+            CheckIn checkIn = checkIns.get(i);
+            employeeIds[i] = checkIn.employeeId();
+            workDates[i] = checkIn.workDate();
+            checkInTimes[i] = checkIn.checkInTime();
+            ipAddresses[i] = checkIn.ipAddress();
+            locations[i] = checkIn.location();
+        }
+        attendanceRepository.upsertCheckIns(employeeIds, workDates, checkInTimes, ipAddresses, locations);
+
+        // A batch normally covers one day, so this is a single rollup statement pair
+        checkIns.stream()
+                .collect(Collectors.groupingBy(checkIn -> YearMonth.from(checkIn.workDate()),
+                        Collectors.mapping(CheckIn::employeeId, Collectors.toSet())))
+                .forEach((month, ids) -> attendanceRollupService.refresh(ids, month));
+    }
+
+    private void replay(Path path) throws IOException {
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                CheckIn checkIn = objectMapper.readValue(line, CheckIn.class);
+                pending.putIfAbsent(checkIn.key(), checkIn);
+            } catch (JsonProcessingException e) {
+                // Only the tail of a segment can be torn, and that record was never acknowledged
+                log.warn("Skipping unreadable check-in record in {}", path);
+            }
+        }
+    }
+
+    private byte[] serialize(CheckIn checkIn) {
+        try {
+            return (objectMapper.writeValueAsString(checkIn) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize check-in", e);
+        }
+    }
+
+    private void deleteSegment(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Harmless: replaying an already written segment is a no-op
+            log.warn("Could not delete check-in log segment {}", path, e);
+        }
+    }
+
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    public record CheckIn(Long employeeId, LocalDate workDate, LocalDateTime checkInTime,
+                          String ipAddress, String location) {
+
+        CheckInKey key() {
+            return new CheckInKey(employeeId, workDate);
+        }
+    }
+
+    private record CheckInKey(Long employeeId, LocalDate workDate) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.hrm.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it when it loses a concurrency race
+ * (optimistic version conflict, lock timeout, deadlock). Only the outermost caller can retry:
+ * when a transaction is already active the work joins it and conflicts propagate to its owner.
+ *
+ * <p>Publishes {@code hrm.tx.attempts} and {@code hrm.tx.conflicts} per operation (their ratio is
+ * the conflict rate) and {@code hrm.tx.retries.exhausted} for conflicts that still failed.</p>
+ */
+@Component
+@Slf4j
+public class ConflictRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${hrm.tx.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${hrm.tx.retry.backoff-ms:20}")
+    private long backoffMillis;
+
+    public ConflictRetryExecutor(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            counter("hrm.tx.attempts", operation).increment();
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                counter("hrm.tx.conflicts", operation).increment();
+                if (attempt >= maxAttempts) {
+                    counter("hrm.tx.retries.exhausted", operation).increment();
+                    log.warn("{} still conflicting after {} attempts: {}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                log.debug("{} conflicted on attempt {}, retrying: {}", operation, attempt, e.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        // Linear backoff with jitter so colliding approvals do not retry in lockstep
+        long delay = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying after a conflict", e);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
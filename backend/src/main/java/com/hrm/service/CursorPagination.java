@@ -0,0 +1,71 @@
+package com.hrm.service;
+
+import com.hrm.service.dto.CursorPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over entity ids. Cursors are opaque to clients and only
+ * carry the last id of the previous page, so every page is a single index range scan.
+ */
+@Component
+public class CursorPagination {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    @Value("${hrm.pagination.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${hrm.pagination.max-page-size:100}")
+    private int maxPageSize;
+
+    public <T> CursorPage<T> fetch(String cursor, Integer size,
+                                   BiFunction<Long, Pageable, List<T>> query,
+                                   Function<T, Long> idExtractor) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to find out whether another page exists
+        List<T> rows = query.apply(decode(cursor), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<T> content = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encode(idExtractor.apply(content.get(content.size() - 1))) : null;
+
+        return new CursorPage<>(content, nextCursor, hasMore);
+    }
+
+    public String encode(Long lastId) {
+        String raw = CURSOR_PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_PREFIX)) {
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
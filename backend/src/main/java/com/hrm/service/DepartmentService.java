@@ -1,41 +1,61 @@
 package com.hrm.service;
 
+import com.hrm.config.CacheNames;
 import com.hrm.entity.Department;
 import com.hrm.repository.DepartmentRepository;
+import com.hrm.service.dto.DepartmentDTO;
+import com.hrm.service.mapper.DepartmentMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class DepartmentService {
 
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
     @Autowired
     private DepartmentRepository departmentRepository;
 
-    public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+    @Autowired
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private CacheInvalidation cacheInvalidation;
+
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> getAllDepartments() {
+        return departmentRepository.findAllDtos();
     }
 
-    public Optional<Department> getDepartmentById(Long id) {
-        return departmentRepository.findById(id);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.DEPARTMENTS, key = "#id", unless = "#result == null")
+    public Optional<DepartmentDTO> getDepartmentById(Long id) {
+        return departmentRepository.findDtoById(id);
     }
 
-    public Optional<Department> getDepartmentByName(String name) {
-        return departmentRepository.findByName(name);
+    @Transactional(readOnly = true)
+    public Optional<DepartmentDTO> getDepartmentByName(String name) {
+        return departmentRepository.findDtoByName(name);
     }
 
     public Department saveDepartment(Department department) {
         validateDepartment(department);
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+        cacheInvalidation.clear(CacheNames.ROOT_DEPARTMENTS);
+        return savedDepartment;
     }
 
     public Department updateDepartment(Long id, Department departmentDetails) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
+        String previousName = department.getName();
 
         department.setName(departmentDetails.getName());
         department.setDescription(departmentDetails.getDescription());
@@ -45,7 +65,17 @@ public class DepartmentService {
         department.setLocation(departmentDetails.getLocation());
 
         validateDepartment(department);
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+
+        if (!Objects.equals(previousName, savedDepartment.getName())) {
+            // The name is denormalized into child departments' and employees' cached DTOs
+            cacheInvalidation.clear(CacheNames.DEPARTMENTS, CacheNames.ROOT_DEPARTMENTS,
+                    CacheNames.EMPLOYEES, CacheNames.EMPLOYEES_BY_EMAIL);
+        } else {
+            cacheInvalidation.evictDepartment(id);
+            cacheInvalidation.clear(CacheNames.ROOT_DEPARTMENTS);
+        }
+        return savedDepartment;
     }
 
     public void deleteDepartment(Long id) {
@@ -67,22 +97,36 @@ public class DepartmentService {
         }
 
         departmentRepository.delete(department);
+        cacheInvalidation.evictDepartment(id);
+        cacheInvalidation.clear(CacheNames.ROOT_DEPARTMENTS);
     }
 
-    public List<Department> getChildDepartments(Long parentDepartmentId) {
-        return departmentRepository.findByParentDepartmentId(parentDepartmentId);
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> getChildDepartments(Long parentDepartmentId) {
+        return departmentRepository.findChildDtos(parentDepartmentId);
     }
 
-    public List<Department> getRootDepartments() {
-        return departmentRepository.findRootDepartments();
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.ROOT_DEPARTMENTS, key = "'all'")
+    public List<DepartmentDTO> getRootDepartments() {
+        return departmentRepository.findRootDtos();
     }
 
-    public List<Department> getDepartmentsByManager(Long managerId) {
-        return departmentRepository.findByManagerId(managerId);
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> getDepartmentsByManager(Long managerId) {
+        return departmentRepository.findDtosByHeadId(managerId);
     }
 
-    public List<Department> searchDepartments(String searchTerm) {
-        return departmentRepository.searchDepartments(searchTerm);
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> searchDepartments(String searchTerm) {
+        String normalizedTerm = SearchTerms.normalize(searchTerm);
+        if (normalizedTerm.isEmpty()) {
+            return List.of();
+        }
+        return departmentRepository.searchDepartments(normalizedTerm, SEARCH_RESULT_LIMIT)
+                .stream()
+                .map(departmentMapper::toDTO)
+                .toList();
     }
 
     public Long countEmployeesInDepartment(Long departmentId) {
@@ -93,42 +137,38 @@ public class DepartmentService {
         return departmentRepository.findByName(name).isPresent();
     }
 
-    public List<Department> getDepartmentHierarchy(Long departmentId) {
-        // Get the department and all its descendants
-        List<Department> hierarchy = List.of();
-        Department department = departmentRepository.findById(departmentId).orElse(null);
-        
-        if (department != null) {
-            hierarchy.add(department);
-            addChildDepartmentsToHierarchy(department.getId(), hierarchy);
-        }
-        
-        return hierarchy;
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> getDepartmentHierarchy(Long departmentId) {
+        // The department and all its descendants, breadth-first, in one recursive query
+        return departmentRepository.findSubtree(departmentId)
+                .stream()
+                .map(departmentMapper::toDTO)
+                .toList();
     }
 
-    private void addChildDepartmentsToHierarchy(Long parentId, List<Department> hierarchy) {
-        List<Department> children = departmentRepository.findByParentDepartmentId(parentId);
-        for (Department child : children) {
-            hierarchy.add(child);
-            addChildDepartmentsToHierarchy(child.getId(), hierarchy);
-        }
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> getDepartmentAncestors(Long departmentId) {
+        // Root first, ending with the direct parent
+        return departmentRepository.findAncestors(departmentId)
+                .stream()
+                .map(departmentMapper::toDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Integer> getDepartmentDepth(Long departmentId) {
+        long chainLength = departmentRepository.countAncestryChain(departmentId);
+        return chainLength == 0 ? Optional.empty() : Optional.of((int) chainLength - 1);
     }
 
+    @Transactional(readOnly = true)
     public boolean isValidParentDepartment(Long departmentId, Long parentDepartmentId) {
         if (departmentId.equals(parentDepartmentId)) {
             return false; // Department cannot be its own parent
         }
 
-        // Check if setting this parent would create a circular reference
-        Department potentialParent = departmentRepository.findById(parentDepartmentId).orElse(null);
-        while (potentialParent != null) {
-            if (potentialParent.getId().equals(departmentId)) {
-                return false; // Circular reference detected
-            }
-            potentialParent = potentialParent.getParentDepartment();
-        }
-
-        return true;
+        // Circular if the department is already the proposed parent or one of its ancestors
+        return !departmentRepository.existsInAncestry(parentDepartmentId, departmentId);
     }
 
     private void validateDepartment(Department department) {
@@ -0,0 +1,349 @@
+package com.hrm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrm.entity.Department;
+import com.hrm.entity.Employee;
+import com.hrm.entity.enums.EmployeeStatus;
+import com.hrm.repository.DepartmentRepository;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.service.dto.EmployeeImportDTO;
+import com.hrm.service.dto.EmployeeImportResultDTO;
+import com.hrm.service.event.EmployeeManagerChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk employee onboarding. Rows are processed in chunks: each chunk is validated with one
+ * uniqueness query and one reference query per association, then inserted in its own
+ * transaction so Hibernate can batch the inserts against pooled sequence ids. If a chunk fails
+ * to insert, its rows are retried one transaction each so only the offending rows are reported.
+ * Every committed employee who is not terminated is announced with an
+ * {@link EmployeeManagerChangedEvent}, the same as a single create.
+ */
+@Service
+@Slf4j
+public class EmployeeImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public EmployeeImportResultDTO importEmployees(List<EmployeeImportDTO> rows) {
+        EmployeeImportResultDTO result = new EmployeeImportResultDTO();
+        List<ImportRow> importRows = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            importRows.add(new ImportRow(i + 1, rows.get(i)));
+        }
+        return runImport(importRows, result);
+    }
+
+    public EmployeeImportResultDTO importEmployeesFromCsv(InputStream inputStream) {
+        EmployeeImportResultDTO result = new EmployeeImportResultDTO();
+        List<ImportRow> importRows = new ArrayList<>();
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<List<String>> records = parseCsv(reader);
+            if (records.isEmpty()) {
+                return result;
+            }
+
+            List<String> header = records.get(0).stream().map(String::trim).toList();
+            for (int i = 1; i < records.size(); i++) {
+                List<String> record = records.get(i);
+                Map<String, String> values = new HashMap<>();
+                for (int column = 0; column < header.size() && column < record.size(); column++) {
+                    String value = record.get(column).trim();
+                    values.put(header.get(column), value.isEmpty() ? null : value);
+                }
+
+                try {
+                    importRows.add(new ImportRow(i, objectMapper.convertValue(values, EmployeeImportDTO.class)));
+                } catch (IllegalArgumentException e) {
+                    result.addError(i, "Unparseable row: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read employee import file", e);
+        }
+
+        result.setTotalRows(result.getFailedCount());
+        return runImport(importRows, result);
+    }
+
+    private EmployeeImportResultDTO runImport(List<ImportRow> rows, EmployeeImportResultDTO result) {
+        long startedAt = System.currentTimeMillis();
+        result.setTotalRows(result.getTotalRows() + rows.size());
+
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenEmployeeIds = new HashSet<>();
+
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<ImportRow> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+            List<ImportRow> valid = validateChunk(chunk, seenEmails, seenEmployeeIds, result);
+            result.setImportedCount(result.getImportedCount() + insertChunk(valid, result));
+        }
+
+        result.setDurationMillis(System.currentTimeMillis() - startedAt);
+        log.info("Employee import finished: {} imported, {} failed in {} ms",
+                result.getImportedCount(), result.getFailedCount(), result.getDurationMillis());
+        return result;
+    }
+
+    private List<ImportRow> validateChunk(List<ImportRow> chunk, Set<String> seenEmails, Set<String> seenEmployeeIds,
+                                          EmployeeImportResultDTO result) {
+        List<ImportRow> candidates = new ArrayList<>();
+
+        for (ImportRow row : chunk) {
+            if (row.dto() == null) {
+                result.addError(row.rowNumber(), "Row is empty");
+                continue;
+            }
+
+            Employee employee = toEntity(row.dto());
+            Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+            if (!violations.isEmpty()) {
+                result.addError(row.rowNumber(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            // Duplicates inside the file itself
+            if (!seenEmails.add(employee.getEmail())) {
+                result.addError(row.rowNumber(), "Duplicate email in import: " + employee.getEmail());
+                continue;
+            }
+            if (!seenEmployeeIds.add(employee.getEmployeeId())) {
+                result.addError(row.rowNumber(), "Duplicate employee ID in import: " + employee.getEmployeeId());
+                continue;
+            }
+
+            candidates.add(new ImportRow(row.rowNumber(), row.dto(), employee));
+        }
+
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        // Set-wise uniqueness check against existing employees
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingEmployeeIds = new HashSet<>();
+        for (Object[] identifiers : employeeRepository.findConflictingIdentifiers(
+                candidates.stream().map(row -> row.employee().getEmail()).toList(),
+                candidates.stream().map(row -> row.employee().getEmployeeId()).toList())) {
+            existingEmails.add((String) identifiers[0]);
+            existingEmployeeIds.add((String) identifiers[1]);
+        }
+
+        Set<Long> departmentIds = candidates.stream()
+                .map(row -> row.dto().getDepartmentId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingDepartmentIds = departmentIds.isEmpty()
+                ? Set.of() : new HashSet<>(departmentRepository.findExistingIds(departmentIds));
+
+        Set<Long> managerIds = candidates.stream()
+                .map(row -> row.dto().getManagerId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingManagerIds = managerIds.isEmpty()
+                ? Set.of() : new HashSet<>(employeeRepository.findExistingIds(managerIds));
+
+        List<ImportRow> valid = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            EmployeeImportDTO dto = row.dto();
+            if (existingEmails.contains(row.employee().getEmail())) {
+                result.addError(row.rowNumber(), "Email already exists: " + row.employee().getEmail());
+            } else if (existingEmployeeIds.contains(row.employee().getEmployeeId())) {
+                result.addError(row.rowNumber(), "Employee ID already exists: " + row.employee().getEmployeeId());
+            } else if (dto.getDepartmentId() != null && !existingDepartmentIds.contains(dto.getDepartmentId())) {
+                result.addError(row.rowNumber(), "Department not found with id: " + dto.getDepartmentId());
+            } else if (dto.getManagerId() != null && !existingManagerIds.contains(dto.getManagerId())) {
+                result.addError(row.rowNumber(), "Manager not found with id: " + dto.getManagerId());
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private int insertChunk(List<ImportRow> rows, EmployeeImportResultDTO result) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            persist(rows);
+            return rows.size();
+        } catch (RuntimeException e) {
+            // A concurrent insert can still trip a unique constraint; find the offending rows one by one
+            log.warn("Employee import chunk of {} rows failed, retrying row by row: {}",
+                    rows.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            rows.forEach(row -> resetForRetry(row.employee()));
+        }
+
+        int imported = 0;
+        for (ImportRow row : rows) {
+            try {
+                persist(List.of(row));
+                imported++;
+            } catch (RuntimeException e) {
+                resetForRetry(row.employee());
+                result.addError(row.rowNumber(), "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+        return imported;
+    }
+
+    private void persist(List<ImportRow> rows) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (ImportRow row : rows) {
+                Employee employee = row.employee();
+                if (row.dto().getDepartmentId() != null) {
+                    employee.setDepartment(entityManager.getReference(Department.class, row.dto().getDepartmentId()));
+                }
+                if (row.dto().getManagerId() != null) {
+                    employee.setManager(entityManager.getReference(Employee.class, row.dto().getManagerId()));
+                }
+                entityManager.persist(employee);
+                if (employee.getStatus() != EmployeeStatus.TERMINATED) {
+                    // Delivered after commit, so a chunk that rolls back announces nothing
+                    eventPublisher.publishEvent(new EmployeeManagerChangedEvent(
+                            employee.getId(), null, row.dto().getManagerId()));
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    // A rolled-back persist leaves the generated id and version on the entity
+    private void resetForRetry(Employee employee) {
+        employee.setId(null);
+        employee.setVersion(null);
+    }
+
+    private Employee toEntity(EmployeeImportDTO dto) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(dto.getEmployeeId());
+        employee.setFirstName(dto.getFirstName());
+        employee.setLastName(dto.getLastName());
+        employee.setEmail(dto.getEmail());
+        employee.setPhoneNumber(dto.getPhoneNumber());
+        employee.setDateOfBirth(dto.getDateOfBirth());
+        employee.setGender(dto.getGender());
+        employee.setHireDate(dto.getHireDate());
+        employee.setStatus(dto.getStatus() != null ? dto.getStatus() : EmployeeStatus.ACTIVE);
+        employee.setJobTitle(dto.getJobTitle());
+        employee.setSalary(dto.getSalary());
+        employee.setAddress(dto.getAddress());
+        employee.setCity(dto.getCity());
+        employee.setState(dto.getState());
+        employee.setPostalCode(dto.getPostalCode());
+        employee.setCountry(dto.getCountry());
+        return employee;
+    }
+
+    // Minimal RFC 4180 reader: quoted fields may contain commas, escaped quotes and line breaks
+    private List<List<String>> parseCsv(Reader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                record.add(field.toString());
+                field.setLength(0);
+                addRecord(records, record);
+                record = new ArrayList<>();
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            addRecord(records, record);
+        }
+        return records;
+    }
+
+    private void addRecord(List<List<String>> records, List<String> record) {
+        boolean blank = record.stream().allMatch(String::isBlank);
+        if (!blank) {
+            records.add(record);
+        }
+    }
+
+    private record ImportRow(int rowNumber, EmployeeImportDTO dto, Employee employee) {
+        ImportRow(int rowNumber, EmployeeImportDTO dto) {
+            this(rowNumber, dto, null);
+        }
+    }
+}
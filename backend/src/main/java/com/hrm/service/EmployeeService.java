@@ -1,15 +1,29 @@
 package com.hrm.service;
 
+import com.hrm.config.CacheNames;
 import com.hrm.entity.Employee;
 import com.hrm.entity.enums.EmployeeStatus;
+import com.hrm.entity.enums.LeaveType;
 import com.hrm.repository.EmployeeRepository;
+import com.hrm.repository.LeaveRequestRepository;
+import com.hrm.repository.projection.LeaveIntervalRow;
+import com.hrm.service.dto.CursorPage;
+import com.hrm.service.dto.EmployeeDTO;
+import com.hrm.service.event.EmployeeManagerChangedEvent;
+import com.hrm.service.event.EmployeeRemovedEvent;
+import com.hrm.service.mapper.EmployeeMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -19,30 +33,62 @@ public class EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private CursorPagination cursorPagination;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheInvalidation cacheInvalidation;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeDTO> getAllEmployees(String cursor, Integer size) {
+        return cursorPagination.fetch(cursor, size, employeeRepository::findDtosAfterId, EmployeeDTO::getId);
     }
 
-    public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.EMPLOYEES, key = "#id", unless = "#result == null")
+    public Optional<EmployeeDTO> getEmployeeById(Long id) {
+        return employeeRepository.findDtoById(id);
     }
 
-    public Optional<Employee> getEmployeeByEmail(String email) {
-        return employeeRepository.findByEmail(email);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.EMPLOYEES_BY_EMAIL, key = "#email", unless = "#result == null")
+    public Optional<EmployeeDTO> getEmployeeByEmail(String email) {
+        return employeeRepository.findDtoByEmail(email);
     }
 
-    public Optional<Employee> getEmployeeByEmployeeId(String employeeId) {
-        return employeeRepository.findByEmployeeId(employeeId);
+    @Transactional(readOnly = true)
+    public Optional<EmployeeDTO> getEmployeeByEmployeeId(String employeeId) {
+        return employeeRepository.findDtoByEmployeeId(employeeId);
     }
 
     public Employee saveEmployee(Employee employee) {
         validateEmployee(employee);
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(
+                new EmployeeManagerChangedEvent(savedEmployee.getId(), null, managerIdOf(savedEmployee)));
+        return savedEmployee;
     }
 
     public Employee updateEmployee(Long id, Employee employeeDetails) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        Long previousManagerId = managerIdOf(employee);
+        Long previousDepartmentId = departmentIdOf(employee);
+        String previousEmail = employee.getEmail();
+        String previousFullName = employee.getFullName();
+        boolean wasTerminated = employee.getStatus() == EmployeeStatus.TERMINATED;
 
         employee.setFirstName(employeeDetails.getFirstName());
         employee.setLastName(employeeDetails.getLastName());
@@ -53,11 +99,35 @@ public class EmployeeService {
         employee.setDepartment(employeeDetails.getDepartment());
         employee.setManager(employeeDetails.getManager());
         employee.setStatus(employeeDetails.getStatus());
-        employee.setAnnualLeaveBalance(employeeDetails.getAnnualLeaveBalance());
-        employee.setSickLeaveBalance(employeeDetails.getSickLeaveBalance());
 
         validateEmployee(employee);
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        Long newManagerId = managerIdOf(savedEmployee);
+        boolean terminated = savedEmployee.getStatus() == EmployeeStatus.TERMINATED;
+        if (terminated && !wasTerminated) {
+            eventPublisher.publishEvent(new EmployeeRemovedEvent(id));
+        } else if (!terminated && (wasTerminated || !Objects.equals(previousManagerId, newManagerId))) {
+            eventPublisher.publishEvent(new EmployeeManagerChangedEvent(id, previousManagerId, newManagerId));
+        }
+
+        if (!Objects.equals(previousFullName, savedEmployee.getFullName())) {
+            // The name is denormalized into reports' and departments' cached DTOs
+            cacheInvalidation.clear(CacheNames.EMPLOYEES, CacheNames.EMPLOYEES_BY_EMAIL,
+                    CacheNames.DEPARTMENTS, CacheNames.ROOT_DEPARTMENTS);
+        } else {
+            cacheInvalidation.evictEmployee(id, previousEmail, savedEmployee.getEmail());
+        }
+
+        // Team calendars list the employee's name under their department and manager
+        Long newDepartmentId = departmentIdOf(savedEmployee);
+        if (!Objects.equals(previousFullName, savedEmployee.getFullName())
+                || !Objects.equals(previousDepartmentId, newDepartmentId)
+                || !Objects.equals(previousManagerId, newManagerId)) {
+            evictLeaveCalendars(id, previousDepartmentId, previousManagerId);
+            evictLeaveCalendars(id, newDepartmentId, newManagerId);
+        }
+        return savedEmployee;
     }
 
     public void deleteEmployee(Long id) {
@@ -67,34 +137,48 @@ public class EmployeeService {
         // Soft delete by setting status to TERMINATED
         employee.setStatus(EmployeeStatus.TERMINATED);
         employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeRemovedEvent(id));
+        cacheInvalidation.evictEmployee(id, employee.getEmail());
+        evictLeaveCalendars(id, departmentIdOf(employee), managerIdOf(employee));
     }
 
-    public List<Employee> getEmployeesByDepartment(Long departmentId) {
-        return employeeRepository.findByDepartmentId(departmentId);
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getEmployeesByDepartment(Long departmentId) {
+        return employeeRepository.findDtosByDepartmentId(departmentId);
     }
 
-    public List<Employee> getEmployeesByManager(Long managerId) {
-        return employeeRepository.findByManagerId(managerId);
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getEmployeesByManager(Long managerId) {
+        return employeeRepository.findDtosByManagerId(managerId);
     }
 
-    public List<Employee> getEmployeesByStatus(EmployeeStatus status) {
-        return employeeRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getEmployeesByStatus(EmployeeStatus status) {
+        return employeeRepository.findDtosByStatus(status);
     }
 
-    public List<Employee> getActiveEmployeesByDepartment(Long departmentId) {
-        return employeeRepository.findByDepartmentIdAndStatus(departmentId, EmployeeStatus.ACTIVE);
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getActiveEmployeesByDepartment(Long departmentId) {
+        return employeeRepository.findDtosByDepartmentIdAndStatus(departmentId, EmployeeStatus.ACTIVE);
     }
 
-    public Page<Employee> searchEmployees(String searchTerm, Pageable pageable) {
-        return employeeRepository.searchEmployees(searchTerm, pageable);
+    @Transactional(readOnly = true)
+    public Page<EmployeeDTO> searchEmployees(String searchTerm, Pageable pageable) {
+        String normalizedTerm = SearchTerms.normalize(searchTerm);
+        if (normalizedTerm.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return employeeRepository.searchEmployees(normalizedTerm, pageable)
+            .map(employeeMapper::toDTO);
     }
 
     public Long countActiveEmployeesByDepartment(Long departmentId) {
         return employeeRepository.countActiveEmployeesByDepartment(departmentId);
     }
 
-    public List<Employee> getActiveDirectReports(Long managerId) {
-        return employeeRepository.findActiveDirectReports(managerId);
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getActiveDirectReports(Long managerId) {
+        return employeeRepository.findActiveDirectReportDtos(managerId);
     }
 
     public boolean isEmailAlreadyExists(String email) {
@@ -108,8 +192,14 @@ public class EmployeeService {
     public void activateEmployee(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        boolean wasTerminated = employee.getStatus() == EmployeeStatus.TERMINATED;
         employee.setStatus(EmployeeStatus.ACTIVE);
         employeeRepository.save(employee);
+        if (wasTerminated) {
+            // Terminated employees are not on the org chart
+            eventPublisher.publishEvent(new EmployeeManagerChangedEvent(id, null, managerIdOf(employee)));
+        }
+        cacheInvalidation.evictEmployee(id, employee.getEmail());
     }
 
     public void deactivateEmployee(Long id) {
@@ -117,15 +207,20 @@ public class EmployeeService {
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
         employee.setStatus(EmployeeStatus.INACTIVE);
         employeeRepository.save(employee);
+        cacheInvalidation.evictEmployee(id, employee.getEmail());
     }
 
     public void updateLeaveBalance(Long employeeId, double annualLeaveBalance, double sickLeaveBalance) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
         
-        employee.setAnnualLeaveBalance(annualLeaveBalance);
-        employee.setSickLeaveBalance(sickLeaveBalance);
-        employeeRepository.save(employee);
+        // Posted as ledger adjustments so the change stays auditable
+        int year = LocalDate.now().getYear();
+        leaveLedgerService.adjustTo(employee, LeaveType.ANNUAL, year,
+                BigDecimal.valueOf(annualLeaveBalance), "Manual balance adjustment");
+        leaveLedgerService.adjustTo(employee, LeaveType.SICK, year,
+                BigDecimal.valueOf(sickLeaveBalance), "Manual balance adjustment");
+        cacheInvalidation.evictEmployee(employeeId, employee.getEmail());
     }
 
     private void validateEmployee(Employee employee) {
@@ -148,5 +243,31 @@ public class EmployeeService {
             employee.getManager().getId().equals(employee.getId())) {
             throw new RuntimeException("Employee cannot be their own manager");
         }
+
+        // Validate that the new manager does not report to this employee
+        Long managerId = managerIdOf(employee);
+        if (employee.getId() != null && managerId != null) {
+            employeeRepository.lockReportingLines();
+            if (employeeRepository.existsInReportingChain(managerId, employee.getId())) {
+                throw new RuntimeException("Invalid manager - would create a circular reporting line");
+            }
+        }
+    }
+
+    private void evictLeaveCalendars(Long employeeId, Long departmentId, Long managerId) {
+        if (departmentId == null && managerId == null) {
+            return;
+        }
+        for (LeaveIntervalRow interval : leaveRequestRepository.findIntervalsByEmployee(employeeId)) {
+            cacheInvalidation.evictLeaveCalendar(departmentId, managerId, interval.getStartDate(), interval.getEndDate());
+        }
+    }
+
+    private Long departmentIdOf(Employee employee) {
+        return employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+    }
+
+    private Long managerIdOf(Employee employee) {
+        return employee.getManager() != null ? employee.getManager().getId() : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.hrm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrm.entity.Attendance;
+import com.hrm.entity.Employee;
+import com.hrm.entity.LeaveRequest;
+import com.hrm.repository.AttendanceRepository;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.repository.LeaveRequestRepository;
+import com.hrm.service.dto.ExportFormat;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams full datasets straight from a database cursor to the response. Rows are detached
+ * from the persistence context as soon as they are written, so memory use stays flat no
+ * matter how large the requested range is.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    // CSV headers, written even when the range has no rows; each row mapper fills these keys
+    private static final List<String> EMPLOYEE_COLUMNS = List.of("id", "employeeId", "firstName", "lastName",
+            "email", "jobTitle", "status", "hireDate", "terminationDate", "departmentId", "managerId", "salary",
+            "annualLeaveBalance", "sickLeaveBalance");
+    private static final List<String> ATTENDANCE_COLUMNS = List.of("id", "employeeId", "date", "checkInTime",
+            "checkOutTime", "breakDurationMinutes", "totalHoursWorked", "overtimeHours", "status", "isRemote",
+            "location");
+    private static final List<String> LEAVE_REQUEST_COLUMNS = List.of("id", "employeeId", "leaveType",
+            "startDate", "endDate", "daysRequested", "status", "approverId", "approvedDate", "isHalfDay");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public void exportEmployees(ExportFormat format, OutputStream outputStream) {
+        export(format, outputStream, EMPLOYEE_COLUMNS, employeeRepository::streamAll, this::toEmployeeRow);
+    }
+
+    public void exportAttendance(LocalDate startDate, LocalDate endDate, boolean overtimeOnly,
+                                 ExportFormat format, OutputStream outputStream) {
+        validateRange(startDate, endDate);
+        Supplier<Stream<Attendance>> source = overtimeOnly
+                ? () -> attendanceRepository.streamOvertimeByDateRange(startDate, endDate)
+                : () -> attendanceRepository.streamByDateRange(startDate, endDate);
+        export(format, outputStream, ATTENDANCE_COLUMNS, source, this::toAttendanceRow);
+    }
+
+    public void exportLeaveRequests(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) {
+        validateRange(startDate, endDate);
+        export(format, outputStream, LEAVE_REQUEST_COLUMNS,
+                () -> leaveRequestRepository.streamByDateRange(startDate, endDate), this::toLeaveRequestRow);
+    }
+
+    private <T> void export(ExportFormat format, OutputStream outputStream, List<String> columns,
+                            Supplier<Stream<T>> source,
+                            Function<T, Map<String, Object>> rowMapper) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        // StreamingResponseBody runs outside the request's transaction, so open one for the cursor
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        Long rowCount = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<T> rows = source.get()) {
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, columns);
+                }
+                for (T entity : (Iterable<T>) rows::iterator) {
+                    writeRow(writer, format, columns, rowMapper.apply(entity));
+                    entityManager.detach(entity);
+
+                    if (++count % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+
+        log.info("Exported {} rows as {}", rowCount, format);
+    }
+
+    private void writeRow(Writer writer, ExportFormat format, List<String> columns, Map<String, Object> row)
+            throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        } else {
+            writeCsvLine(writer, columns.stream().map(row::get).toList());
+        }
+    }
+
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new RuntimeException("Start date and end date are required");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date cannot be before start date");
+        }
+    }
+
+    // Rows only read scalar columns and foreign key ids, so no lazy association is initialized
+    private Map<String, Object> toEmployeeRow(Employee employee) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", employee.getId());
+        row.put("employeeId", employee.getEmployeeId());
+        row.put("firstName", employee.getFirstName());
+        row.put("lastName", employee.getLastName());
+        row.put("email", employee.getEmail());
+        row.put("jobTitle", employee.getJobTitle());
+        row.put("status", employee.getStatus());
+        row.put("hireDate", employee.getHireDate());
+        row.put("terminationDate", employee.getTerminationDate());
+        row.put("departmentId", employee.getDepartment() != null ? employee.getDepartment().getId() : null);
+        row.put("managerId", employee.getManager() != null ? employee.getManager().getId() : null);
+        row.put("salary", employee.getSalary());
+        row.put("annualLeaveBalance", employee.getAnnualLeaveBalance());
+        row.put("sickLeaveBalance", employee.getSickLeaveBalance());
+        return row;
+    }
+
+    private Map<String, Object> toAttendanceRow(Attendance attendance) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", attendance.getId());
+        row.put("employeeId", attendance.getEmployee() != null ? attendance.getEmployee().getId() : null);
+        row.put("date", attendance.getDate());
+        row.put("checkInTime", attendance.getCheckInTime());
+        row.put("checkOutTime", attendance.getCheckOutTime());
+        row.put("breakDurationMinutes", attendance.getBreakDurationMinutes());
+        row.put("totalHoursWorked", attendance.getTotalHoursWorked());
+        row.put("overtimeHours", attendance.getOvertimeHours());
+        row.put("status", attendance.getStatus());
+        row.put("isRemote", attendance.getIsRemote());
+        row.put("location", attendance.getLocation());
+        return row;
+    }
+
+    private Map<String, Object> toLeaveRequestRow(LeaveRequest leaveRequest) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", leaveRequest.getId());
+        row.put("employeeId", leaveRequest.getEmployee() != null ? leaveRequest.getEmployee().getId() : null);
+        row.put("leaveType", leaveRequest.getLeaveType());
+        row.put("startDate", leaveRequest.getStartDate());
+        row.put("endDate", leaveRequest.getEndDate());
+        row.put("daysRequested", leaveRequest.getDaysRequested());
+        row.put("status", leaveRequest.getStatus());
+        row.put("approverId", leaveRequest.getApprover() != null ? leaveRequest.getApprover().getId() : null);
+        row.put("approvedDate", leaveRequest.getApprovedDate());
+        row.put("isHalfDay", leaveRequest.getIsHalfDay());
+        return row;
+    }
+}
@@ -0,0 +1,107 @@
+package com.hrm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived record of responses to requests carrying a client idempotency key, so a retried
+ * request is answered from Redis instead of being applied again.
+ *
+ * <p>A key is first claimed with a pending marker that expires after the in-flight timeout, then
+ * replaced by the response once the request completes. Both carry a hash of the request body, so
+ * a key reused for a different request can be told apart from a retry. A key whose request failed
+ * is released, so the client can retry it.</p>
+ *
+ * <p>Publishes {@code hrm.attendance.idempotency.requests} tagged by outcome: {@code executed},
+ * {@code replayed}, {@code in_flight}, {@code mismatch} or {@code unavailable}. The duplicate rate
+ * is ({@code replayed} + {@code in_flight}) over the total.</p>
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String PENDING_PREFIX = "pending:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String keyPrefix;
+
+    @Value("${hrm.attendance.idempotency.ttl:1h}")
+    private Duration timeToLive;
+
+    @Value("${hrm.attendance.idempotency.in-flight-ttl:30s}")
+    private Duration inFlightTimeToLive;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${hrm.attendance.idempotency.key-prefix:hrm:idempotency:}") String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Claims a key for the caller, returning false if another request already holds or completed it.
+     */
+    public boolean claim(String key, String requestHash) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(keyPrefix + key, PENDING_PREFIX + requestHash, inFlightTimeToLive));
+    }
+
+    // The entry's response is null while the request holding the key is still running
+    public Optional<Entry> find(String key) {
+        String value = redisTemplate.opsForValue().get(keyPrefix + key);
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (value.startsWith(PENDING_PREFIX)) {
+            return Optional.of(new Entry(value.substring(PENDING_PREFIX.length()), null));
+        }
+        try {
+            StoredResponse response = objectMapper.readValue(value, StoredResponse.class);
+            return Optional.of(new Entry(response.requestHash(), response));
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable stored response for idempotency key {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    public void complete(String key, StoredResponse response) {
+        try {
+            redisTemplate.opsForValue().set(keyPrefix + key, objectMapper.writeValueAsString(response), timeToLive);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not store response for idempotency key {}", key, e);
+            release(key);
+        }
+    }
+
+    public void release(String key) {
+        redisTemplate.delete(keyPrefix + key);
+    }
+
+    public void count(String outcome) {
+        Counter.builder("hrm.attendance.idempotency.requests")
+                .description("Attendance requests carrying an idempotency key, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public record StoredResponse(int status, String contentType, String body, String requestHash) {
+    }
+
+    public record Entry(String requestHash, StoredResponse response) {
+    }
+}
\ No newline at end of file
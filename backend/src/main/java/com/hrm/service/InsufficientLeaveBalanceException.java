@@ -0,0 +1,17 @@
+package com.hrm.service;
+
+import com.hrm.entity.enums.LeaveType;
+
+import java.math.BigDecimal;
+
+/**
+ * Thrown when a debit would take a leave balance below zero. The check happens in the same
+ * UPDATE that applies the debit, so it also holds when approvals race.
+ */
+public class InsufficientLeaveBalanceException extends RuntimeException {
+
+    public InsufficientLeaveBalanceException(Long employeeId, LeaveType leaveType, int year, BigDecimal days) {
+        super("Insufficient " + leaveType + " leave balance for employee " + employeeId + " in " + year +
+            " to cover " + days.stripTrailingZeros().toPlainString() + " day(s)");
+    }
+}
\ No newline at end of file
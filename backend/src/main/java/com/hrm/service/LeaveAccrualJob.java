@@ -0,0 +1,158 @@
+package com.hrm.service;
+
+import com.hrm.config.CacheNames;
+import com.hrm.entity.LeaveAccrualRun;
+import com.hrm.entity.enums.AccrualRunStatus;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.repository.LeaveAccrualRunRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Year-start leave accrual and carry-over for all active employees.
+ *
+ * <p>Employees are walked in id order, one keyset page per transaction. Each chunk posts its
+ * CARRY_OVER and ACCRUAL ledger entries and rebuilds the affected snapshots with a few set-based
+ * statements ({@link LeaveLedgerService#postYearStart}), then advances the {@code leave_accrual_runs} checkpoint in the same commit. No
+ * transaction spans more than one chunk, a restart resumes after the last committed chunk, and
+ * {@code uk_leave_ledger_period_posting} keeps any posting from being applied twice.</p>
+ */
+@Component
+@Slf4j
+public class LeaveAccrualJob {
+
+    private final LeaveAccrualRunRepository leaveAccrualRunRepository;
+    private final EmployeeRepository employeeRepository;
+    private final LeaveLedgerService leaveLedgerService;
+    private final CacheInvalidation cacheInvalidation;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter processedEmployees;
+    private final Timer chunkTimer;
+
+    @Value("${hrm.leave.accrual.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hrm.leave.accrual.chunk-size:1000}")
+    private int chunkSize;
+
+    public LeaveAccrualJob(LeaveAccrualRunRepository leaveAccrualRunRepository,
+                           EmployeeRepository employeeRepository,
+                           LeaveLedgerService leaveLedgerService,
+                           CacheInvalidation cacheInvalidation,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.leaveAccrualRunRepository = leaveAccrualRunRepository;
+        this.employeeRepository = employeeRepository;
+        this.leaveLedgerService = leaveLedgerService;
+        this.cacheInvalidation = cacheInvalidation;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.processedEmployees = Counter.builder("hrm.leave.accrual.employees")
+                .description("Employees processed by the leave accrual job")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("hrm.leave.accrual.chunk")
+                .description("Time to post and commit one accrual chunk")
+                .register(meterRegistry);
+    }
+
+    // Daily, so an interrupted run resumes the next day; a completed year costs two short statements
+    @Scheduled(cron = "${hrm.leave.accrual.cron:0 15 0 * * *}")
+    public void accrueCurrentYear() {
+        if (enabled) {
+            run(LocalDate.now().getYear());
+        }
+    }
+
+    /**
+     * Registers the run for {@code year} if it does not exist yet, without processing it.
+     */
+    public LeaveAccrualRun start(int year) {
+        return transactionTemplate.execute(status -> {
+            leaveAccrualRunRepository.insertIfAbsent(year);
+            return leaveAccrualRunRepository.findByBalanceYear(year).orElseThrow();
+        });
+    }
+
+    /**
+     * Runs, or resumes, accrual for {@code year} on the task executor; progress is visible through
+     * {@link #getRun}. A failed run resumes at the next call or scheduled run.
+     */
+    @Async
+    public void runInBackground(int year) {
+        try {
+            run(year);
+        } catch (RuntimeException e) {
+            log.error("Leave accrual for {} failed", year, e);
+        }
+    }
+
+    /**
+     * Runs, or resumes, accrual for {@code year}. Safe to call repeatedly and from several instances.
+     */
+    public LeaveAccrualRun run(int year) {
+        start(year);
+
+        long started = System.nanoTime();
+        long processed = 0;
+        int chunk;
+        do {
+            chunk = chunkTimer.record(() -> transactionTemplate.execute(status -> processChunk(year)));
+            processed += chunk;
+            processedEmployees.increment(chunk);
+        } while (chunk > 0);
+
+        if (processed > 0) {
+            double seconds = Math.max((System.nanoTime() - started) / 1_000_000_000.0, 0.001);
+            log.info("Leave accrual for {} processed {} employees in {}s ({} employees/s)",
+                    year, processed, String.format("%.1f", seconds), Math.round(processed / seconds));
+            if (year == LocalDate.now().getYear()) {
+                // Balance mirrors changed for every processed employee
+                cacheInvalidation.clear(CacheNames.EMPLOYEES, CacheNames.EMPLOYEES_BY_EMAIL);
+            }
+        }
+        return getRun(year).orElseThrow();
+    }
+
+    public Optional<LeaveAccrualRun> getRun(int year) {
+        return leaveAccrualRunRepository.findByBalanceYear(year);
+    }
+
+    private int processChunk(int year) {
+        LeaveAccrualRun run = leaveAccrualRunRepository.lockByBalanceYear(year)
+                .orElseThrow(() -> new IllegalStateException("Accrual run missing for " + year));
+        if (run.getStatus() == AccrualRunStatus.COMPLETED) {
+            return 0;
+        }
+
+        List<Long> employeeIds = employeeRepository.findActiveIdsAfter(run.getLastEmployeeId(),
+                PageRequest.of(0, chunkSize));
+        if (employeeIds.isEmpty()) {
+            run.setStatus(AccrualRunStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            log.info("Leave accrual for {} completed: {} employees", year, run.getProcessedEmployees());
+            return 0;
+        }
+
+        leaveLedgerService.postYearStart(employeeIds, year);
+        if (year == LocalDate.now().getYear()) {
+            employeeRepository.refreshLeaveBalanceMirrors(employeeIds, year);
+        }
+
+        run.setLastEmployeeId(employeeIds.get(employeeIds.size() - 1));
+        run.setProcessedEmployees(run.getProcessedEmployees() + employeeIds.size());
+        return employeeIds.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.hrm.service;
+
+import com.hrm.entity.enums.EmployeeStatus;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.repository.LeaveBalanceSnapshotRepository;
+import com.hrm.repository.LeaveRequestRepository;
+import com.hrm.repository.projection.LeaveBalanceRow;
+import com.hrm.repository.projection.LeaveUsageRow;
+import com.hrm.service.dto.EmployeeDTO;
+import com.hrm.service.dto.LeaveBalanceSummaryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Balance and usage report for a department or the whole organisation. Independent of head count
+ * it runs three queries: the active employees, one grouped approved-usage aggregate over the year's
+ * start_date range, and the year's balance snapshots.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LeaveBalanceReportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveBalanceSnapshotRepository leaveBalanceSnapshotRepository;
+
+    public List<LeaveBalanceSummaryDTO> getDepartmentBalances(Long departmentId, int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        return summarize(year,
+            employeeRepository.findDtosByDepartmentIdAndStatus(departmentId, EmployeeStatus.ACTIVE),
+            leaveRequestRepository.findApprovedUsageByDepartment(departmentId, from, from.plusYears(1)),
+            leaveBalanceSnapshotRepository.findBalancesByDepartmentAndYear(departmentId, year));
+    }
+
+    public List<LeaveBalanceSummaryDTO> getOrganizationBalances(int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        return summarize(year,
+            employeeRepository.findDtosByStatus(EmployeeStatus.ACTIVE),
+            leaveRequestRepository.findApprovedUsage(from, from.plusYears(1)),
+            leaveBalanceSnapshotRepository.findBalancesByYear(year));
+    }
+
+    private List<LeaveBalanceSummaryDTO> summarize(int year, List<EmployeeDTO> employees, List<LeaveUsageRow> usage,
+                                                   List<LeaveBalanceRow> balances) {
+        Map<Long, LeaveBalanceSummaryDTO> summaries = new LinkedHashMap<>();
+        boolean currentYear = year == LocalDate.now().getYear();
+        for (EmployeeDTO employee : employees) {
+            LeaveBalanceSummaryDTO summary = new LeaveBalanceSummaryDTO(employee.getId(),
+                employee.getFirstName() + " " + employee.getLastName(), employee.getDepartmentId(),
+                employee.getDepartmentName(), year);
+            // Balances not opened in the ledger yet: the employee mirrors for this year, empty otherwise
+            summary.getBalances().put(LeaveType.ANNUAL, currentYear && employee.getAnnualLeaveBalance() != null
+                ? BigDecimal.valueOf(employee.getAnnualLeaveBalance()) : BigDecimal.ZERO);
+            summary.getBalances().put(LeaveType.SICK, currentYear && employee.getSickLeaveBalance() != null
+                ? BigDecimal.valueOf(employee.getSickLeaveBalance()) : BigDecimal.ZERO);
+            summaries.put(employee.getId(), summary);
+        }
+
+        for (LeaveBalanceRow row : balances) {
+            LeaveBalanceSummaryDTO summary = summaries.get(row.getEmployeeId());
+            if (summary != null) {
+                summary.getBalances().put(row.getLeaveType(), row.getBalance());
+            }
+        }
+        for (LeaveUsageRow row : usage) {
+            LeaveBalanceSummaryDTO summary = summaries.get(row.getEmployeeId());
+            if (summary != null) {
+                summary.getUsedDays().put(row.getLeaveType(), row.getDays());
+            }
+        }
+        return List.copyOf(summaries.values());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.hrm.service;
+
+import com.hrm.config.CacheNames;
+import com.hrm.repository.LeaveRequestRepository;
+import com.hrm.repository.projection.LeaveIntervalRow;
+import com.hrm.service.dto.CalendarAbsenceDTO;
+import com.hrm.service.dto.CalendarDayDTO;
+import com.hrm.service.dto.CalendarScope;
+import com.hrm.service.dto.TeamLeaveCalendarDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the "who's out" calendar for a department or a manager's direct reports.
+ *
+ * <p>The month's pending and approved leave intervals are loaded in one query and turned into
+ * per-day absence lists with a sweep line: each interval is bucketed once at its (clipped) first
+ * day and once after its last day, then a single pass over the month adds and removes it from the
+ * active set. That is O(intervals + days) plus the size of the output, instead of expanding every
+ * interval day by day.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LeaveCalendarService {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    @Cacheable(cacheNames = CacheNames.LEAVE_CALENDAR, key = "#scope.name() + ':' + #scopeId + ':' + #month")
+    public TeamLeaveCalendarDTO getTeamCalendar(CalendarScope scope, Long scopeId, YearMonth month) {
+        LocalDate firstDay = month.atDay(1);
+        LocalDate lastDay = month.atEndOfMonth();
+
+        List<LeaveIntervalRow> intervals = scope == CalendarScope.DEPARTMENT
+            ? leaveRequestRepository.findIntervalsByDepartment(scopeId, firstDay, lastDay)
+            : leaveRequestRepository.findIntervalsByManager(scopeId, firstDay, lastDay);
+
+        List<CalendarDayDTO> days = sweep(intervals, firstDay, month.lengthOfMonth());
+        int peakAbsentCount = days.stream().mapToInt(CalendarDayDTO::getAbsentCount).max().orElse(0);
+        return new TeamLeaveCalendarDTO(scope, scopeId, month, peakAbsentCount, days);
+    }
+
+    private static List<CalendarDayDTO> sweep(List<LeaveIntervalRow> intervals, LocalDate firstDay, int dayCount) {
+        List<List<LeaveIntervalRow>> startsOn = buckets(dayCount + 1);
+        List<List<LeaveIntervalRow>> endsBefore = buckets(dayCount + 1);
+
+        for (LeaveIntervalRow interval : intervals) {
+            int start = (int) Math.max(0, ChronoUnit.DAYS.between(firstDay, interval.getStartDate()));
+            int endExclusive = (int) Math.min(dayCount, ChronoUnit.DAYS.between(firstDay, interval.getEndDate()) + 1);
+            if (start >= endExclusive) {
+                continue;
+            }
+            startsOn.get(start).add(interval);
+            endsBefore.get(endExclusive).add(interval);
+        }
+
+        // Keyed by leave request so removal is O(1) and listing order is start order
+        Map<Long, CalendarAbsenceDTO> active = new LinkedHashMap<>();
+        List<CalendarDayDTO> days = new ArrayList<>(dayCount);
+        for (int day = 0; day < dayCount; day++) {
+            for (LeaveIntervalRow ended : endsBefore.get(day)) {
+                active.remove(ended.getId());
+            }
+            for (LeaveIntervalRow started : startsOn.get(day)) {
+                active.put(started.getId(), new CalendarAbsenceDTO(started.getId(), started.getEmployeeId(),
+                    started.getEmployeeName(), started.getLeaveType(), started.getStatus()));
+            }
+            days.add(new CalendarDayDTO(firstDay.plusDays(day), active.size(), new ArrayList<>(active.values())));
+        }
+        return days;
+    }
+
+    private static List<List<LeaveIntervalRow>> buckets(int size) {
+        List<List<LeaveIntervalRow>> buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>(0));
+        }
+        return buckets;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,388 @@
+package com.hrm.service;
+
+import com.hrm.entity.Employee;
+import com.hrm.entity.LeaveBalanceSnapshot;
+import com.hrm.entity.LeaveLedgerEntry;
+import com.hrm.entity.LeaveRequest;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.entity.enums.LedgerEntryType;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.repository.LeaveBalanceSnapshotRepository;
+import com.hrm.repository.LeaveLedgerEntryRepository;
+import com.hrm.service.dto.LeaveLedgerEntryDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Owns leave balances for the tracked leave types. Every change is appended to the ledger and
+ * folded into the per-employee, per-type, per-year snapshot in the same transaction, so reads
+ * never aggregate and the ledger remains the auditable source the snapshot can be rebuilt from.
+ *
+ * <p>Postings update the snapshot atomically in the database instead of locking it, so parallel
+ * approvals for one employee do not queue behind each other. Callers that want a lost race to be
+ * retried run through {@link ConflictRetryExecutor}.</p>
+ *
+ * <p>A balance is opened by the year-start rules: the yearly accrual, plus for ANNUAL the previous
+ * year's closing balance up to the carry-over cap. Opening and rebuilding take a transaction-scoped
+ * advisory lock on the employee, so a balance opened on demand and one posted by
+ * {@link LeaveAccrualJob} never race.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class LeaveLedgerService {
+
+    private static final Set<LeaveType> TRACKED_TYPES = EnumSet.of(LeaveType.ANNUAL, LeaveType.SICK);
+
+    private final LeaveLedgerEntryRepository leaveLedgerEntryRepository;
+    private final LeaveBalanceSnapshotRepository leaveBalanceSnapshotRepository;
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${hrm.leave.accrual.annual-days:20}")
+    private BigDecimal annualDays;
+
+    @Value("${hrm.leave.accrual.sick-days:10}")
+    private BigDecimal sickDays;
+
+    @Value("${hrm.leave.accrual.carry-over-cap:5}")
+    private BigDecimal carryOverCap;
+
+    public boolean isTracked(LeaveType leaveType) {
+        return TRACKED_TYPES.contains(leaveType);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(Long employeeId, LeaveType leaveType, int year) {
+        if (!isTracked(leaveType)) {
+            return BigDecimal.ZERO;
+        }
+        return leaveBalanceSnapshotRepository.findBalance(employeeId, leaveType, year)
+            .orElseGet(() -> {
+                if (!employeeRepository.existsById(employeeId)) {
+                    throw new RuntimeException("Employee not found");
+                }
+                return accrual(leaveType).add(carryOver(employeeId, leaveType, year));
+            });
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(Employee employee, LeaveType leaveType, int year) {
+        if (!isTracked(leaveType)) {
+            return BigDecimal.ZERO;
+        }
+        return leaveBalanceSnapshotRepository.findBalance(employee.getId(), leaveType, year)
+            .orElseGet(() -> accrual(leaveType).add(carryOver(employee.getId(), leaveType, year)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaveLedgerEntryDTO> getLedger(Long employeeId, LeaveType leaveType, int year) {
+        return leaveLedgerEntryRepository.findDtosByBalance(employeeId, leaveType, year);
+    }
+
+    public BigDecimal debit(LeaveRequest leaveRequest) {
+        return append(leaveRequest.getEmployee(), leaveRequest.getLeaveType(), leaveRequest.getStartDate().getYear(),
+            LedgerEntryType.DEBIT, BigDecimal.valueOf(leaveRequest.getDaysRequested()).negate(),
+            leaveRequest.getId(), "Approved leave request " + leaveRequest.getId());
+    }
+
+    public BigDecimal credit(LeaveRequest leaveRequest) {
+        return append(leaveRequest.getEmployee(), leaveRequest.getLeaveType(), leaveRequest.getStartDate().getYear(),
+            LedgerEntryType.CREDIT, BigDecimal.valueOf(leaveRequest.getDaysRequested()),
+            leaveRequest.getId(), "Cancelled leave request " + leaveRequest.getId());
+    }
+
+    /**
+     * Appends an entry and folds it into the snapshot with one conditional UPDATE, so concurrent
+     * postings against the same balance never read-modify-write it. Debits that would take the
+     * balance below zero match no row and fail with {@link InsufficientLeaveBalanceException}.
+     *
+     * @return the balance after the entry
+     */
+    public BigDecimal append(Employee employee, LeaveType leaveType, int year, LedgerEntryType entryType,
+                             BigDecimal days, Long leaveRequestId, String description) {
+        requireTracked(leaveType);
+        openIfAbsent(employee, leaveType, year);
+        return applyEntry(employee, leaveType, year, entryType, days, leaveRequestId, description);
+    }
+
+    /**
+     * Debits several leave requests in one pass. Every balance they touch is locked with a single
+     * query and checked in request order; ledger entries and snapshot updates then go out as JDBC
+     * batches and the employee mirrors are refreshed with one statement.
+     *
+     * @return the requests their balance could not cover, which are left undebited
+     */
+    public List<LeaveRequest> debitAll(List<LeaveRequest> leaveRequests) {
+        List<LeaveRequest> tracked = leaveRequests.stream()
+            .filter(leaveRequest -> isTracked(leaveRequest.getLeaveType()))
+            .toList();
+        if (tracked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<BalanceKey, LeaveBalanceSnapshot> snapshots = lockBalances(tracked);
+        List<LeaveRequest> uncovered = new ArrayList<>();
+        List<LeaveLedgerEntry> entries = new ArrayList<>();
+        for (LeaveRequest leaveRequest : tracked) {
+            LeaveBalanceSnapshot snapshot = snapshots.get(BalanceKey.of(leaveRequest));
+            BigDecimal days = BigDecimal.valueOf(leaveRequest.getDaysRequested());
+            if (snapshot.getBalance().compareTo(days) < 0) {
+                uncovered.add(leaveRequest);
+                continue;
+            }
+            snapshot.setBalance(snapshot.getBalance().subtract(days));
+            entries.add(newEntry(snapshot.getEmployeeId(), snapshot.getLeaveType(), snapshot.getBalanceYear(),
+                LedgerEntryType.DEBIT, days.negate(), leaveRequest.getId(),
+                "Approved leave request " + leaveRequest.getId()));
+        }
+        if (entries.isEmpty()) {
+            return uncovered;
+        }
+
+        for (LeaveLedgerEntry entry : leaveLedgerEntryRepository.saveAll(entries)) {
+            snapshots.get(new BalanceKey(entry.getEmployeeId(), entry.getLeaveType(), entry.getBalanceYear()))
+                .setLastEntryId(entry.getId());
+        }
+        leaveBalanceSnapshotRepository.flush();
+
+        int currentYear = LocalDate.now().getYear();
+        Map<Long, Employee> employees = tracked.stream()
+            .map(LeaveRequest::getEmployee)
+            .collect(Collectors.toMap(Employee::getId, Function.identity(), (a, b) -> a));
+        employeeRepository.refreshLeaveBalanceMirrors(employees.keySet(), currentYear);
+        snapshots.values().stream()
+            .filter(snapshot -> snapshot.getBalanceYear() == currentYear)
+            .forEach(snapshot -> setMirror(employees.get(snapshot.getEmployeeId()), snapshot.getLeaveType(),
+                snapshot.getBalance().intValue()));
+        return uncovered;
+    }
+
+    /**
+     * Records the difference between the current balance and {@code target} as an adjustment.
+     */
+    public BigDecimal adjustTo(Employee employee, LeaveType leaveType, int year, BigDecimal target,
+                               String description) {
+        requireTracked(leaveType);
+        openIfAbsent(employee, leaveType, year);
+
+        LeaveBalanceSnapshot snapshot = leaveBalanceSnapshotRepository.findForUpdate(employee.getId(), leaveType, year)
+            .orElseThrow(() -> new RuntimeException("No leave balance for employee " + employee.getId() +
+                ", " + leaveType + " " + year));
+        BigDecimal delta = target.subtract(snapshot.getBalance());
+        if (delta.signum() == 0) {
+            return snapshot.getBalance();
+        }
+        return applyEntry(employee, leaveType, year, LedgerEntryType.ADJUSTMENT, delta, null, description);
+    }
+
+    /**
+     * Posts the year-start CARRY_OVER and ACCRUAL entries for {@code year} and rebuilds the
+     * employees' snapshots from the ledger. Postings already made for the year are skipped.
+     */
+    public void postYearStart(List<Long> employeeIds, int year) {
+        leaveBalanceSnapshotRepository.lockEmployees(employeeIds);
+        // Lock before reading balances so concurrent postings land either fully before or after the rebuild
+        leaveBalanceSnapshotRepository.lockBalances(employeeIds, List.of(year - 1, year));
+        leaveLedgerEntryRepository.insertCarryOver(employeeIds, year, carryOverCap,
+            "Carry-over from " + (year - 1));
+        leaveLedgerEntryRepository.insertAccruals(employeeIds, year, annualDays, sickDays,
+            "Annual accrual " + year);
+        leaveBalanceSnapshotRepository.rebuildBalances(employeeIds, year);
+    }
+
+    /**
+     * Recomputes a snapshot from its ledger entries, e.g. after a manual data fix.
+     */
+    public LeaveBalanceSnapshot rebuildSnapshot(Long employeeId, LeaveType leaveType, int year) {
+        leaveBalanceSnapshotRepository.lockEmployees(List.of(employeeId));
+        LeaveBalanceSnapshot snapshot = leaveBalanceSnapshotRepository.findForUpdate(employeeId, leaveType, year)
+            .orElseThrow(() -> new RuntimeException("No leave balance for employee " + employeeId +
+                ", " + leaveType + " " + year));
+
+        BigDecimal ledgerBalance = leaveLedgerEntryRepository.sumDays(employeeId, leaveType, year);
+        if (snapshot.getBalance().compareTo(ledgerBalance) != 0) {
+            log.warn("Leave balance snapshot drifted for employee {} {} {}: {} vs ledger {}",
+                employeeId, leaveType, year, snapshot.getBalance(), ledgerBalance);
+        }
+        snapshot.setBalance(ledgerBalance);
+        snapshot.setLastEntryId(leaveLedgerEntryRepository.findLastEntryId(employeeId, leaveType, year));
+        return leaveBalanceSnapshotRepository.save(snapshot);
+    }
+
+    private void requireTracked(LeaveType leaveType) {
+        if (!isTracked(leaveType)) {
+            throw new RuntimeException("Leave type does not carry a balance: " + leaveType);
+        }
+    }
+
+    private BigDecimal applyEntry(Employee employee, LeaveType leaveType, int year, LedgerEntryType entryType,
+                                  BigDecimal days, Long leaveRequestId, String description) {
+        LeaveLedgerEntry entry = saveEntry(employee.getId(), leaveType, year, entryType, days, leaveRequestId,
+            description);
+
+        int updated = days.signum() < 0
+            ? leaveBalanceSnapshotRepository.applyDebit(employee.getId(), leaveType.name(), year, days, entry.getId())
+            : leaveBalanceSnapshotRepository.applyEntry(employee.getId(), leaveType.name(), year, days, entry.getId());
+        if (updated == 0) {
+            throw new InsufficientLeaveBalanceException(employee.getId(), leaveType, year, days.negate());
+        }
+
+        BigDecimal balance = leaveBalanceSnapshotRepository.findBalance(employee.getId(), leaveType, year)
+            .orElseThrow(() -> new IllegalStateException("Leave balance vanished for employee " + employee.getId()));
+        mirror(employee, leaveType, year, balance);
+        return balance;
+    }
+
+    /**
+     * Opens a balance with the same postings {@link #postYearStart} makes, so the accrual job later
+     * finds them in place and skips them.
+     */
+    private void openIfAbsent(Employee employee, LeaveType leaveType, int year) {
+        if (leaveBalanceSnapshotRepository.findBalance(employee.getId(), leaveType, year).isPresent()) {
+            return;
+        }
+        leaveBalanceSnapshotRepository.lockEmployees(List.of(employee.getId()));
+        if (leaveBalanceSnapshotRepository.findBalance(employee.getId(), leaveType, year).isPresent()) {
+            return;
+        }
+
+        LeaveLedgerEntry entry = saveEntry(employee.getId(), leaveType, year, LedgerEntryType.OPENING,
+            BigDecimal.ZERO, null, "Opening balance");
+        BigDecimal opening = BigDecimal.ZERO;
+        BigDecimal carryOver = carryOver(employee.getId(), leaveType, year);
+        if (carryOver.signum() > 0) {
+            entry = saveEntry(employee.getId(), leaveType, year, LedgerEntryType.CARRY_OVER, carryOver, null,
+                "Carry-over from " + (year - 1));
+            opening = opening.add(carryOver);
+        }
+        BigDecimal accrual = accrual(leaveType);
+        if (accrual.signum() > 0) {
+            entry = saveEntry(employee.getId(), leaveType, year, LedgerEntryType.ACCRUAL, accrual, null,
+                "Annual accrual " + year);
+            opening = opening.add(accrual);
+        }
+        int inserted = leaveBalanceSnapshotRepository.insertIfAbsent(employee.getId(), leaveType.name(), year,
+            opening, entry.getId());
+        if (inserted == 0) {
+            // Another transaction opened the balance first; our OPENING entry must not survive
+            throw new ConcurrencyFailureException("Leave balance for employee " + employee.getId() + ", " +
+                leaveType + " " + year + " was opened concurrently");
+        }
+    }
+
+    // Keeps the legacy employee columns in step for the current year without touching the entity version
+    private void mirror(Employee employee, LeaveType leaveType, int year, BigDecimal balance) {
+        if (year != LocalDate.now().getYear()) {
+            return;
+        }
+        int whole = balance.intValue();
+        if (leaveType == LeaveType.ANNUAL) {
+            employeeRepository.updateAnnualLeaveBalanceMirror(employee.getId(), whole);
+        } else {
+            employeeRepository.updateSickLeaveBalanceMirror(employee.getId(), whole);
+        }
+        setMirror(employee, leaveType, whole);
+    }
+
+    private void setMirror(Employee employee, LeaveType leaveType, int balance) {
+        if (leaveType == LeaveType.ANNUAL) {
+            employee.setAnnualLeaveBalance(balance);
+        } else {
+            employee.setSickLeaveBalance(balance);
+        }
+    }
+
+    // Locked in id order so concurrent batches over the same employees cannot deadlock
+    private Map<BalanceKey, LeaveBalanceSnapshot> lockBalances(List<LeaveRequest> leaveRequests) {
+        Set<Long> employeeIds = new HashSet<>();
+        Set<Integer> years = new HashSet<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            employeeIds.add(leaveRequest.getEmployee().getId());
+            years.add(leaveRequest.getStartDate().getYear());
+        }
+
+        // Same order as postYearStart: employee locks, then snapshot rows
+        leaveBalanceSnapshotRepository.lockEmployees(employeeIds);
+        Map<BalanceKey, LeaveBalanceSnapshot> snapshots = indexByKey(
+            leaveBalanceSnapshotRepository.findAllForUpdate(employeeIds, years));
+        Set<BalanceKey> opened = new HashSet<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            BalanceKey key = BalanceKey.of(leaveRequest);
+            if (!snapshots.containsKey(key) && opened.add(key)) {
+                openIfAbsent(leaveRequest.getEmployee(), key.leaveType(), key.year());
+            }
+        }
+        return opened.isEmpty()
+            ? snapshots
+            : indexByKey(leaveBalanceSnapshotRepository.findAllForUpdate(employeeIds, years));
+    }
+
+    private Map<BalanceKey, LeaveBalanceSnapshot> indexByKey(List<LeaveBalanceSnapshot> snapshots) {
+        Map<BalanceKey, LeaveBalanceSnapshot> byKey = new HashMap<>();
+        for (LeaveBalanceSnapshot snapshot : snapshots) {
+            byKey.put(new BalanceKey(snapshot.getEmployeeId(), snapshot.getLeaveType(), snapshot.getBalanceYear()),
+                snapshot);
+        }
+        return byKey;
+    }
+
+    private BigDecimal accrual(LeaveType leaveType) {
+        BigDecimal days = leaveType == LeaveType.ANNUAL ? annualDays : sickDays;
+        return days.max(BigDecimal.ZERO);
+    }
+
+    // A future year's carry-over is left to the accrual job, once the previous year has closed
+    private BigDecimal carryOver(Long employeeId, LeaveType leaveType, int year) {
+        if (leaveType != LeaveType.ANNUAL || year > LocalDate.now().getYear()) {
+            return BigDecimal.ZERO;
+        }
+        return leaveBalanceSnapshotRepository.findBalance(employeeId, leaveType, year - 1)
+            .filter(balance -> balance.signum() > 0)
+            .map(balance -> balance.min(carryOverCap))
+            .orElse(BigDecimal.ZERO);
+    }
+
+    private LeaveLedgerEntry saveEntry(Long employeeId, LeaveType leaveType, int year, LedgerEntryType entryType,
+                                       BigDecimal days, Long leaveRequestId, String description) {
+        return leaveLedgerEntryRepository.save(newEntry(employeeId, leaveType, year, entryType, days, leaveRequestId,
+            description));
+    }
+
+    private LeaveLedgerEntry newEntry(Long employeeId, LeaveType leaveType, int year, LedgerEntryType entryType,
+                                      BigDecimal days, Long leaveRequestId, String description) {
+        LeaveLedgerEntry entry = new LeaveLedgerEntry();
+        entry.setEmployeeId(employeeId);
+        entry.setLeaveType(leaveType);
+        entry.setBalanceYear(year);
+        entry.setEntryType(entryType);
+        entry.setDays(days);
+        entry.setLeaveRequestId(leaveRequestId);
+        entry.setDescription(description);
+        return entry;
+    }
+
+    private record BalanceKey(Long employeeId, LeaveType leaveType, int year) {
+        static BalanceKey of(LeaveRequest leaveRequest) {
+            return new BalanceKey(leaveRequest.getEmployee().getId(), leaveRequest.getLeaveType(),
+                leaveRequest.getStartDate().getYear());
+        }
+    }
+}
\ No newline at end of file
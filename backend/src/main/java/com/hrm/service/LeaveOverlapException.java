@@ -0,0 +1,16 @@
+package com.hrm.service;
+
+/**
+ * Thrown when a leave request would overlap another pending or approved request of the same
+ * employee, whether caught by the pre-check or by the database exclusion constraint.
+ */
+public class LeaveOverlapException extends RuntimeException {
+
+    public LeaveOverlapException(String message) {
+        super(message);
+    }
+
+    public LeaveOverlapException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.hrm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrm.service.dto.LeaveRequestEventDTO;
+import com.hrm.service.event.LeaveRequestChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pushes leave request lifecycle events to the affected manager, replacing polling of the
+ * pending-requests endpoint. Managers subscribe over STOMP to {@link #destination(Long)}.
+ *
+ * <p>Events are published only after their transaction commits, onto a Redis channel, so every
+ * instance receives them and delivers to the managers connected to it. Delivery is best effort:
+ * a client that reconnects reloads the pending list once and then follows the feed.</p>
+ */
+@Component
+@Slf4j
+public class LeaveRequestFeed {
+
+    private static final String DESTINATION_PREFIX = "/topic/managers/";
+    private static final String DESTINATION_SUFFIX = "/leave-requests";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    public LeaveRequestFeed(SimpMessagingTemplate messagingTemplate,
+                            StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            RedisMessageListenerContainer listenerContainer,
+                            @Value("${hrm.feed.channel:hrm:leave-requests:events}") String channel) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        // Shares the Redis subscription connection already held open for cache invalidation
+        listenerContainer.addMessageListener(
+                (message, pattern) -> deliver(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    public static String destination(Long managerId) {
+        return DESTINATION_PREFIX + managerId + DESTINATION_SUFFIX;
+    }
+
+    @TransactionalEventListener
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        LeaveRequestEventDTO payload = event.getPayload();
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} event for leave request {}", payload.getType(),
+                    payload.getLeaveRequest().getId(), e);
+            return;
+        }
+
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (DataAccessException e) {
+            // Managers connected to other instances miss this event until they reload
+            log.warn("Could not publish leave request event on {}, delivering locally only", channel, e);
+            send(payload);
+        }
+    }
+
+    private void deliver(String message) {
+        try {
+            send(objectMapper.readValue(message, LeaveRequestEventDTO.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable leave request event: {}", message, e);
+        }
+    }
+
+    private void send(LeaveRequestEventDTO event) {
+        messagingTemplate.convertAndSend(destination(event.getManagerId()), event);
+    }
+}
\ No newline at end of file
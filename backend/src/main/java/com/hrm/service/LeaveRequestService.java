@@ -3,27 +3,42 @@ package com.hrm.service;
 import com.hrm.entity.Employee;
 import com.hrm.entity.LeaveRequest;
 import com.hrm.entity.enums.LeaveStatus;
+import com.hrm.entity.enums.LeaveType;
 import com.hrm.repository.EmployeeRepository;
 import com.hrm.repository.LeaveRequestRepository;
+import com.hrm.service.dto.BulkLeaveDecisionDTO;
+import com.hrm.service.dto.BulkLeaveDecisionResultDTO;
+import com.hrm.service.dto.CursorPage;
+import com.hrm.service.dto.LeaveDecision;
+import com.hrm.service.dto.LeaveLedgerEntryDTO;
 import com.hrm.service.dto.LeaveRequestCreateDTO;
 import com.hrm.service.dto.LeaveRequestDTO;
+import com.hrm.service.dto.LeaveRequestEventDTO;
+import com.hrm.service.dto.LeaveRequestEventType;
 import com.hrm.service.dto.LeaveRequestUpdateDTO;
+import com.hrm.service.event.LeaveRequestChangedEvent;
 import com.hrm.service.mapper.LeaveRequestMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -31,22 +46,22 @@ import java.util.Optional;
 @Transactional
 public class LeaveRequestService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String APPROVE_OPERATION = "leave.approve";
+    private static final String CANCEL_OPERATION = "leave.cancel";
+    private static final String BULK_DECISION_OPERATION = "leave.bulk-decision";
+    private static final int MAX_BULK_DECISION_SIZE = 200;
+
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeRepository employeeRepository;
     private final LeaveRequestMapper leaveRequestMapper;
-    private final WebClient webClient;
-    
-    @Value("${airflow.base-url}")
-    private String airflowBaseUrl;
-    
-    @Value("${airflow.username}")
-    private String airflowUsername;
-    
-    @Value("${airflow.password}")
-    private String airflowPassword;
-    
-    @Value("${airflow.dag-id}")
-    private String airflowDagId;
+    private final CursorPagination cursorPagination;
+    private final CacheInvalidation cacheInvalidation;
+    private final WorkflowOutboxService workflowOutboxService;
+    private final LeaveLedgerService leaveLedgerService;
+    private final ConflictRetryExecutor conflictRetryExecutor;
+    private final WorkingDayCalendar workingDayCalendar;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LeaveRequestDTO createLeaveRequest(LeaveRequestCreateDTO createDTO) {
         log.info("Creating leave request for employee: {}", createDTO.getEmployeeId());
@@ -54,17 +69,20 @@ public class LeaveRequestService {
         Employee employee = employeeRepository.findById(createDTO.getEmployeeId())
             .orElseThrow(() -> new RuntimeException("Employee not found"));
         
-        // Validate leave request
-        validateLeaveRequest(createDTO, employee);
-        
         LeaveRequest leaveRequest = leaveRequestMapper.toEntity(createDTO);
         leaveRequest.setEmployee(employee);
         leaveRequest.setStatus(LeaveStatus.PENDING);
+        applyWorkingDays(leaveRequest);
         
-        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        // Validate leave request
+        validateLeaveRequest(createDTO, employee, leaveRequest.getDaysRequested());
         
-        // Trigger Airflow workflow
-        triggerAirflowWorkflow(savedRequest);
+        LeaveRequest savedRequest = saveCheckingOverlap(leaveRequest);
+        evictLeaveCalendar(savedRequest);
+        publishLeaveEvent(savedRequest, LeaveRequestEventType.SUBMITTED);
+        
+        // Queue the Airflow workflow trigger; it is delivered after this transaction commits
+        workflowOutboxService.enqueueLeaveApproval(savedRequest);
         
         log.info("Leave request created with ID: {}", savedRequest.getId());
         return leaveRequestMapper.toDTO(savedRequest);
@@ -73,7 +91,7 @@ public class LeaveRequestService {
     public LeaveRequestDTO updateLeaveRequest(Long id, LeaveRequestUpdateDTO updateDTO) {
         log.info("Updating leave request: {}", id);
         
-        LeaveRequest existingRequest = leaveRequestRepository.findById(id)
+        LeaveRequest existingRequest = leaveRequestRepository.findWithEmployeeById(id)
             .orElseThrow(() -> new RuntimeException("Leave request not found"));
         
         // Only allow updates if request is pending
@@ -81,40 +99,33 @@ public class LeaveRequestService {
             throw new RuntimeException("Cannot update leave request with status: " + existingRequest.getStatus());
         }
         
+        evictLeaveCalendar(existingRequest);
         leaveRequestMapper.updateEntity(updateDTO, existingRequest);
-        LeaveRequest updatedRequest = leaveRequestRepository.save(existingRequest);
+        applyWorkingDays(existingRequest);
+        LeaveRequest updatedRequest = saveCheckingOverlap(existingRequest);
+        evictLeaveCalendar(updatedRequest);
+        publishLeaveEvent(updatedRequest, LeaveRequestEventType.UPDATED);
         
         log.info("Leave request updated: {}", id);
         return leaveRequestMapper.toDTO(updatedRequest);
     }
 
+    // Runs in its own retried transaction when called outside one; see ConflictRetryExecutor
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LeaveRequestDTO approveLeaveRequest(Long id, String approverComments) {
         log.info("Approving leave request: {}", id);
         
-        LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Leave request not found"));
-        
-        if (!leaveRequest.canBeApproved()) {
-            throw new RuntimeException("Leave request cannot be approved in current status: " + leaveRequest.getStatus());
-        }
-        
-        leaveRequest.setStatus(LeaveStatus.APPROVED);
-        leaveRequest.setApproverComments(approverComments);
-        leaveRequest.setApprovedDate(LocalDate.now());
-        
-        // Update employee leave balance
-        updateEmployeeLeaveBalance(leaveRequest);
-        
-        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        LeaveRequestDTO approved = conflictRetryExecutor.execute(APPROVE_OPERATION,
+            () -> leaveRequestMapper.toDTO(approve(id, approverComments)));
         
         log.info("Leave request approved: {}", id);
-        return leaveRequestMapper.toDTO(savedRequest);
+        return approved;
     }
 
     public LeaveRequestDTO rejectLeaveRequest(Long id, String approverComments) {
         log.info("Rejecting leave request: {}", id);
         
-        LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
+        LeaveRequest leaveRequest = leaveRequestRepository.findWithEmployeeById(id)
             .orElseThrow(() -> new RuntimeException("Leave request not found"));
         
         if (!leaveRequest.canBeRejected()) {
@@ -125,43 +136,63 @@ public class LeaveRequestService {
         leaveRequest.setApproverComments(approverComments);
         
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        evictLeaveCalendar(savedRequest);
+        publishLeaveEvent(savedRequest, LeaveRequestEventType.REJECTED);
         
         log.info("Leave request rejected: {}", id);
         return leaveRequestMapper.toDTO(savedRequest);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LeaveRequestDTO cancelLeaveRequest(Long id) {
         log.info("Cancelling leave request: {}", id);
         
-        LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Leave request not found"));
+        LeaveRequestDTO cancelled = conflictRetryExecutor.execute(CANCEL_OPERATION,
+            () -> leaveRequestMapper.toDTO(cancel(id)));
         
-        if (!leaveRequest.canBeCancelled()) {
-            throw new RuntimeException("Leave request cannot be cancelled in current status: " + leaveRequest.getStatus());
+        log.info("Leave request cancelled: {}", id);
+        return cancelled;
+    }
+
+    /**
+     * Approves or rejects a batch of leave requests in one transaction. Requests and their employees
+     * are loaded with one query and approvals are debited through {@link LeaveLedgerService#debitAll};
+     * requests that are missing, already decided or not covered by their balance are reported per item
+     * without failing the rest of the batch.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BulkLeaveDecisionResultDTO decideLeaveRequests(BulkLeaveDecisionDTO decisionDTO) {
+        if (decisionDTO.getDecision() == null) {
+            throw new RuntimeException("Decision is required");
         }
-        
-        leaveRequest.setStatus(LeaveStatus.CANCELLED);
-        
-        // If request was approved, restore employee leave balance
-        if (leaveRequest.getStatus() == LeaveStatus.APPROVED) {
-            restoreEmployeeLeaveBalance(leaveRequest);
+        if (decisionDTO.getLeaveRequestIds() == null || decisionDTO.getLeaveRequestIds().isEmpty()) {
+            throw new RuntimeException("At least one leave request id is required");
+        }
+        List<Long> ids = decisionDTO.getLeaveRequestIds().stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        if (ids.size() > MAX_BULK_DECISION_SIZE) {
+            throw new RuntimeException("Cannot decide more than " + MAX_BULK_DECISION_SIZE + " leave requests at once");
         }
         
-        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
-        
-        log.info("Leave request cancelled: {}", id);
-        return leaveRequestMapper.toDTO(savedRequest);
+        log.info("Applying {} to {} leave requests", decisionDTO.getDecision(), ids.size());
+        BulkLeaveDecisionResultDTO result = conflictRetryExecutor.execute(BULK_DECISION_OPERATION,
+            () -> applyDecision(ids, decisionDTO.getDecision(), decisionDTO.getComments()));
+        log.info("Bulk {} finished: {} succeeded, {} failed", decisionDTO.getDecision(),
+            result.getSucceededCount(), result.getFailedCount());
+        return result;
     }
 
     @Transactional(readOnly = true)
     public Optional<LeaveRequestDTO> getLeaveRequest(Long id) {
-        return leaveRequestRepository.findById(id)
+        return leaveRequestRepository.findWithEmployeeById(id)
             .map(leaveRequestMapper::toDTO);
     }
 
     @Transactional(readOnly = true)
     public Page<LeaveRequestDTO> getLeaveRequests(Pageable pageable) {
-        return leaveRequestRepository.findAll(pageable)
+        return leaveRequestRepository.findAllWithEmployee(pageable)
             .map(leaveRequestMapper::toDTO);
     }
 
@@ -191,31 +222,21 @@ public class LeaveRequestService {
             .map(leaveRequestMapper::toDTO);
     }
 
-    private void validateLeaveRequest(LeaveRequestCreateDTO createDTO, Employee employee) {
-        // Check if employee has sufficient leave balance
-        switch (createDTO.getLeaveType()) {
-            case ANNUAL:
-                if (employee.getAnnualLeaveBalance() < createDTO.getDaysRequested()) {
-                    throw new RuntimeException("Insufficient annual leave balance");
-                }
-                break;
-            case SICK:
-                if (employee.getSickLeaveBalance() < createDTO.getDaysRequested()) {
-                    throw new RuntimeException("Insufficient sick leave balance");
-                }
-                break;
-            default:
-                // Other leave types might not require balance check
-                break;
+    private void validateLeaveRequest(LeaveRequestCreateDTO createDTO, Employee employee, int workingDays) {
+        // Check if employee has sufficient leave balance for the year the leave starts in
+        if (leaveLedgerService.isTracked(createDTO.getLeaveType())) {
+            BigDecimal balance = leaveLedgerService.getBalance(employee, createDTO.getLeaveType(),
+                createDTO.getStartDate().getYear());
+            if (balance.compareTo(BigDecimal.valueOf(workingDays)) < 0) {
+                throw new RuntimeException("Insufficient " + createDTO.getLeaveType().name().toLowerCase() +
+                    " leave balance");
+            }
         }
         
-        // Check for overlapping leave requests
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository.findOverlappingRequests(
-            employee.getId(), createDTO.getStartDate(), createDTO.getEndDate()
-        );
-        
-        if (!overlappingRequests.isEmpty()) {
-            throw new RuntimeException("Overlapping leave requests found");
+        // Check for overlapping leave requests; the exclusion constraint still guards concurrent submissions
+        if (leaveRequestRepository.existsOverlappingLeave(
+                employee.getId(), createDTO.getStartDate(), createDTO.getEndDate())) {
+            throw new LeaveOverlapException("Overlapping leave requests found");
         }
         
         // Check if start date is in the past
@@ -227,84 +248,184 @@ public class LeaveRequestService {
         if (createDTO.getEndDate().isBefore(createDTO.getStartDate())) {
             throw new RuntimeException("Leave end date cannot be before start date");
         }
+        
+        if (workingDays == 0) {
+            throw new RuntimeException("Leave period contains no working days");
+        }
     }
 
-    private void updateEmployeeLeaveBalance(LeaveRequest leaveRequest) {
+    // Leave is charged in working days: weekends and the employee's public holidays are free
+    private void applyWorkingDays(LeaveRequest leaveRequest) {
+        if (leaveRequest.getStartDate() != null && leaveRequest.getEndDate() != null) {
+            leaveRequest.setDaysRequested(workingDayCalendar.countWorkingDays(
+                leaveRequest.getEmployee().getCountry(), leaveRequest.getStartDate(), leaveRequest.getEndDate()));
+        }
+    }
+
+    private void evictLeaveCalendar(LeaveRequest leaveRequest) {
         Employee employee = leaveRequest.getEmployee();
+        if (employee == null || leaveRequest.getStartDate() == null || leaveRequest.getEndDate() == null) {
+            return;
+        }
+        cacheInvalidation.evictLeaveCalendar(
+            employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+            employee.getManager() != null ? employee.getManager().getId() : null,
+            leaveRequest.getStartDate(), leaveRequest.getEndDate());
+    }
+
+    /**
+     * Queues a lifecycle event for the employee's manager; {@link LeaveRequestFeed} pushes it once the
+     * transaction commits, so a rolled-back or retried attempt never reaches a dashboard.
+     */
+    private void publishLeaveEvent(LeaveRequest leaveRequest, LeaveRequestEventType type) {
+        Employee employee = leaveRequest.getEmployee();
+        if (employee == null || employee.getManager() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new LeaveRequestChangedEvent(new LeaveRequestEventDTO(
+            type, employee.getManager().getId(), LocalDateTime.now(), leaveRequestMapper.toDTO(leaveRequest))));
+    }
+
+    /**
+     * Saves and flushes so a concurrent overlapping request surfaces here, as a
+     * {@link LeaveOverlapException}, rather than as a generic failure at commit.
+     */
+    private LeaveRequest saveCheckingOverlap(LeaveRequest leaveRequest) {
+        try {
+            return leaveRequestRepository.saveAndFlush(leaveRequest);
+        } catch (DataAccessException e) {
+            if (isOverlapViolation(e)) {
+                throw new LeaveOverlapException("Leave request overlaps an existing pending or approved request", e);
+            }
+            throw e;
+        }
+    }
+
+    private boolean isOverlapViolation(DataAccessException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())
+                    && String.valueOf(sqlException.getMessage()).contains(LeaveRequestRepository.OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LeaveRequest approve(Long id, String approverComments) {
+        LeaveRequest leaveRequest = leaveRequestRepository.findWithEmployeeById(id)
+            .orElseThrow(() -> new RuntimeException("Leave request not found"));
         
-        switch (leaveRequest.getLeaveType()) {
-            case ANNUAL:
-                employee.setAnnualLeaveBalance(employee.getAnnualLeaveBalance() - leaveRequest.getDaysRequested());
-                break;
-            case SICK:
-                employee.setSickLeaveBalance(employee.getSickLeaveBalance() - leaveRequest.getDaysRequested());
-                break;
-            default:
-                // Other leave types might not affect balance
-                break;
+        if (!leaveRequest.canBeApproved()) {
+            throw new RuntimeException("Leave request cannot be approved in current status: " + leaveRequest.getStatus());
         }
         
-        employeeRepository.save(employee);
+        leaveRequest.setStatus(LeaveStatus.APPROVED);
+        leaveRequest.setApproverComments(approverComments);
+        leaveRequest.setApprovedDate(LocalDate.now());
+        
+        // Debit the balance; fails without side effects if it no longer covers the request
+        updateEmployeeLeaveBalance(leaveRequest);
+        
+        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        evictLeaveCalendar(savedRequest);
+        publishLeaveEvent(savedRequest, LeaveRequestEventType.APPROVED);
+        return savedRequest;
     }
 
-    private void restoreEmployeeLeaveBalance(LeaveRequest leaveRequest) {
-        Employee employee = leaveRequest.getEmployee();
+    private LeaveRequest cancel(Long id) {
+        LeaveRequest leaveRequest = leaveRequestRepository.findWithEmployeeById(id)
+            .orElseThrow(() -> new RuntimeException("Leave request not found"));
+        
+        if (!leaveRequest.canBeCancelled()) {
+            throw new RuntimeException("Leave request cannot be cancelled in current status: " + leaveRequest.getStatus());
+        }
         
-        switch (leaveRequest.getLeaveType()) {
-            case ANNUAL:
-                employee.setAnnualLeaveBalance(employee.getAnnualLeaveBalance() + leaveRequest.getDaysRequested());
-                break;
-            case SICK:
-                employee.setSickLeaveBalance(employee.getSickLeaveBalance() + leaveRequest.getDaysRequested());
-                break;
-            default:
-                // Other leave types might not affect balance
-                break;
+        // If request was approved, restore employee leave balance
+        if (leaveRequest.getStatus() == LeaveStatus.APPROVED) {
+            restoreEmployeeLeaveBalance(leaveRequest);
         }
         
-        employeeRepository.save(employee);
+        leaveRequest.setStatus(LeaveStatus.CANCELLED);
+        
+        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        evictLeaveCalendar(savedRequest);
+        publishLeaveEvent(savedRequest, LeaveRequestEventType.CANCELLED);
+        return savedRequest;
     }
 
-    private void triggerAirflowWorkflow(LeaveRequest leaveRequest) {
-        try {
-            Map<String, Object> dagParams = new HashMap<>();
-            dagParams.put("leave_request_id", leaveRequest.getId().toString());
-            dagParams.put("employee_id", leaveRequest.getEmployee().getId().toString());
-            dagParams.put("manager_id", leaveRequest.getEmployee().getManager() != null ? 
-                leaveRequest.getEmployee().getManager().getId().toString() : "");
-            dagParams.put("leave_type", leaveRequest.getLeaveType().toString());
-            dagParams.put("days_requested", leaveRequest.getDaysRequested());
-            
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("dag_run_id", "leave_request_" + leaveRequest.getId() + "_" + System.currentTimeMillis());
-            requestBody.put("conf", dagParams);
-            
-            String airflowUrl = airflowBaseUrl + "/api/v1/dags/" + airflowDagId + "/dagRuns";
-            
-            Mono<String> response = webClient.post()
-                .uri(airflowUrl)
-                .headers(headers -> headers.setBasicAuth(airflowUsername, airflowPassword))
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class);
-            
-            response.subscribe(
-                result -> {
-                    log.info("Airflow workflow triggered successfully for leave request: {}", leaveRequest.getId());
-                    leaveRequest.setAirflowDagRunId(((Map<String, Object>) requestBody).get("dag_run_id").toString());
-                    leaveRequestRepository.save(leaveRequest);
-                },
-                error -> log.error("Failed to trigger Airflow workflow for leave request: {}", leaveRequest.getId(), error)
-            );
-            
-        } catch (Exception e) {
-            log.error("Error triggering Airflow workflow for leave request: {}", leaveRequest.getId(), e);
+    private BulkLeaveDecisionResultDTO applyDecision(List<Long> ids, LeaveDecision decision, String comments) {
+        boolean approve = decision == LeaveDecision.APPROVE;
+        Map<Long, LeaveRequest> requests = leaveRequestRepository.findAllWithEmployeeByIdIn(ids).stream()
+            .collect(Collectors.toMap(LeaveRequest::getId, Function.identity()));
+        
+        List<LeaveRequest> decidable = ids.stream()
+            .map(requests::get)
+            .filter(Objects::nonNull)
+            .filter(leaveRequest -> approve ? leaveRequest.canBeApproved() : leaveRequest.canBeRejected())
+            .toList();
+        Set<Long> decidableIds = decidable.stream().map(LeaveRequest::getId).collect(Collectors.toSet());
+        Set<Long> uncovered = approve
+            ? leaveLedgerService.debitAll(decidable).stream().map(LeaveRequest::getId).collect(Collectors.toSet())
+            : Set.of();
+        
+        BulkLeaveDecisionResultDTO result = new BulkLeaveDecisionResultDTO(decision);
+        LocalDate today = LocalDate.now();
+        for (Long id : ids) {
+            LeaveRequest leaveRequest = requests.get(id);
+            if (leaveRequest == null) {
+                result.addFailure(id, null, "Leave request not found");
+            } else if (!decidableIds.contains(id)) {
+                result.addFailure(id, leaveRequest.getStatus(),
+                    "Leave request cannot be " + (approve ? "approved" : "rejected") +
+                    " in current status: " + leaveRequest.getStatus());
+            } else if (uncovered.contains(id)) {
+                result.addFailure(id, leaveRequest.getStatus(), "Insufficient " +
+                    leaveRequest.getLeaveType().name().toLowerCase() + " leave balance");
+            } else {
+                leaveRequest.setStatus(approve ? LeaveStatus.APPROVED : LeaveStatus.REJECTED);
+                leaveRequest.setApproverComments(comments);
+                if (approve) {
+                    leaveRequest.setApprovedDate(today);
+                    evictEmployee(leaveRequest.getEmployee());
+                }
+                evictLeaveCalendar(leaveRequest);
+                publishLeaveEvent(leaveRequest,
+                    approve ? LeaveRequestEventType.APPROVED : LeaveRequestEventType.REJECTED);
+                result.addSuccess(id, leaveRequest.getStatus());
+            }
+        }
+        // Status changes are flushed by dirty checking as one JDBC batch on commit
+        return result;
+    }
+
+    private void updateEmployeeLeaveBalance(LeaveRequest leaveRequest) {
+        if (!leaveLedgerService.isTracked(leaveRequest.getLeaveType())) {
+            // Other leave types do not affect balance
+            return;
+        }
+        leaveLedgerService.debit(leaveRequest);
+        evictEmployee(leaveRequest.getEmployee());
+    }
+
+    private void restoreEmployeeLeaveBalance(LeaveRequest leaveRequest) {
+        if (!leaveLedgerService.isTracked(leaveRequest.getLeaveType())) {
+            return;
         }
+        leaveLedgerService.credit(leaveRequest);
+        evictEmployee(leaveRequest.getEmployee());
+    }
+
+    // The ledger updates the balance mirror columns directly, so cached copies of the employee are stale
+    private void evictEmployee(Employee employee) {
+        cacheInvalidation.evictEmployee(employee.getId(), employee.getEmail());
     }
 
     // Entity-based methods for controller support
-    public List<LeaveRequest> getAllLeaveRequests() {
-        return leaveRequestRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<LeaveRequest> getAllLeaveRequests(String cursor, Integer size) {
+        return cursorPagination.fetch(cursor, size, leaveRequestRepository::findByIdGreaterThanOrderByIdAsc,
+                LeaveRequest::getId);
     }
 
     public Optional<LeaveRequest> getLeaveRequestById(Long id) {
@@ -334,28 +455,28 @@ public class LeaveRequestService {
     public LeaveRequest saveLeaveRequest(LeaveRequest leaveRequest) {
         Employee employee = employeeRepository.findById(leaveRequest.getEmployee().getId())
             .orElseThrow(() -> new RuntimeException("Employee not found"));
+        leaveRequest.setEmployee(employee);
         
         // Set applied date if not set
         if (leaveRequest.getAppliedDate() == null) {
             leaveRequest.setAppliedDate(LocalDate.now());
         }
         
-        // Calculate total days if not set
-        if (leaveRequest.getTotalDays() == null && leaveRequest.getStartDate() != null && leaveRequest.getEndDate() != null) {
-            long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(leaveRequest.getStartDate(), leaveRequest.getEndDate()) + 1;
-            leaveRequest.setTotalDays((double) daysBetween);
-        }
+        // Days are always derived from the working-day calendar, never taken from the client
+        applyWorkingDays(leaveRequest);
         
         // Set status if not set
         if (leaveRequest.getStatus() == null) {
             leaveRequest.setStatus(LeaveStatus.PENDING);
         }
         
-        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = saveCheckingOverlap(leaveRequest);
+        evictLeaveCalendar(saved);
         
         // Trigger workflow if status is pending
         if (saved.getStatus() == LeaveStatus.PENDING) {
-            triggerAirflowWorkflow(saved);
+            publishLeaveEvent(saved, LeaveRequestEventType.SUBMITTED);
+            workflowOutboxService.enqueueLeaveApproval(saved);
         }
         
         return saved;
@@ -370,18 +491,19 @@ public class LeaveRequestService {
             throw new RuntimeException("Cannot update leave request with status: " + existingRequest.getStatus());
         }
         
+        evictLeaveCalendar(existingRequest);
         existingRequest.setLeaveType(leaveRequestDetails.getLeaveType());
         existingRequest.setStartDate(leaveRequestDetails.getStartDate());
         existingRequest.setEndDate(leaveRequestDetails.getEndDate());
         existingRequest.setReason(leaveRequestDetails.getReason());
         
-        // Recalculate total days
-        if (existingRequest.getStartDate() != null && existingRequest.getEndDate() != null) {
-            long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(existingRequest.getStartDate(), existingRequest.getEndDate()) + 1;
-            existingRequest.setTotalDays((double) daysBetween);
-        }
+        // Recalculate working days
+        applyWorkingDays(existingRequest);
         
-        return leaveRequestRepository.save(existingRequest);
+        LeaveRequest saved = saveCheckingOverlap(existingRequest);
+        evictLeaveCalendar(saved);
+        publishLeaveEvent(saved, LeaveRequestEventType.UPDATED);
+        return saved;
     }
 
     public void deleteLeaveRequest(Long id) {
@@ -394,24 +516,13 @@ public class LeaveRequestService {
         }
         
         leaveRequestRepository.delete(leaveRequest);
+        evictLeaveCalendar(leaveRequest);
+        publishLeaveEvent(leaveRequest, LeaveRequestEventType.DELETED);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LeaveRequest approveLeaveRequest(Long id, String approverComments) {
-        LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Leave request not found"));
-        
-        if (!leaveRequest.canBeApproved()) {
-            throw new RuntimeException("Leave request cannot be approved in current status: " + leaveRequest.getStatus());
-        }
-        
-        leaveRequest.setStatus(LeaveStatus.APPROVED);
-        leaveRequest.setApproverComments(approverComments);
-        leaveRequest.setApprovedDate(LocalDate.now());
-        
-        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
-        updateEmployeeLeaveBalance(saved);
-        
-        return saved;
+        return conflictRetryExecutor.execute(APPROVE_OPERATION, () -> approve(id, approverComments));
     }
 
     public LeaveRequest rejectLeaveRequest(Long id, String rejectionReason) {
@@ -425,44 +536,27 @@ public class LeaveRequestService {
         leaveRequest.setStatus(LeaveStatus.REJECTED);
         leaveRequest.setApproverComments(rejectionReason);
         
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        evictLeaveCalendar(saved);
+        publishLeaveEvent(saved, LeaveRequestEventType.REJECTED);
+        return saved;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public LeaveRequest cancelLeaveRequest(Long id) {
-        LeaveRequest leaveRequest = leaveRequestRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Leave request not found"));
-        
-        if (leaveRequest.getStatus() != LeaveStatus.PENDING && leaveRequest.getStatus() != LeaveStatus.APPROVED) {
-            throw new RuntimeException("Can only cancel pending or approved leave requests");
-        }
-        
-        // If request was approved, restore leave balance
-        if (leaveRequest.getStatus() == LeaveStatus.APPROVED) {
-            restoreEmployeeLeaveBalance(leaveRequest);
-        }
-        
-        leaveRequest.setStatus(LeaveStatus.CANCELLED);
-        
-        return leaveRequestRepository.save(leaveRequest);
+        return conflictRetryExecutor.execute(CANCEL_OPERATION, () -> cancel(id));
     }
 
     public List<LeaveRequest> getOverlappingLeaves(Long employeeId, LocalDate startDate, LocalDate endDate) {
         return leaveRequestRepository.findOverlappingLeaves(employeeId, startDate, endDate);
     }
 
-    public Double getLeaveBalance(Long employeeId, com.hrm.entity.enums.LeaveType leaveType, int year) {
-        Double totalUsed = leaveRequestRepository.getTotalApprovedLeavesByTypeAndYear(employeeId, leaveType, year);
-        
-        Employee employee = employeeRepository.findById(employeeId)
-            .orElseThrow(() -> new RuntimeException("Employee not found"));
-        
-        if (leaveType == com.hrm.entity.enums.LeaveType.ANNUAL) {
-            return employee.getAnnualLeaveBalance() - (totalUsed != null ? totalUsed : 0.0);
-        } else if (leaveType == com.hrm.entity.enums.LeaveType.SICK) {
-            return employee.getSickLeaveBalance() - (totalUsed != null ? totalUsed : 0.0);
-        }
-        
-        return 0.0;
+    public Double getLeaveBalance(Long employeeId, LeaveType leaveType, int year) {
+        return leaveLedgerService.getBalance(employeeId, leaveType, year).doubleValue();
+    }
+
+    public List<LeaveLedgerEntryDTO> getLeaveLedger(Long employeeId, LeaveType leaveType, int year) {
+        return leaveLedgerService.getLedger(employeeId, leaveType, year);
     }
 
     public List<LeaveRequest> getLeaveRequestsByStatusAndDate(LeaveStatus status, LocalDate date) {
@@ -478,9 +572,11 @@ public class LeaveRequestService {
         }
         
         leaveRequest.setStatus(LeaveStatus.PENDING);
-        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = saveCheckingOverlap(leaveRequest);
+        evictLeaveCalendar(saved);
+        publishLeaveEvent(saved, LeaveRequestEventType.SUBMITTED);
         
-        triggerAirflowWorkflow(saved);
+        workflowOutboxService.enqueueLeaveApproval(saved);
         
         return saved;
     }
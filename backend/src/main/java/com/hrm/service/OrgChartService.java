@@ -0,0 +1,434 @@
+package com.hrm.service;
+
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.service.dto.EmployeeDTO;
+import com.hrm.service.dto.OrgChartNodeDTO;
+import com.hrm.service.event.EmployeeManagerChangedEvent;
+import com.hrm.service.event.EmployeeRemovedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the manager hierarchy of employees who are not terminated. The graph is
+ * loaded with a single query and then kept current from {@link EmployeeManagerChangedEvent}s and
+ * {@link EmployeeRemovedEvent}s, so reporting-line questions never need recursive SQL or lazy
+ * {@code directReports} loads. Changes that arrive while a refresh is reading the reporting lines
+ * are applied again on top of the reloaded graph, since the read may have missed them.
+ *
+ * <p>Each instance holds its own copy. Committed changes are broadcast on the cache invalidation
+ * channel as {@code <origin>:orgChart:<employeeId>:<managerId>} (empty for no manager,
+ * {@code removed} for a terminated employee) and applied by the other instances; the periodic
+ * refresh repairs any message that was lost. The copy is a read model only: reporting cycles are
+ * rejected against the database in {@link EmployeeService}.</p>
+ *
+ * <p>Subtree sizes and depths are maintained on every move, which makes span of control and
+ * depth O(1); membership and path-to-root walk the ancestor chain (O(depth)); listing a
+ * subtree is O(subtree).</p>
+ */
+@Service
+@Slf4j
+public class OrgChartService {
+
+    private static final int DTO_QUERY_CHUNK_SIZE = 1000;
+    private static final String CHANNEL_NAME = "orgChart";
+    private static final String REMOVED = "removed";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer cacheInvalidationListenerContainer;
+
+    @Value("${hrm.cache.invalidation-channel:hrm:cache:invalidation}")
+    private String invalidationChannel;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Long> managerOf = new HashMap<>();
+    private final Map<Long, Set<Long>> reportsOf = new HashMap<>();
+    private final Map<Long, Integer> subtreeSize = new HashMap<>();
+    private final Map<Long, Integer> depthOf = new HashMap<>();
+    private final Object refreshLock = new Object();
+
+    // Changes applied while a refresh is reading the reporting lines; guarded by the write lock
+    private List<Change> refreshBuffer;
+
+    @PostConstruct
+    void subscribe() {
+        cacheInvalidationListenerContainer.addMessageListener(
+                (message, pattern) -> onBroadcast(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(invalidationChannel));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hrm.org-chart.refresh-interval-ms:900000}",
+               initialDelayString = "${hrm.org-chart.refresh-interval-ms:900000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        synchronized (refreshLock) {
+            List<Object[]> reportingLines;
+            setRefreshBuffer(new ArrayList<>());
+            try {
+                reportingLines = employeeRepository.findAllReportingLines();
+            } catch (RuntimeException e) {
+                setRefreshBuffer(null);
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                managerOf.clear();
+                reportsOf.clear();
+                subtreeSize.clear();
+                depthOf.clear();
+
+                for (Object[] line : reportingLines) {
+                    managerOf.put((Long) line[0], (Long) line[1]);
+                }
+                // Reports of a terminated manager are roots until they are moved
+                managerOf.replaceAll((employeeId, managerId) -> managerOf.containsKey(managerId) ? managerId : null);
+                managerOf.forEach((employeeId, managerId) -> {
+                    reportsOf.computeIfAbsent(employeeId, id -> new LinkedHashSet<>());
+                    if (managerId != null) {
+                        reportsOf.computeIfAbsent(managerId, id -> new LinkedHashSet<>()).add(employeeId);
+                    }
+                });
+                recomputeDerivedState();
+
+                List<Change> buffered = refreshBuffer;
+                refreshBuffer = null;
+                buffered.forEach(this::apply);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("Org chart loaded with {} employees", reportingLines.size());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onManagerChanged(EmployeeManagerChangedEvent event) {
+        Change change = new Change(event.getEmployeeId(), event.getNewManagerId(), false);
+        applyAndBuffer(change);
+        broadcast(change);
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeRemoved(EmployeeRemovedEvent event) {
+        Change change = new Change(event.getEmployeeId(), null, true);
+        applyAndBuffer(change);
+        broadcast(change);
+    }
+
+    public boolean isInSubtree(Long managerId, Long employeeId) {
+        lock.readLock().lock();
+        try {
+            return hasAncestor(employeeId, managerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long employeeId) {
+        lock.readLock().lock();
+        try {
+            return managerOf.containsKey(employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<OrgChartNodeDTO> getNode(Long employeeId) {
+        lock.readLock().lock();
+        try {
+            if (!managerOf.containsKey(employeeId)) {
+                return Optional.empty();
+            }
+
+            Set<Long> directReports = reportsOf.getOrDefault(employeeId, Set.of());
+            return Optional.of(new OrgChartNodeDTO(
+                    employeeId,
+                    managerOf.get(employeeId),
+                    depthOf.getOrDefault(employeeId, 0),
+                    directReports.size(),
+                    subtreeSize.getOrDefault(employeeId, 1) - 1,
+                    pathToRoot(employeeId)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> getSubtreeIds(Long managerId) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            Deque<Long> queue = new ArrayDeque<>(reportsOf.getOrDefault(managerId, Set.of()));
+            while (!queue.isEmpty()) {
+                Long employeeId = queue.poll();
+                ids.add(employeeId);
+                queue.addAll(reportsOf.getOrDefault(employeeId, Set.of()));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeDTO> getAllReports(Long managerId) {
+        List<Long> ids = getSubtreeIds(managerId);
+        List<EmployeeDTO> reports = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += DTO_QUERY_CHUNK_SIZE) {
+            reports.addAll(employeeRepository.findDtosByIdIn(
+                    ids.subList(from, Math.min(from + DTO_QUERY_CHUNK_SIZE, ids.size()))));
+        }
+        return reports;
+    }
+
+    private void applyAndBuffer(Change change) {
+        lock.writeLock().lock();
+        try {
+            apply(change);
+            if (refreshBuffer != null) {
+                refreshBuffer.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void broadcast(Change change) {
+        String target = change.removed() ? REMOVED
+                : change.newManagerId() != null ? change.newManagerId().toString() : "";
+        String message = instanceId + ":" + CHANNEL_NAME + ":" + change.employeeId() + ":" + target;
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, message);
+        } catch (RuntimeException e) {
+            // Other instances catch up at their next refresh
+            log.warn("Failed to publish org chart change for employee {}: {}", change.employeeId(), e.getMessage());
+        }
+    }
+
+    // Messages for the cache manager's caches share the channel and are skipped here
+    private void onBroadcast(String message) {
+        String[] parts = message.split(":", 4);
+        if (parts.length < 4 || !CHANNEL_NAME.equals(parts[1]) || instanceId.equals(parts[0])) {
+            return;
+        }
+        try {
+            Long employeeId = Long.valueOf(parts[2]);
+            if (REMOVED.equals(parts[3])) {
+                applyAndBuffer(new Change(employeeId, null, true));
+            } else {
+                applyAndBuffer(new Change(employeeId, parts[3].isEmpty() ? null : Long.valueOf(parts[3]), false));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Discarding unreadable org chart change: {}", message);
+        }
+    }
+
+    private void setRefreshBuffer(List<Change> buffer) {
+        lock.writeLock().lock();
+        try {
+            refreshBuffer = buffer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers must hold the write lock
+    private void apply(Change change) {
+        if (change.removed()) {
+            removeEmployee(change.employeeId());
+        } else {
+            moveEmployee(change.employeeId(), change.newManagerId());
+        }
+    }
+
+    // Callers must hold the read or write lock
+    private boolean hasAncestor(Long employeeId, Long ancestorId) {
+        Set<Long> visited = new HashSet<>();
+        Long current = managerOf.get(employeeId);
+        while (current != null && visited.add(current)) {
+            if (current.equals(ancestorId)) {
+                return true;
+            }
+            current = managerOf.get(current);
+        }
+        return false;
+    }
+
+    // Callers must hold the read or write lock
+    private List<Long> pathToRoot(Long employeeId) {
+        List<Long> path = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        Long current = managerOf.get(employeeId);
+        while (current != null && visited.add(current)) {
+            path.add(current);
+            current = managerOf.get(current);
+        }
+        return path;
+    }
+
+    // Callers must hold the write lock
+    private void moveEmployee(Long employeeId, Long newManagerId) {
+        boolean known = managerOf.containsKey(employeeId);
+        Long previousManagerId = managerOf.get(employeeId);
+        if (known && Objects.equals(previousManagerId, newManagerId)) {
+            return;
+        }
+        if (newManagerId != null && (newManagerId.equals(employeeId) || hasAncestor(newManagerId, employeeId))) {
+            log.warn("Ignoring manager change for employee {} to {}: would create a reporting cycle",
+                    employeeId, newManagerId);
+            return;
+        }
+
+        int size = subtreeSize.getOrDefault(employeeId, 1);
+
+        if (known && previousManagerId != null) {
+            reportsOf.getOrDefault(previousManagerId, new LinkedHashSet<>()).remove(employeeId);
+            adjustAncestorSizes(previousManagerId, -size);
+        }
+
+        managerOf.put(employeeId, newManagerId);
+        reportsOf.computeIfAbsent(employeeId, id -> new LinkedHashSet<>());
+        subtreeSize.putIfAbsent(employeeId, 1);
+
+        if (newManagerId != null) {
+            if (!managerOf.containsKey(newManagerId)) {
+                // Manager not seen yet (e.g. created concurrently); treat as a root until the next refresh
+                managerOf.put(newManagerId, null);
+                reportsOf.computeIfAbsent(newManagerId, id -> new LinkedHashSet<>());
+                subtreeSize.put(newManagerId, 1);
+                depthOf.put(newManagerId, 0);
+            }
+            reportsOf.get(newManagerId).add(employeeId);
+            adjustAncestorSizes(newManagerId, size);
+        }
+
+        int newDepth = newManagerId != null ? depthOf.getOrDefault(newManagerId, 0) + 1 : 0;
+        assignDepths(employeeId, newDepth);
+    }
+
+    // Callers must hold the write lock
+    private void removeEmployee(Long employeeId) {
+        if (!managerOf.containsKey(employeeId)) {
+            return;
+        }
+        Long managerId = managerOf.remove(employeeId);
+        int size = subtreeSize.getOrDefault(employeeId, 1);
+        if (managerId != null) {
+            reportsOf.getOrDefault(managerId, new LinkedHashSet<>()).remove(employeeId);
+            adjustAncestorSizes(managerId, -size);
+        }
+        subtreeSize.remove(employeeId);
+        depthOf.remove(employeeId);
+
+        // As after a refresh, the direct reports become roots until they are moved
+        for (Long reportId : reportsOf.getOrDefault(employeeId, Set.of())) {
+            managerOf.put(reportId, null);
+            assignDepths(reportId, 0);
+        }
+        reportsOf.remove(employeeId);
+    }
+
+    private void adjustAncestorSizes(Long startId, int delta) {
+        Set<Long> visited = new HashSet<>();
+        Long current = startId;
+        while (current != null && visited.add(current)) {
+            subtreeSize.merge(current, delta, Integer::sum);
+            current = managerOf.get(current);
+        }
+    }
+
+    private void assignDepths(Long rootId, int rootDepth) {
+        Deque<Long> queue = new ArrayDeque<>();
+        depthOf.put(rootId, rootDepth);
+        queue.add(rootId);
+        while (!queue.isEmpty()) {
+            Long employeeId = queue.poll();
+            int childDepth = depthOf.get(employeeId) + 1;
+            for (Long reportId : reportsOf.getOrDefault(employeeId, Set.of())) {
+                depthOf.put(reportId, childDepth);
+                queue.add(reportId);
+            }
+        }
+    }
+
+    private void recomputeDerivedState() {
+        Set<Long> reached = new HashSet<>();
+        for (Map.Entry<Long, Long> entry : managerOf.entrySet()) {
+            if (entry.getValue() == null || !managerOf.containsKey(entry.getValue())) {
+                assignDepths(entry.getKey(), 0);
+                computeSubtreeSizes(entry.getKey(), reached);
+            }
+        }
+
+        // Anything not reachable from a root sits on a reporting cycle in the data
+        for (Long employeeId : managerOf.keySet()) {
+            if (!reached.contains(employeeId)) {
+                log.warn("Employee {} is part of a reporting cycle", employeeId);
+                depthOf.putIfAbsent(employeeId, 0);
+                subtreeSize.putIfAbsent(employeeId, 1);
+            }
+        }
+    }
+
+    private void computeSubtreeSizes(Long rootId, Set<Long> reached) {
+        // Iterative post-order traversal, org charts can be deep enough to make recursion risky
+        List<Long> order = new ArrayList<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(rootId);
+        while (!stack.isEmpty()) {
+            Long employeeId = stack.pop();
+            if (!reached.add(employeeId)) {
+                continue;
+            }
+            order.add(employeeId);
+            for (Long reportId : reportsOf.getOrDefault(employeeId, Set.of())) {
+                stack.push(reportId);
+            }
+        }
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Long employeeId = order.get(i);
+            int size = 1;
+            for (Long reportId : reportsOf.getOrDefault(employeeId, Set.of())) {
+                size += subtreeSize.getOrDefault(reportId, 1);
+            }
+            subtreeSize.put(employeeId, size);
+        }
+    }
+
+    private record Change(Long employeeId, Long newManagerId, boolean removed) {
+    }
+}
\ No newline at end of file
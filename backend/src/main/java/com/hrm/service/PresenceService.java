@@ -0,0 +1,291 @@
+package com.hrm.service;
+
+import com.hrm.entity.enums.EmployeeStatus;
+import com.hrm.repository.AttendanceRepository;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.repository.projection.PresenceRow;
+import com.hrm.service.dto.DepartmentPresenceDTO;
+import com.hrm.service.dto.EmployeeDTO;
+import com.hrm.service.dto.EmployeePresenceDTO;
+import com.hrm.service.dto.PresenceState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Today's presence state per employee (checked in, on break, checked out), so status checks and
+ * the front-desk board are served from memory instead of one attendance lookup per employee.
+ *
+ * <p>The shared copy is a Redis hash per day, {@code <prefix><date>}, mapping employee id to state.
+ * Each instance mirrors it in a local map, applies transitions recorded by any instance from a
+ * pub/sub channel, and reloads the hash every resync interval to repair missed messages. A hash
+ * is seeded once per day from that day's attendance rows; transitions are applied only after
+ * their transaction commits. If Redis is unavailable, instances fall back to their local copy,
+ * and transitions that could not be written are kept and written again before the next reload.</p>
+ */
+@Component
+@Slf4j
+public class PresenceService {
+
+    // Marks a day's hash as seeded from the database; employee ids are numeric, so it cannot collide
+    private static final String SEEDED_FIELD = "seeded";
+    private static final Duration KEY_TTL = Duration.ofDays(2);
+
+    private final AttendanceRepository attendanceRepository;
+    private final EmployeeRepository employeeRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String channel;
+
+    private volatile DayPresence day = new DayPresence(LocalDate.MIN, new ConcurrentHashMap<>());
+
+    // Latest transition per employee that is not yet in the Redis hash
+    private final Map<Long, Transition> unpublished = new ConcurrentHashMap<>();
+
+    // Transitions applied while a resync is reading the hash; guarded by this
+    private List<Transition> reloadBuffer;
+
+    public PresenceService(AttendanceRepository attendanceRepository,
+                           EmployeeRepository employeeRepository,
+                           StringRedisTemplate redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${hrm.attendance.presence.key-prefix:hrm:presence:}") String keyPrefix,
+                           @Value("${hrm.attendance.presence.channel:hrm:presence:events}") String channel) {
+        this.attendanceRepository = attendanceRepository;
+        this.employeeRepository = employeeRepository;
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        listenerContainer.addMessageListener(
+                (message, pattern) -> apply(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    public PresenceState getState(Long employeeId) {
+        return today().states().getOrDefault(employeeId, PresenceState.NOT_CHECKED_IN);
+    }
+
+    /**
+     * Records an employee's state for the day once the caller's transaction commits, or at once
+     * outside a transaction. Only today is tracked; changes to other days are ignored.
+     */
+    public void record(Long employeeId, LocalDate date, PresenceState state) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(employeeId, date, state);
+                }
+            });
+        } else {
+            publish(employeeId, date, state);
+        }
+    }
+
+    // One membership query; every state comes from the local copy
+    public DepartmentPresenceDTO getDepartmentPresence(Long departmentId) {
+        DayPresence current = today();
+        DepartmentPresenceDTO snapshot = new DepartmentPresenceDTO(departmentId, current.date());
+        for (PresenceState state : PresenceState.values()) {
+            snapshot.getCounts().put(state, 0);
+        }
+        for (EmployeeDTO employee : employeeRepository.findDtosByDepartmentIdAndStatus(departmentId, EmployeeStatus.ACTIVE)) {
+            PresenceState state = current.states().getOrDefault(employee.getId(), PresenceState.NOT_CHECKED_IN);
+            snapshot.getEmployees().add(new EmployeePresenceDTO(employee.getId(),
+                    employee.getFirstName() + " " + employee.getLastName(), state));
+            snapshot.getCounts().merge(state, 1, Integer::sum);
+        }
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${hrm.attendance.presence.resync-interval-ms:300000}")
+    public void resync() {
+        LocalDate date = LocalDate.now();
+        republish(date);
+        synchronized (this) {
+            reloadBuffer = new ArrayList<>();
+        }
+        DayPresence reloaded;
+        try {
+            reloaded = load(date);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                reloadBuffer = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            List<Transition> buffered = reloadBuffer;
+            reloadBuffer = null;
+            if (!day.date().isAfter(date)) {
+                // The hash was read before these; a transition Redis never received is not in it either
+                buffered.forEach(transition -> applyTo(reloaded, transition));
+                unpublished.values().forEach(transition -> applyTo(reloaded, transition));
+                day = reloaded;
+            }
+        }
+    }
+
+    private DayPresence today() {
+        LocalDate date = LocalDate.now();
+        DayPresence current = day;
+        if (current.date().equals(date)) {
+            return current;
+        }
+        synchronized (this) {
+            if (!day.date().equals(date)) {
+                day = load(date);
+            }
+            return day;
+        }
+    }
+
+    private void publish(Long employeeId, LocalDate date, PresenceState state) {
+        Transition transition = new Transition(date, employeeId, state);
+        if (!applyLocally(transition)) {
+            return;
+        }
+        if (write(transition)) {
+            unpublished.remove(employeeId);
+        } else {
+            unpublished.put(employeeId, transition);
+        }
+    }
+
+    // Writes the transitions Redis missed, stopping at the first failure while it is still down
+    private void republish(LocalDate date) {
+        for (Transition transition : List.copyOf(unpublished.values())) {
+            if (transition.date().equals(date) && !write(transition)) {
+                return;
+            }
+            unpublished.remove(transition.employeeId(), transition);
+        }
+    }
+
+    private boolean write(Transition transition) {
+        String key = key(transition.date());
+        String field = transition.employeeId().toString();
+        String state = transition.state().name();
+        String message = transition.date() + ":" + field + ":" + state;
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.hSet(key, field, state);
+                redis.expire(key, KEY_TTL.getSeconds());
+                redis.publish(channel, message);
+                return null;
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not publish presence of employee {} as {}, will retry at the next resync",
+                    transition.employeeId(), state, e);
+            return false;
+        }
+    }
+
+    // Serialised with the swap in resync, so a transition is never applied to a map being replaced
+    private synchronized boolean applyLocally(Transition transition) {
+        DayPresence current = today();
+        if (!applyTo(current, transition)) {
+            return false;
+        }
+        if (reloadBuffer != null) {
+            reloadBuffer.add(transition);
+        }
+        return true;
+    }
+
+    private static boolean applyTo(DayPresence presence, Transition transition) {
+        if (!presence.date().equals(transition.date())) {
+            return false;
+        }
+        presence.states().put(transition.employeeId(), transition.state());
+        return true;
+    }
+
+    // Messages are "<date>:<employeeId>:<state>"; the publishing instance receives its own as well
+    private void apply(String message) {
+        String[] parts = message.split(":");
+        if (parts.length != 3) {
+            log.warn("Discarding unreadable presence message: {}", message);
+            return;
+        }
+        try {
+            applyLocally(new Transition(LocalDate.parse(parts[0]), Long.valueOf(parts[1]), PresenceState.valueOf(parts[2])));
+        } catch (RuntimeException e) {
+            log.warn("Discarding unreadable presence message: {}", message, e);
+        }
+    }
+
+    private DayPresence load(LocalDate date) {
+        Map<Long, PresenceState> states = new ConcurrentHashMap<>();
+        Map<Object, Object> entries;
+        try {
+            entries = redisTemplate.opsForHash().entries(key(date));
+            if (!entries.containsKey(SEEDED_FIELD)) {
+                seed(date, fromAttendance(date));
+                entries = redisTemplate.opsForHash().entries(key(date));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not load presence for {} from Redis, rebuilding from attendance", date, e);
+            states.putAll(fromAttendance(date));
+            return new DayPresence(date, states);
+        }
+        entries.forEach((field, value) -> {
+            if (!SEEDED_FIELD.equals(field)) {
+                states.put(Long.valueOf((String) field), PresenceState.valueOf((String) value));
+            }
+        });
+        return new DayPresence(date, states);
+    }
+
+    // HSETNX keeps any transition another instance recorded after the rows were read
+    private void seed(LocalDate date, Map<Long, PresenceState> states) {
+        String key = key(date);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            states.forEach((employeeId, state) -> redis.hSetNX(key, employeeId.toString(), state.name()));
+            redis.hSet(key, SEEDED_FIELD, date.toString());
+            redis.expire(key, KEY_TTL.getSeconds());
+            return null;
+        });
+        log.info("Seeded presence for {} with {} employees", date, states.size());
+    }
+
+    private Map<Long, PresenceState> fromAttendance(LocalDate date) {
+        Map<Long, PresenceState> states = new HashMap<>();
+        for (PresenceRow row : attendanceRepository.findPresenceByDate(date)) {
+            states.put(row.getEmployeeId(), PresenceState.of(row.getCheckInTime(), row.getBreakStartTime(),
+                    row.getBreakEndTime(), row.getCheckOutTime()));
+        }
+        return states;
+    }
+
+    private String key(LocalDate date) {
+        return keyPrefix + date;
+    }
+
+    private record DayPresence(LocalDate date, Map<Long, PresenceState> states) {
+    }
+
+    private record Transition(LocalDate date, Long employeeId, PresenceState state) {
+    }
+}
\ No newline at end of file
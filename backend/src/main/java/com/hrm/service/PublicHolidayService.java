@@ -0,0 +1,46 @@
+package com.hrm.service;
+
+import com.hrm.entity.PublicHoliday;
+import com.hrm.repository.PublicHolidayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PublicHolidayService {
+
+    private final PublicHolidayRepository publicHolidayRepository;
+    private final WorkingDayCalendar workingDayCalendar;
+
+    @Transactional(readOnly = true)
+    public List<PublicHoliday> getHolidays(String country, int year) {
+        return publicHolidayRepository.findByCountryAndHolidayDateBetweenOrderByHolidayDateAsc(country,
+            LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    public PublicHoliday addHoliday(PublicHoliday holiday) {
+        holiday.setCountry(holiday.getCountry().trim());
+        if (publicHolidayRepository.existsByCountryAndHolidayDate(holiday.getCountry(), holiday.getHolidayDate())) {
+            throw new RuntimeException("Holiday already exists for " + holiday.getCountry() + " on " +
+                holiday.getHolidayDate());
+        }
+        PublicHoliday saved = publicHolidayRepository.save(holiday);
+        workingDayCalendar.evict(saved.getCountry(), saved.getHolidayDate().getYear());
+        log.info("Added public holiday {} for {} on {}", saved.getName(), saved.getCountry(), saved.getHolidayDate());
+        return saved;
+    }
+
+    public void deleteHoliday(Long id) {
+        PublicHoliday holiday = publicHolidayRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Public holiday not found with id: " + id));
+        publicHolidayRepository.delete(holiday);
+        workingDayCalendar.evict(holiday.getCountry(), holiday.getHolidayDate().getYear());
+    }
+}
\ No newline at end of file
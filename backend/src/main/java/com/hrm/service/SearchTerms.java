@@ -0,0 +1,29 @@
+package com.hrm.service;
+
+import java.util.Locale;
+
+/**
+ * Normalizes free-text search input to match the lower-cased {@code search_text} columns
+ * backing the trigram indexes.
+ */
+final class SearchTerms {
+
+    private static final int MAX_TERM_LENGTH = 100;
+
+    private SearchTerms() {
+    }
+
+    static String normalize(String searchTerm) {
+        if (searchTerm == null) {
+            return "";
+        }
+
+        // LIKE wildcards carry no meaning for trigram matching, so they are treated as separators
+        String normalized = searchTerm.replaceAll("[%_\\\\]", " ")
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+
+        return normalized.length() > MAX_TERM_LENGTH ? normalized.substring(0, MAX_TERM_LENGTH) : normalized;
+    }
+}
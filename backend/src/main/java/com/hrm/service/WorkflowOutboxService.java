@@ -0,0 +1,76 @@
+package com.hrm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrm.entity.Employee;
+import com.hrm.entity.LeaveRequest;
+import com.hrm.entity.WorkflowOutboxEntry;
+import com.hrm.entity.enums.OutboxStatus;
+import com.hrm.repository.WorkflowOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records Airflow dagRun triggers in the outbox inside the caller's transaction, so a trigger
+ * exists if and only if the leave request change commits. Delivery is done by
+ * {@link AirflowOutboxDispatcher}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowOutboxService {
+
+    private final WorkflowOutboxRepository workflowOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${airflow.dag-id}")
+    private String airflowDagId;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public WorkflowOutboxEntry enqueueLeaveApproval(LeaveRequest leaveRequest) {
+        Employee employee = leaveRequest.getEmployee();
+
+        Map<String, Object> dagParams = new HashMap<>();
+        dagParams.put("leave_request_id", leaveRequest.getId().toString());
+        dagParams.put("employee_id", employee.getId().toString());
+        dagParams.put("manager_id", employee.getManager() != null ?
+            employee.getManager().getId().toString() : "");
+        dagParams.put("leave_type", leaveRequest.getLeaveType().toString());
+        dagParams.put("days_requested", leaveRequest.getDaysRequested());
+
+        // The run id is fixed here so redelivery of the same row is rejected by Airflow as a duplicate
+        String dagRunId = "leave_request_" + leaveRequest.getId() + "_" + System.currentTimeMillis();
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("dag_run_id", dagRunId);
+        requestBody.put("conf", dagParams);
+
+        WorkflowOutboxEntry entry = new WorkflowOutboxEntry();
+        entry.setLeaveRequestId(leaveRequest.getId());
+        entry.setDagId(airflowDagId);
+        entry.setDagRunId(dagRunId);
+        entry.setPayload(toJson(requestBody));
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(LocalDateTime.now());
+
+        WorkflowOutboxEntry savedEntry = workflowOutboxRepository.save(entry);
+        log.debug("Queued Airflow trigger {} for leave request: {}", dagRunId, leaveRequest.getId());
+        return savedEntry;
+    }
+
+    private String toJson(Map<String, Object> requestBody) {
+        try {
+            return objectMapper.writeValueAsString(requestBody);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize Airflow trigger payload", e);
+        }
+    }
+}
\ No newline at end of file
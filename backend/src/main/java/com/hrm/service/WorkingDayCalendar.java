@@ -0,0 +1,196 @@
+package com.hrm.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.hrm.repository.PublicHolidayRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Working-day arithmetic per country. Each (country, year) is built once from the configured
+ * weekend and the {@code public_holidays} table into a bitset of working days plus a prefix-sum
+ * table, so counting the working days between two dates is two array lookups per calendar year
+ * spanned, independent of the length of the range.
+ *
+ * <p>Years are held per instance and rebuilt after {@code hrm.calendar.refresh-interval}; holiday
+ * changes made through {@link PublicHolidayService} evict the affected years immediately, and the
+ * eviction is broadcast on the cache invalidation channel as
+ * {@code <origin>:workingDayCalendar:<year>:<country>} so other instances drop their copy too.</p>
+ */
+@Component
+@Slf4j
+public class WorkingDayCalendar {
+
+    private static final String CACHE_NAME = "workingDayCalendar";
+
+    private final PublicHolidayRepository publicHolidayRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final String invalidationChannel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final String defaultCountry;
+    private final Set<DayOfWeek> weekendDays;
+    private final LoadingCache<YearKey, YearCalendar> years;
+
+    public WorkingDayCalendar(PublicHolidayRepository publicHolidayRepository,
+                              StringRedisTemplate redisTemplate,
+                              RedisMessageListenerContainer cacheInvalidationListenerContainer,
+                              @Value("${hrm.cache.invalidation-channel:hrm:cache:invalidation}") String invalidationChannel,
+                              @Value("${hrm.calendar.default-country:}") String defaultCountry,
+                              @Value("${hrm.calendar.weekend-days:SATURDAY,SUNDAY}") String[] weekendDays,
+                              @Value("${hrm.calendar.refresh-interval:6h}") Duration refreshInterval) {
+        this.publicHolidayRepository = publicHolidayRepository;
+        this.redisTemplate = redisTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.defaultCountry = defaultCountry.trim();
+        this.weekendDays = Arrays.stream(weekendDays)
+            .map(String::trim)
+            .filter(day -> !day.isEmpty())
+            .map(day -> DayOfWeek.valueOf(day.toUpperCase()))
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(DayOfWeek.class)));
+        this.years = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(refreshInterval)
+            .build(this::load);
+        cacheInvalidationListenerContainer.addMessageListener(
+            (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(invalidationChannel));
+    }
+
+    /**
+     * Counts working days in {@code [startDate, endDate]}, both inclusive; 0 when the range is empty.
+     */
+    public int countWorkingDays(String country, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return 0;
+        }
+        String calendar = resolve(country);
+        int total = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            YearCalendar yearCalendar = years.get(new YearKey(calendar, year));
+            int firstDay = year == startDate.getYear() ? startDate.getDayOfYear() : 1;
+            int lastDay = year == endDate.getYear() ? endDate.getDayOfYear() : yearCalendar.length();
+            total += yearCalendar.count(firstDay, lastDay);
+        }
+        return total;
+    }
+
+    public boolean isWorkingDay(String country, LocalDate date) {
+        return years.get(new YearKey(resolve(country), date.getYear())).isWorkingDay(date.getDayOfYear());
+    }
+
+    /**
+     * Drops the cached {@code year} of {@code country} on every instance once the current transaction
+     * commits, so readers never rebuild a year from holidays that are about to be rolled back.
+     */
+    public void evict(String country, int year) {
+        YearKey key = new YearKey(resolve(country), year);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(key);
+                }
+            });
+        } else {
+            invalidate(key);
+        }
+    }
+
+    private void invalidate(YearKey key) {
+        years.invalidate(key);
+        String message = instanceId + ":" + CACHE_NAME + ":" + key.year() + ":" + key.country();
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, message);
+        } catch (RuntimeException e) {
+            // Other instances fall back to the refresh interval
+            log.warn("Failed to publish working-day calendar invalidation for {} {}: {}",
+                key.country(), key.year(), e.getMessage());
+        }
+    }
+
+    // Messages for the cache manager's caches share the channel and are skipped here
+    private void onInvalidation(String message) {
+        String[] parts = message.split(":", 4);
+        if (parts.length < 4 || !CACHE_NAME.equals(parts[1]) || instanceId.equals(parts[0])) {
+            return;
+        }
+        try {
+            years.invalidate(new YearKey(parts[3], Integer.parseInt(parts[2])));
+        } catch (NumberFormatException e) {
+            log.warn("Discarding unreadable working-day calendar invalidation: {}", message);
+        }
+    }
+
+    private String resolve(String country) {
+        return country == null || country.isBlank() ? defaultCountry : country.trim();
+    }
+
+    private YearCalendar load(YearKey key) {
+        LocalDate firstDay = LocalDate.of(key.year(), 1, 1);
+        int length = Year.of(key.year()).length();
+        BitSet workingDays = new BitSet(length + 1);
+        for (int dayOfYear = 1; dayOfYear <= length; dayOfYear++) {
+            if (!weekendDays.contains(firstDay.plusDays(dayOfYear - 1L).getDayOfWeek())) {
+                workingDays.set(dayOfYear);
+            }
+        }
+        if (!key.country().isEmpty()) {
+            publicHolidayRepository.findHolidayDates(key.country(), firstDay, firstDay.withDayOfYear(length))
+                .forEach(holiday -> workingDays.clear(holiday.getDayOfYear()));
+        }
+        log.debug("Built working-day calendar for {} {}: {} working days", key.country(), key.year(),
+            workingDays.cardinality());
+        return new YearCalendar(workingDays, length);
+    }
+
+    private record YearKey(String country, int year) {
+    }
+
+    /**
+     * Bit {@code d} is set when day-of-year {@code d} is a working day; {@code prefix[d]} is the
+     * number of working days among days 1..d.
+     */
+    private static final class YearCalendar {
+
+        private final BitSet workingDays;
+        private final int[] prefix;
+
+        YearCalendar(BitSet workingDays, int length) {
+            this.workingDays = workingDays;
+            this.prefix = new int[length + 1];
+            for (int day = 1; day <= length; day++) {
+                prefix[day] = prefix[day - 1] + (workingDays.get(day) ? 1 : 0);
+            }
+        }
+
+        int length() {
+            return prefix.length - 1;
+        }
+
+        boolean isWorkingDay(int dayOfYear) {
+            return workingDays.get(dayOfYear);
+        }
+
+        int count(int firstDay, int lastDay) {
+            return prefix[lastDay] - prefix[firstDay - 1];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.hrm.service.dto;
+
+import com.hrm.entity.enums.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class AttendanceDTO {
+    private Long id;
+    private Long employeeId;
+    private String employeeName;
+    private LocalDate date;
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private LocalDateTime breakStartTime;
+    private LocalDateTime breakEndTime;
+    private Integer breakDurationMinutes;
+    private Double totalHoursWorked;
+    private Double overtimeHours;
+    private AttendanceStatus status;
+    private Boolean isRemote;
+    private String location;
+    private String notes;
+
+    // Default constructor
+    public AttendanceDTO() {}
+
+    // Constructor
+    public AttendanceDTO(Long id, Long employeeId, String employeeName, LocalDate date,
+                         LocalDateTime checkInTime, LocalDateTime checkOutTime,
+                         LocalDateTime breakStartTime, LocalDateTime breakEndTime,
+                         Integer breakDurationMinutes, Double totalHoursWorked,
+                         Double overtimeHours, AttendanceStatus status, Boolean isRemote,
+                         String location, String notes) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.date = date;
+        this.checkInTime = checkInTime;
+        this.checkOutTime = checkOutTime;
+        this.breakStartTime = breakStartTime;
+        this.breakEndTime = breakEndTime;
+        this.breakDurationMinutes = breakDurationMinutes;
+        this.totalHoursWorked = totalHoursWorked;
+        this.overtimeHours = overtimeHours;
+        this.status = status;
+        this.isRemote = isRemote;
+        this.location = location;
+        this.notes = notes;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalDateTime getCheckInTime() {
+        return checkInTime;
+    }
+
+    public void setCheckInTime(LocalDateTime checkInTime) {
+        this.checkInTime = checkInTime;
+    }
+
+    public LocalDateTime getCheckOutTime() {
+        return checkOutTime;
+    }
+
+    public void setCheckOutTime(LocalDateTime checkOutTime) {
+        this.checkOutTime = checkOutTime;
+    }
+
+    public LocalDateTime getBreakStartTime() {
+        return breakStartTime;
+    }
+
+    public void setBreakStartTime(LocalDateTime breakStartTime) {
+        this.breakStartTime = breakStartTime;
+    }
+
+    public LocalDateTime getBreakEndTime() {
+        return breakEndTime;
+    }
+
+    public void setBreakEndTime(LocalDateTime breakEndTime) {
+        this.breakEndTime = breakEndTime;
+    }
+
+    public Integer getBreakDurationMinutes() {
+        return breakDurationMinutes;
+    }
+
+    public void setBreakDurationMinutes(Integer breakDurationMinutes) {
+        this.breakDurationMinutes = breakDurationMinutes;
+    }
+
+    public Double getTotalHoursWorked() {
+        return totalHoursWorked;
+    }
+
+    public void setTotalHoursWorked(Double totalHoursWorked) {
+        this.totalHoursWorked = totalHoursWorked;
+    }
+
+    public Double getOvertimeHours() {
+        return overtimeHours;
+    }
+
+    public void setOvertimeHours(Double overtimeHours) {
+        this.overtimeHours = overtimeHours;
+    }
+
+    public AttendanceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AttendanceStatus status) {
+        this.status = status;
+    }
+
+    public Boolean getIsRemote() {
+        return isRemote;
+    }
+
+    public void setIsRemote(Boolean isRemote) {
+        this.isRemote = isRemote;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.hrm.service.dto;
+
+import java.time.LocalDate;
+
+public class AttendanceMonthlyRollupDTO {
+    private Long employeeId;
+    private LocalDate month;
+    private Double hoursWorked;
+    private Double overtimeHours;
+    private Integer presentDays;
+    private Integer lateDays;
+    private Integer remoteDays;
+
+    // Default constructor
+    public AttendanceMonthlyRollupDTO() {}
+
+    // Constructor
+    public AttendanceMonthlyRollupDTO(Long employeeId, LocalDate month, Double hoursWorked,
+                                      Double overtimeHours, Integer presentDays, Integer lateDays,
+                                      Integer remoteDays) {
+        this.employeeId = employeeId;
+        this.month = month;
+        this.hoursWorked = hoursWorked;
+        this.overtimeHours = overtimeHours;
+        this.presentDays = presentDays;
+        this.lateDays = lateDays;
+        this.remoteDays = remoteDays;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public Double getHoursWorked() {
+        return hoursWorked;
+    }
+
+    public void setHoursWorked(Double hoursWorked) {
+        this.hoursWorked = hoursWorked;
+    }
+
+    public Double getOvertimeHours() {
+        return overtimeHours;
+    }
+
+    public void setOvertimeHours(Double overtimeHours) {
+        this.overtimeHours = overtimeHours;
+    }
+
+    public Integer getPresentDays() {
+        return presentDays;
+    }
+
+    public void setPresentDays(Integer presentDays) {
+        this.presentDays = presentDays;
+    }
+
+    public Integer getLateDays() {
+        return lateDays;
+    }
+
+    public void setLateDays(Integer lateDays) {
+        this.lateDays = lateDays;
+    }
+
+    public Integer getRemoteDays() {
+        return remoteDays;
+    }
+
+    public void setRemoteDays(Integer remoteDays) {
+        this.remoteDays = remoteDays;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.hrm.service.dto;
+
+import java.util.List;
+
+public class BulkLeaveDecisionDTO {
+    private List<Long> leaveRequestIds;
+    private LeaveDecision decision;
+    private String comments;
+
+    // Default constructor
+    public BulkLeaveDecisionDTO() {}
+
+    // Constructor
+    public BulkLeaveDecisionDTO(List<Long> leaveRequestIds, LeaveDecision decision,
+                                String comments) {
+        this.leaveRequestIds = leaveRequestIds;
+        this.decision = decision;
+        this.comments = comments;
+    }
+
+    // Getters and Setters
+    public List<Long> getLeaveRequestIds() {
+        return leaveRequestIds;
+    }
+
+    public void setLeaveRequestIds(List<Long> leaveRequestIds) {
+        this.leaveRequestIds = leaveRequestIds;
+    }
+
+    public LeaveDecision getDecision() {
+        return decision;
+    }
+
+    public void setDecision(LeaveDecision decision) {
+        this.decision = decision;
+    }
+
+    public String getComments() {
+        return comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.hrm.service.dto;
+
+import com.hrm.entity.enums.LeaveStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkLeaveDecisionResultDTO {
+    private LeaveDecision decision;
+    private int succeededCount;
+    private int failedCount;
+    private List<ItemResult> results = new ArrayList<>();
+
+    // Default constructor
+    public BulkLeaveDecisionResultDTO() {}
+
+    // Constructor
+    public BulkLeaveDecisionResultDTO(LeaveDecision decision) {
+        this.decision = decision;
+    }
+
+    public void addSuccess(Long leaveRequestId, LeaveStatus status) {
+        results.add(new ItemResult(leaveRequestId, true, status, null));
+        succeededCount++;
+    }
+
+    public void addFailure(Long leaveRequestId, LeaveStatus status, String message) {
+        results.add(new ItemResult(leaveRequestId, false, status, message));
+        failedCount++;
+    }
+
+    // Getters and Setters
+    public LeaveDecision getDecision() {
+        return decision;
+    }
+
+    public void setDecision(LeaveDecision decision) {
+        this.decision = decision;
+    }
+
+    public int getSucceededCount() {
+        return succeededCount;
+    }
+
+    public void setSucceededCount(int succeededCount) {
+        this.succeededCount = succeededCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+
+    public static class ItemResult {
+        private Long leaveRequestId;
+        private boolean success;
+        private LeaveStatus status;
+        private String message;
+
+        // Default constructor
+        public ItemResult() {}
+
+        // Constructor
+        public ItemResult(Long leaveRequestId, boolean success, LeaveStatus status, String message) {
+            this.leaveRequestId = leaveRequestId;
+            this.success = success;
+            this.status = status;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public Long getLeaveRequestId() {
+            return leaveRequestId;
+        }
+
+        public void setLeaveRequestId(Long leaveRequestId) {
+            this.leaveRequestId = leaveRequestId;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public LeaveStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(LeaveStatus status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
\ No newline at end of file
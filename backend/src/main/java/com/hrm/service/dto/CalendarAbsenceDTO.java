@@ -0,0 +1,66 @@
+package com.hrm.service.dto;
+
+import com.hrm.entity.enums.LeaveStatus;
+import com.hrm.entity.enums.LeaveType;
+
+public class CalendarAbsenceDTO {
+    private Long leaveRequestId;
+    private Long employeeId;
+    private String employeeName;
+    private LeaveType leaveType;
+    private LeaveStatus status;
+
+    // Default constructor
+    public CalendarAbsenceDTO() {}
+
+    // Constructor
+    public CalendarAbsenceDTO(Long leaveRequestId, Long employeeId, String employeeName,
+                              LeaveType leaveType, LeaveStatus status) {
+        this.leaveRequestId = leaveRequestId;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.leaveType = leaveType;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getLeaveRequestId() {
+        return leaveRequestId;
+    }
+
+    public void setLeaveRequestId(Long leaveRequestId) {
+        this.leaveRequestId = leaveRequestId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public LeaveType getLeaveType() {
+        return leaveType;
+    }
+
+    public void setLeaveType(LeaveType leaveType) {
+        this.leaveType = leaveType;
+    }
+
+    public LeaveStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeaveStatus status) {
+        this.status = status;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.hrm.service.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CalendarDayDTO {
+    private LocalDate date;
+    private int absentCount;
+    private List<CalendarAbsenceDTO> absences;
+
+    // Default constructor
+    public CalendarDayDTO() {}
+
+    // Constructor
+    public CalendarDayDTO(LocalDate date, int absentCount, List<CalendarAbsenceDTO> absences) {
+        this.date = date;
+        this.absentCount = absentCount;
+        this.absences = absences;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getAbsentCount() {
+        return absentCount;
+    }
+
+    public void setAbsentCount(int absentCount) {
+        this.absentCount = absentCount;
+    }
+
+    public List<CalendarAbsenceDTO> getAbsences() {
+        return absences;
+    }
+
+    public void setAbsences(List<CalendarAbsenceDTO> absences) {
+        this.absences = absences;
+    }
+}
\ No newline at end of file
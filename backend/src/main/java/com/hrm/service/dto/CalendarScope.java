@@ -0,0 +1,6 @@
+package com.hrm.service.dto;
+
+public enum CalendarScope {
+    DEPARTMENT,
+    MANAGER
+}
\ No newline at end of file
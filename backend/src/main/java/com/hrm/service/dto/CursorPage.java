@@ -0,0 +1,54 @@
+package com.hrm.service.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+
+    // Default constructor
+    public CursorPage() {}
+
+    // Constructor
+    public CursorPage(List<T> content, String nextCursor, boolean hasMore) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.size = content != null ? content.size() : 0;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,124 @@
+package com.hrm.service.dto;
+
+public class DepartmentDTO {
+    private Long id;
+    private String name;
+    private String code;
+    private String description;
+    private String location;
+    private Long budget;
+    private Boolean isActive;
+    private Long parentDepartmentId;
+    private String parentDepartmentName;
+    private Long headId;
+    private String headName;
+
+    // Default constructor
+    public DepartmentDTO() {}
+
+    // Constructor
+    public DepartmentDTO(Long id, String name, String code, String description, String location,
+                         Long budget, Boolean isActive, Long parentDepartmentId,
+                         String parentDepartmentName, Long headId, String headName) {
+        this.id = id;
+        this.name = name;
+        this.code = code;
+        this.description = description;
+        this.location = location;
+        this.budget = budget;
+        this.isActive = isActive;
+        this.parentDepartmentId = parentDepartmentId;
+        this.parentDepartmentName = parentDepartmentName;
+        this.headId = headId;
+        this.headName = headName;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Long getBudget() {
+        return budget;
+    }
+
+    public void setBudget(Long budget) {
+        this.budget = budget;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    public Long getParentDepartmentId() {
+        return parentDepartmentId;
+    }
+
+    public void setParentDepartmentId(Long parentDepartmentId) {
+        this.parentDepartmentId = parentDepartmentId;
+    }
+
+    public String getParentDepartmentName() {
+        return parentDepartmentName;
+    }
+
+    public void setParentDepartmentName(String parentDepartmentName) {
+        this.parentDepartmentName = parentDepartmentName;
+    }
+
+    public Long getHeadId() {
+        return headId;
+    }
+
+    public void setHeadId(Long headId) {
+        this.headId = headId;
+    }
+
+    public String getHeadName() {
+        return headName;
+    }
+
+    public void setHeadName(String headName) {
+        this.headName = headName;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.hrm.service.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class DepartmentPresenceDTO {
+    private Long departmentId;
+    private LocalDate date;
+    private Map<PresenceState, Integer> counts = new EnumMap<>(PresenceState.class);
+    private List<EmployeePresenceDTO> employees = new ArrayList<>();
+
+    // Default constructor
+    public DepartmentPresenceDTO() {}
+
+    // Constructor
+    public DepartmentPresenceDTO(Long departmentId, LocalDate date) {
+        this.departmentId = departmentId;
+        this.date = date;
+    }
+
+    // Getters and Setters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Map<PresenceState, Integer> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<PresenceState, Integer> counts) {
+        this.counts = counts;
+    }
+
+    public List<EmployeePresenceDTO> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeePresenceDTO> employees) {
+        this.employees = employees;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.hrm.service.dto;
+
+import com.hrm.entity.enums.EmployeeStatus;
+
+import java.time.LocalDate;
+
+public class EmployeeDTO {
+    private Long id;
+    private String employeeId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private String jobTitle;
+    private EmployeeStatus status;
+    private LocalDate hireDate;
+    private Long departmentId;
+    private String departmentName;
+    private Long managerId;
+    private String managerName;
+    private Integer annualLeaveBalance;
+    private Integer sickLeaveBalance;
+
+    // Default constructor
+    public EmployeeDTO() {}
+
+    // Constructor
+    public EmployeeDTO(Long id, String employeeId, String firstName, String lastName, String email,
+                       String phoneNumber, String jobTitle, EmployeeStatus status,
+                       LocalDate hireDate, Long departmentId, String departmentName, Long managerId,
+                       String managerName, Integer annualLeaveBalance, Integer sickLeaveBalance) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.jobTitle = jobTitle;
+        this.status = status;
+        this.hireDate = hireDate;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.managerId = managerId;
+        this.managerName = managerName;
+        this.annualLeaveBalance = annualLeaveBalance;
+        this.sickLeaveBalance = sickLeaveBalance;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public void setJobTitle(String jobTitle) {
+        this.jobTitle = jobTitle;
+    }
+
+    public EmployeeStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EmployeeStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+
+    public void setHireDate(LocalDate hireDate) {
+        this.hireDate = hireDate;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+
+    public String getManagerName() {
+        return managerName;
+    }
+
+    public void setManagerName(String managerName) {
+        this.managerName = managerName;
+    }
+
+    public Integer getAnnualLeaveBalance() {
+        return annualLeaveBalance;
+    }
+
+    public void setAnnualLeaveBalance(Integer annualLeaveBalance) {
+        this.annualLeaveBalance = annualLeaveBalance;
+    }
+
+    public Integer getSickLeaveBalance() {
+        return sickLeaveBalance;
+    }
+
+    public void setSickLeaveBalance(Integer sickLeaveBalance) {
+        this.sickLeaveBalance = sickLeaveBalance;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.hrm.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployeeImportResultDTO {
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+    private long durationMillis;
+    private List<RowError> errors = new ArrayList<>();
+
+    // Default constructor
+    public EmployeeImportResultDTO() {}
+
+    public void addError(int rowNumber, String message) {
+        errors.add(new RowError(rowNumber, message));
+        failedCount++;
+    }
+
+    // Getters and Setters
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int rowNumber;
+        private String message;
+
+        // Default constructor
+        public RowError() {}
+
+        // Constructor
+        public RowError(int rowNumber, String message) {
+            this.rowNumber = rowNumber;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public void setRowNumber(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.hrm.service.dto;
+
+public class EmployeePresenceDTO {
+    private Long employeeId;
+    private String employeeName;
+    private PresenceState state;
+
+    // Default constructor
+    public EmployeePresenceDTO() {}
+
+    // Constructor
+    public EmployeePresenceDTO(Long employeeId, String employeeName, PresenceState state) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.state = state;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public PresenceState getState() {
+        return state;
+    }
+
+    public void setState(PresenceState state) {
+        this.state = state;
+    }
+}
\ No newline at end of file
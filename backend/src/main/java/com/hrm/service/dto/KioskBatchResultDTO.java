@@ -0,0 +1,109 @@
+package com.hrm.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class KioskBatchResultDTO {
+    private int succeededCount;
+    private int failedCount;
+    private List<ItemResult> results = new ArrayList<>();
+
+    // Default constructor
+    public KioskBatchResultDTO() {}
+
+    public void addSuccess(int index, Long employeeId, KioskEventType type) {
+        results.add(new ItemResult(index, employeeId, type, true, null));
+        succeededCount++;
+    }
+
+    public void addFailure(int index, Long employeeId, KioskEventType type, String message) {
+        results.add(new ItemResult(index, employeeId, type, false, message));
+        failedCount++;
+    }
+
+    // Getters and Setters
+    public int getSucceededCount() {
+        return succeededCount;
+    }
+
+    public void setSucceededCount(int succeededCount) {
+        this.succeededCount = succeededCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+
+    public static class ItemResult {
+        private int index;
+        private Long employeeId;
+        private KioskEventType type;
+        private boolean success;
+        private String message;
+
+        // Default constructor
+        public ItemResult() {}
+
+        // Constructor
+        public ItemResult(int index, Long employeeId, KioskEventType type, boolean success, String message) {
+            this.index = index;
+            this.employeeId = employeeId;
+            this.type = type;
+            this.success = success;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public void setEmployeeId(Long employeeId) {
+            this.employeeId = employeeId;
+        }
+
+        public KioskEventType getType() {
+            return type;
+        }
+
+        public void setType(KioskEventType type) {
+            this.type = type;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.hrm.service.dto;
+
+import java.time.LocalDateTime;
+
+public class KioskEventDTO {
+    private Long employeeId;
+    private KioskEventType type;
+    private LocalDateTime timestamp;
+    private String location;
+    private String ipAddress;
+
+    // Default constructor
+    public KioskEventDTO() {}
+
+    // Constructor
+    public KioskEventDTO(Long employeeId, KioskEventType type, LocalDateTime timestamp,
+                         String location, String ipAddress) {
+        this.employeeId = employeeId;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.location = location;
+        this.ipAddress = ipAddress;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public KioskEventType getType() {
+        return type;
+    }
+
+    public void setType(KioskEventType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+}
\ No newline at end of file
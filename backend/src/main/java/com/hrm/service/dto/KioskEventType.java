@@ -0,0 +1,6 @@
+package com.hrm.service.dto;
+
+public enum KioskEventType {
+    CHECK_IN,
+    CHECK_OUT
+}
\ No newline at end of file
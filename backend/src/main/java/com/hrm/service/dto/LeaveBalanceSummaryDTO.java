@@ -0,0 +1,87 @@
+package com.hrm.service.dto;
+
+import com.hrm.entity.enums.LeaveType;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class LeaveBalanceSummaryDTO {
+    private Long employeeId;
+    private String employeeName;
+    private Long departmentId;
+    private String departmentName;
+    private int year;
+    private Map<LeaveType, BigDecimal> balances = new EnumMap<>(LeaveType.class);
+    private Map<LeaveType, Long> usedDays = new EnumMap<>(LeaveType.class);
+
+    // Default constructor
+    public LeaveBalanceSummaryDTO() {}
+
+    // Constructor
+    public LeaveBalanceSummaryDTO(Long employeeId, String employeeName, Long departmentId,
+                                  String departmentName, int year) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.year = year;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public Map<LeaveType, BigDecimal> getBalances() {
+        return balances;
+    }
+
+    public void setBalances(Map<LeaveType, BigDecimal> balances) {
+        this.balances = balances;
+    }
+
+    public Map<LeaveType, Long> getUsedDays() {
+        return usedDays;
+    }
+
+    public void setUsedDays(Map<LeaveType, Long> usedDays) {
+        this.usedDays = usedDays;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.hrm.service.dto;
+
+public enum LeaveDecision {
+    APPROVE,
+    REJECT
+}
\ No newline at end of file
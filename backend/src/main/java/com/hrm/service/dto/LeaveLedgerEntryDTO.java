@@ -0,0 +1,110 @@
+package com.hrm.service.dto;
+
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.entity.enums.LedgerEntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class LeaveLedgerEntryDTO {
+    private Long id;
+    private Long employeeId;
+    private LeaveType leaveType;
+    private Integer balanceYear;
+    private LedgerEntryType entryType;
+    private BigDecimal days;
+    private Long leaveRequestId;
+    private String description;
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public LeaveLedgerEntryDTO() {}
+
+    // Constructor
+    public LeaveLedgerEntryDTO(Long id, Long employeeId, LeaveType leaveType, Integer balanceYear,
+                               LedgerEntryType entryType, BigDecimal days, Long leaveRequestId,
+                               String description, LocalDateTime createdAt) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.leaveType = leaveType;
+        this.balanceYear = balanceYear;
+        this.entryType = entryType;
+        this.days = days;
+        this.leaveRequestId = leaveRequestId;
+        this.description = description;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LeaveType getLeaveType() {
+        return leaveType;
+    }
+
+    public void setLeaveType(LeaveType leaveType) {
+        this.leaveType = leaveType;
+    }
+
+    public Integer getBalanceYear() {
+        return balanceYear;
+    }
+
+    public void setBalanceYear(Integer balanceYear) {
+        this.balanceYear = balanceYear;
+    }
+
+    public LedgerEntryType getEntryType() {
+        return entryType;
+    }
+
+    public void setEntryType(LedgerEntryType entryType) {
+        this.entryType = entryType;
+    }
+
+    public BigDecimal getDays() {
+        return days;
+    }
+
+    public void setDays(BigDecimal days) {
+        this.days = days;
+    }
+
+    public Long getLeaveRequestId() {
+        return leaveRequestId;
+    }
+
+    public void setLeaveRequestId(Long leaveRequestId) {
+        this.leaveRequestId = leaveRequestId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
\ No newline at end of file
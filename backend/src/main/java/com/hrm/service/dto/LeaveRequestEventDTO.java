@@ -0,0 +1,55 @@
+package com.hrm.service.dto;
+
+import java.time.LocalDateTime;
+
+public class LeaveRequestEventDTO {
+    private LeaveRequestEventType type;
+    private Long managerId;
+    private LocalDateTime occurredAt;
+    private LeaveRequestDTO leaveRequest;
+
+    // Default constructor
+    public LeaveRequestEventDTO() {}
+
+    // Constructor
+    public LeaveRequestEventDTO(LeaveRequestEventType type, Long managerId,
+                                LocalDateTime occurredAt, LeaveRequestDTO leaveRequest) {
+        this.type = type;
+        this.managerId = managerId;
+        this.occurredAt = occurredAt;
+        this.leaveRequest = leaveRequest;
+    }
+
+    // Getters and Setters
+    public LeaveRequestEventType getType() {
+        return type;
+    }
+
+    public void setType(LeaveRequestEventType type) {
+        this.type = type;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public LeaveRequestDTO getLeaveRequest() {
+        return leaveRequest;
+    }
+
+    public void setLeaveRequest(LeaveRequestDTO leaveRequest) {
+        this.leaveRequest = leaveRequest;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.hrm.service.dto;
+
+public enum LeaveRequestEventType {
+    SUBMITTED,
+    UPDATED,
+    APPROVED,
+    REJECTED,
+    CANCELLED,
+    DELETED
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.hrm.service.dto;
+
+import java.util.List;
+
+public class OrgChartNodeDTO {
+    private Long employeeId;
+    private Long managerId;
+    private int depth;
+    private int directReportCount;
+    private int totalReportCount;
+    private List<Long> pathToRoot;
+
+    // Default constructor
+    public OrgChartNodeDTO() {}
+
+    // Constructor
+    public OrgChartNodeDTO(Long employeeId, Long managerId, int depth, int directReportCount,
+                           int totalReportCount, List<Long> pathToRoot) {
+        this.employeeId = employeeId;
+        this.managerId = managerId;
+        this.depth = depth;
+        this.directReportCount = directReportCount;
+        this.totalReportCount = totalReportCount;
+        this.pathToRoot = pathToRoot;
+    }
+
+    // Getters and Setters
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getDirectReportCount() {
+        return directReportCount;
+    }
+
+    public void setDirectReportCount(int directReportCount) {
+        this.directReportCount = directReportCount;
+    }
+
+    public int getTotalReportCount() {
+        return totalReportCount;
+    }
+
+    public void setTotalReportCount(int totalReportCount) {
+        this.totalReportCount = totalReportCount;
+    }
+
+    public List<Long> getPathToRoot() {
+        return pathToRoot;
+    }
+
+    public void setPathToRoot(List<Long> pathToRoot) {
+        this.pathToRoot = pathToRoot;
+    }
+}
\ No newline at end of file
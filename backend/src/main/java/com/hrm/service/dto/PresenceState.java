@@ -0,0 +1,21 @@
+package com.hrm.service.dto;
+
+import java.time.LocalDateTime;
+
+public enum PresenceState {
+    NOT_CHECKED_IN,
+    CHECKED_IN,
+    ON_BREAK,
+    CHECKED_OUT;
+
+    public static PresenceState of(LocalDateTime checkInTime, LocalDateTime breakStartTime,
+                                   LocalDateTime breakEndTime, LocalDateTime checkOutTime) {
+        if (checkOutTime != null) {
+            return CHECKED_OUT;
+        }
+        if (breakStartTime != null && breakEndTime == null) {
+            return ON_BREAK;
+        }
+        return checkInTime != null ? CHECKED_IN : NOT_CHECKED_IN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.hrm.service.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public class TeamLeaveCalendarDTO {
+    private CalendarScope scope;
+    private Long scopeId;
+    private YearMonth month;
+    private int peakAbsentCount;
+    private List<CalendarDayDTO> days;
+
+    // Default constructor
+    public TeamLeaveCalendarDTO() {}
+
+    // Constructor
+    public TeamLeaveCalendarDTO(CalendarScope scope, Long scopeId, YearMonth month,
+                                int peakAbsentCount, List<CalendarDayDTO> days) {
+        this.scope = scope;
+        this.scopeId = scopeId;
+        this.month = month;
+        this.peakAbsentCount = peakAbsentCount;
+        this.days = days;
+    }
+
+    // Getters and Setters
+    public CalendarScope getScope() {
+        return scope;
+    }
+
+    public void setScope(CalendarScope scope) {
+        this.scope = scope;
+    }
+
+    public Long getScopeId() {
+        return scopeId;
+    }
+
+    public void setScopeId(Long scopeId) {
+        this.scopeId = scopeId;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public int getPeakAbsentCount() {
+        return peakAbsentCount;
+    }
+
+    public void setPeakAbsentCount(int peakAbsentCount) {
+        this.peakAbsentCount = peakAbsentCount;
+    }
+
+    public List<CalendarDayDTO> getDays() {
+        return days;
+    }
+
+    public void setDays(List<CalendarDayDTO> days) {
+        this.days = days;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.hrm.service.event;
+
+public class EmployeeManagerChangedEvent {
+    private final Long employeeId;
+    private final Long previousManagerId;
+    private final Long newManagerId;
+
+    public EmployeeManagerChangedEvent(Long employeeId, Long previousManagerId, Long newManagerId) {
+        this.employeeId = employeeId;
+        this.previousManagerId = previousManagerId;
+        this.newManagerId = newManagerId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getPreviousManagerId() {
+        return previousManagerId;
+    }
+
+    public Long getNewManagerId() {
+        return newManagerId;
+    }
+}
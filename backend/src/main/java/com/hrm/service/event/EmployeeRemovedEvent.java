@@ -0,0 +1,13 @@
+package com.hrm.service.event;
+
+public class EmployeeRemovedEvent {
+    private final Long employeeId;
+
+    public EmployeeRemovedEvent(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.hrm.service.event;
+
+import com.hrm.service.dto.LeaveRequestEventDTO;
+
+public class LeaveRequestChangedEvent {
+    private final LeaveRequestEventDTO payload;
+
+    public LeaveRequestChangedEvent(LeaveRequestEventDTO payload) {
+        this.payload = payload;
+    }
+
+    public LeaveRequestEventDTO getPayload() {
+        return payload;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.hrm.service.mapper;
+
+import com.hrm.repository.projection.DepartmentRow;
+import com.hrm.service.dto.DepartmentDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DepartmentMapper {
+
+    public DepartmentDTO toDTO(DepartmentRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return new DepartmentDTO(row.getId(), row.getName(), row.getCode(), row.getDescription(),
+                row.getLocation(), row.getBudget(), row.getIsActive(), row.getParentDepartmentId(),
+                row.getParentDepartmentName(), row.getHeadId(), row.getHeadName());
+    }
+}
@@ -0,0 +1,46 @@
+package com.hrm.service.mapper;
+
+import com.hrm.entity.Employee;
+import com.hrm.repository.projection.EmployeeSearchRow;
+import com.hrm.service.dto.EmployeeDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmployeeMapper {
+
+    public EmployeeDTO toDTO(Employee entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setId(entity.getId());
+        dto.setEmployeeId(entity.getEmployeeId());
+        dto.setFirstName(entity.getFirstName());
+        dto.setLastName(entity.getLastName());
+        dto.setEmail(entity.getEmail());
+        dto.setPhoneNumber(entity.getPhoneNumber());
+        dto.setJobTitle(entity.getJobTitle());
+        dto.setStatus(entity.getStatus());
+        dto.setHireDate(entity.getHireDate());
+        dto.setDepartmentId(entity.getDepartment() != null ? entity.getDepartment().getId() : null);
+        dto.setDepartmentName(entity.getDepartment() != null ? entity.getDepartment().getName() : null);
+        dto.setManagerId(entity.getManager() != null ? entity.getManager().getId() : null);
+        dto.setManagerName(entity.getManager() != null ? entity.getManager().getFullName() : null);
+        dto.setAnnualLeaveBalance(entity.getAnnualLeaveBalance());
+        dto.setSickLeaveBalance(entity.getSickLeaveBalance());
+
+        return dto;
+    }
+
+    public EmployeeDTO toDTO(EmployeeSearchRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return new EmployeeDTO(row.getId(), row.getEmployeeId(), row.getFirstName(), row.getLastName(),
+                row.getEmail(), row.getPhoneNumber(), row.getJobTitle(), row.getStatus(), row.getHireDate(),
+                row.getDepartmentId(), row.getDepartmentName(), row.getManagerId(), row.getManagerName(),
+                row.getAnnualLeaveBalance(), row.getSickLeaveBalance());
+    }
+}
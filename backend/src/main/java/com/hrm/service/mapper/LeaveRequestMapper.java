@@ -7,7 +7,6 @@ import com.hrm.service.dto.LeaveRequestUpdateDTO;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 
 @Component
 public class LeaveRequestMapper {
@@ -25,7 +24,7 @@ public class LeaveRequestMapper {
         dto.setLeaveType(entity.getLeaveType());
         dto.setStartDate(entity.getStartDate());
         dto.setEndDate(entity.getEndDate());
-        dto.setTotalDays(entity.getTotalDays());
+        dto.setTotalDays(entity.getDaysRequested() != null ? entity.getDaysRequested().doubleValue() : null);
         dto.setReason(entity.getReason());
         dto.setStatus(entity.getStatus());
         dto.setApproverComments(entity.getApproverComments());
@@ -47,12 +46,7 @@ public class LeaveRequestMapper {
         entity.setEndDate(dto.getEndDate());
         entity.setReason(dto.getReason());
         entity.setAppliedDate(LocalDate.now());
-        
-        // Calculate total days
-        if (dto.getStartDate() != null && dto.getEndDate() != null) {
-            long daysBetween = ChronoUnit.DAYS.between(dto.getStartDate(), dto.getEndDate()) + 1;
-            entity.setTotalDays((double) daysBetween);
-        }
+        // Days requested depend on the employee's working-day calendar and are set by LeaveRequestService
 
         return entity;
     }
@@ -74,11 +68,5 @@ public class LeaveRequestMapper {
         if (dto.getReason() != null) {
             entity.setReason(dto.getReason());
         }
-
-        // Recalculate total days if dates changed
-        if (entity.getStartDate() != null && entity.getEndDate() != null) {
-            long daysBetween = ChronoUnit.DAYS.between(entity.getStartDate(), entity.getEndDate()) + 1;
-            entity.setTotalDays((double) daysBetween);
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+-- Year-start accrual and carry-over runs. The row per balance year is also the restart checkpoint:
+-- every chunk commits its ledger postings together with last_employee_id, so a restarted run
+-- resumes after the last committed chunk.
+CREATE TABLE leave_accrual_runs (
+    id BIGSERIAL PRIMARY KEY,
+    balance_year INTEGER NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    last_employee_id BIGINT NOT NULL DEFAULT 0,
+    processed_employees INTEGER NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    version BIGINT DEFAULT 0
+);
+
+ALTER SEQUENCE leave_accrual_runs_id_seq INCREMENT BY 50;
+
+-- At most one accrual and one carry-over posting per balance and year, so re-running a period is a no-op
+CREATE UNIQUE INDEX uk_leave_ledger_period_posting
+    ON leave_ledger_entries(employee_id, leave_type, balance_year, entry_type)
+    WHERE entry_type IN ('ACCRUAL', 'CARRY_OVER');
\ No newline at end of file
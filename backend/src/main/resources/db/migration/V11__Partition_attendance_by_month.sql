@@ -0,0 +1,77 @@
+-- Converts attendance to monthly range partitions on date. Every repository query filters on date,
+-- so PostgreSQL prunes to the months it touches. Partitions are named attendance_YYYY_MM;
+-- AttendancePartitionJob keeps future months created and moves expired ones to attendance_archive.
+-- The primary key must include the partition key, hence (id, date); ids still come from the sequence.
+
+ALTER TABLE attendance RENAME TO attendance_legacy;
+
+CREATE TABLE attendance (LIKE attendance_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (date);
+
+CREATE SCHEMA IF NOT EXISTS attendance_archive;
+
+-- Idempotent so the job can call it for months that already exist
+CREATE OR REPLACE FUNCTION create_attendance_partition(partition_month DATE) RETURNS TEXT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', partition_month)::date;
+    partition_name TEXT := 'attendance_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('attendance_partitions'));
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF attendance FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, (month_start + INTERVAL '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches every partition that ends on or before cutoff and moves it to attendance_archive
+CREATE OR REPLACE FUNCTION archive_attendance_partitions(cutoff DATE) RETURNS SETOF TEXT AS $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('attendance_partitions'));
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'public.attendance'::regclass
+          AND c.relname ~ '^attendance_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(c.relname FROM 12), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE attendance DETACH PARTITION %I', partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA attendance_archive', partition_name);
+        RETURN NEXT partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- One partition per month that has rows, through three months ahead
+DO $$
+DECLARE
+    partition_month DATE := date_trunc('month',
+        COALESCE((SELECT MIN(date) FROM attendance_legacy), CURRENT_DATE))::date;
+    last_month DATE := date_trunc('month',
+        GREATEST(COALESCE((SELECT MAX(date) FROM attendance_legacy), CURRENT_DATE),
+                 CURRENT_DATE + INTERVAL '3 months'))::date;
+BEGIN
+    WHILE partition_month <= last_month LOOP
+        PERFORM create_attendance_partition(partition_month);
+        partition_month := (partition_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO attendance SELECT * FROM attendance_legacy;
+
+ALTER SEQUENCE attendance_id_seq OWNED BY attendance.id;
+
+DROP TABLE attendance_legacy;
+
+-- Constraints and indexes are built after the copy; each partition gets its own copy
+ALTER TABLE attendance ADD CONSTRAINT attendance_pkey PRIMARY KEY (id, date);
+ALTER TABLE attendance ADD CONSTRAINT uk_attendance_employee_date UNIQUE (employee_id, date);
+ALTER TABLE attendance ADD CONSTRAINT fk_attendance_employee FOREIGN KEY (employee_id) REFERENCES employees(id);
+ALTER TABLE attendance ADD CONSTRAINT fk_attendance_approver FOREIGN KEY (approved_by_id) REFERENCES employees(id);
+
+-- uk_attendance_employee_date serves the per-employee lookups that idx_attendance_employee(_date) did
+CREATE INDEX idx_attendance_date ON attendance(date);
+CREATE INDEX idx_attendance_overtime ON attendance(date) WHERE overtime_hours > 0;
+
+CREATE TRIGGER update_attendance_updated_at BEFORE UPDATE ON attendance
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
\ No newline at end of file
@@ -0,0 +1,37 @@
+-- Per-employee monthly attendance totals. AttendanceRollupService recomputes an employee's month from
+-- its raw rows whenever one of them is written, and AttendanceRollupJob rebuilds recent months nightly.
+-- Hours and working-day reports read whole months from here and only the partial edge months from attendance.
+CREATE TABLE attendance_monthly_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    hours_worked DOUBLE PRECISION NOT NULL DEFAULT 0,
+    overtime_hours DOUBLE PRECISION NOT NULL DEFAULT 0,
+    present_days INTEGER NOT NULL DEFAULT 0,
+    late_days INTEGER NOT NULL DEFAULT 0,
+    remote_days INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    version BIGINT DEFAULT 0,
+    CONSTRAINT uk_attendance_monthly_rollup UNIQUE (employee_id, month),
+    CONSTRAINT ck_attendance_monthly_rollup_month CHECK (EXTRACT(DAY FROM month) = 1),
+    CONSTRAINT fk_attendance_monthly_rollup_employee FOREIGN KEY (employee_id) REFERENCES employees(id)
+);
+
+ALTER SEQUENCE attendance_monthly_rollups_id_seq INCREMENT BY 50;
+
+CREATE TRIGGER update_attendance_monthly_rollups_updated_at BEFORE UPDATE ON attendance_monthly_rollups
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- Late means checked in after 09:00, as in Attendance.isLateArrival
+INSERT INTO attendance_monthly_rollups (employee_id, month, hours_worked, overtime_hours,
+                                        present_days, late_days, remote_days)
+SELECT a.employee_id, CAST(date_trunc('month', a.date) AS DATE),
+       COALESCE(SUM(a.total_hours_worked), 0), COALESCE(SUM(a.overtime_hours), 0),
+       COUNT(a.check_in_time),
+       COUNT(*) FILTER (WHERE CAST(date_trunc('minute', a.check_in_time) AS TIME) > TIME '09:00'),
+       COUNT(*) FILTER (WHERE a.is_remote)
+FROM attendance a
+GROUP BY a.employee_id, date_trunc('month', a.date);
\ No newline at end of file
@@ -0,0 +1,28 @@
+-- Rows for a month that has no partition of its own (e.g. a correction dated before the partitioned
+-- range) land in attendance_default instead of failing the insert. AttendancePartitionJob creates
+-- partitions for the months found there, and create_attendance_partition moves their rows across.
+CREATE TABLE IF NOT EXISTS attendance_default PARTITION OF attendance DEFAULT;
+
+-- Idempotent so the job can call it for months that already exist. A new month must not overlap rows
+-- already in the default partition, so the default is detached while they are moved; this briefly
+-- locks attendance, but only when a month is actually created.
+CREATE OR REPLACE FUNCTION create_attendance_partition(partition_month DATE) RETURNS TEXT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', partition_month)::date;
+    month_end DATE := (date_trunc('month', partition_month) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'attendance_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('attendance_partitions'));
+    IF to_regclass(format('public.%I', partition_name)) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+    ALTER TABLE attendance DETACH PARTITION attendance_default;
+    EXECUTE format('CREATE TABLE %I PARTITION OF attendance FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_end);
+    EXECUTE format('INSERT INTO %I SELECT * FROM attendance_default WHERE date >= %L AND date < %L',
+                   partition_name, month_start, month_end);
+    DELETE FROM attendance_default WHERE date >= month_start AND date < month_end;
+    ALTER TABLE attendance ATTACH PARTITION attendance_default DEFAULT;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
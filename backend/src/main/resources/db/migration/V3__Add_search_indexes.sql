@@ -0,0 +1,16 @@
+-- Trigram indexes for employee and department search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Denormalized, lower-cased search text so a single GIN index serves every searchable field
+ALTER TABLE employees ADD COLUMN search_text TEXT
+    GENERATED ALWAYS AS (
+        LOWER(first_name || ' ' || last_name || ' ' || email || ' ' || employee_id)
+    ) STORED;
+
+ALTER TABLE departments ADD COLUMN search_text TEXT
+    GENERATED ALWAYS AS (
+        LOWER(name || ' ' || code)
+    ) STORED;
+
+CREATE INDEX idx_employees_search_text_trgm ON employees USING GIN (search_text gin_trgm_ops);
+CREATE INDEX idx_departments_search_text_trgm ON departments USING GIN (search_text gin_trgm_ops);
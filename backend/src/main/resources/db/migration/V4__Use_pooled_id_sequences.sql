@@ -0,0 +1,10 @@
+-- Switch primary key generation to pooled sequences so Hibernate can batch inserts.
+-- Hibernate reserves ids in blocks of 50 per nextval (pooled optimizer); rows inserted
+-- outside Hibernate still use the column default and never collide with a reserved block.
+ALTER SEQUENCE departments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE employees_id_seq INCREMENT BY 50;
+ALTER SEQUENCE leave_requests_id_seq INCREMENT BY 50;
+ALTER SEQUENCE attendance_id_seq INCREMENT BY 50;
+ALTER SEQUENCE performance_reviews_id_seq INCREMENT BY 50;
+ALTER SEQUENCE performance_goals_id_seq INCREMENT BY 50;
+ALTER SEQUENCE performance_ratings_id_seq INCREMENT BY 50;
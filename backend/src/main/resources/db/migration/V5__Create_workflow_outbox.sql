@@ -0,0 +1,27 @@
+-- Transactional outbox for Airflow dagRun triggers. Rows are written in the same transaction
+-- as the leave request and delivered by AirflowOutboxDispatcher, which claims due rows with
+-- FOR UPDATE SKIP LOCKED so several instances can dispatch concurrently.
+CREATE TABLE workflow_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    leave_request_id BIGINT NOT NULL,
+    dag_id VARCHAR(255) NOT NULL,
+    dag_run_id VARCHAR(255) NOT NULL UNIQUE,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(1000),
+    dispatched_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    version BIGINT DEFAULT 0,
+    CONSTRAINT fk_workflow_outbox_leave_request FOREIGN KEY (leave_request_id) REFERENCES leave_requests(id)
+);
+
+-- Only undelivered rows are ever polled
+CREATE INDEX idx_workflow_outbox_due ON workflow_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_workflow_outbox_leave_request ON workflow_outbox(leave_request_id);
+
+ALTER SEQUENCE workflow_outbox_id_seq INCREMENT BY 50;
\ No newline at end of file
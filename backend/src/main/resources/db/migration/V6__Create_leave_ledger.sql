@@ -0,0 +1,70 @@
+-- Append-only leave ledger. Every change to a tracked leave balance (annual, sick) is an entry;
+-- leave_balance_snapshots holds the running balance per employee, leave type and year so a
+-- balance read is a single unique-index lookup. The snapshot can always be rebuilt from the ledger.
+CREATE TABLE leave_ledger_entries (
+    id BIGSERIAL PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    leave_type VARCHAR(20) NOT NULL,
+    balance_year INTEGER NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    days NUMERIC(7, 2) NOT NULL,
+    leave_request_id BIGINT,
+    description VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    version BIGINT DEFAULT 0,
+    CONSTRAINT fk_leave_ledger_employee FOREIGN KEY (employee_id) REFERENCES employees(id),
+    CONSTRAINT fk_leave_ledger_leave_request FOREIGN KEY (leave_request_id) REFERENCES leave_requests(id)
+);
+
+CREATE INDEX idx_leave_ledger_balance ON leave_ledger_entries(employee_id, leave_type, balance_year, id);
+CREATE INDEX idx_leave_ledger_leave_request ON leave_ledger_entries(leave_request_id);
+
+-- Corrections are new ADJUSTMENT entries; existing entries are never rewritten
+CREATE OR REPLACE FUNCTION reject_leave_ledger_change() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'leave_ledger_entries is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_leave_ledger_append_only
+    BEFORE UPDATE OR DELETE ON leave_ledger_entries
+    FOR EACH ROW EXECUTE FUNCTION reject_leave_ledger_change();
+
+CREATE TABLE leave_balance_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    leave_type VARCHAR(20) NOT NULL,
+    balance_year INTEGER NOT NULL,
+    balance NUMERIC(7, 2) NOT NULL,
+    last_entry_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    version BIGINT DEFAULT 0,
+    CONSTRAINT uk_leave_balance_snapshot UNIQUE (employee_id, leave_type, balance_year),
+    CONSTRAINT fk_leave_balance_snapshot_employee FOREIGN KEY (employee_id) REFERENCES employees(id)
+);
+
+-- Open the current year from the balances tracked on employees so far. These entries carry their own
+-- type because the cut-over year's grant is already part of them, including when the balance is 0
+INSERT INTO leave_ledger_entries (employee_id, leave_type, balance_year, entry_type, days, description)
+SELECT id, 'ANNUAL', EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER, 'LEGACY_OPENING', COALESCE(annual_leave_balance, 0),
+       'Opening balance from employees.annual_leave_balance'
+FROM employees;
+
+INSERT INTO leave_ledger_entries (employee_id, leave_type, balance_year, entry_type, days, description)
+SELECT id, 'SICK', EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER, 'LEGACY_OPENING', COALESCE(sick_leave_balance, 0),
+       'Opening balance from employees.sick_leave_balance'
+FROM employees;
+
+INSERT INTO leave_balance_snapshots (employee_id, leave_type, balance_year, balance, last_entry_id)
+SELECT employee_id, leave_type, balance_year, SUM(days), MAX(id)
+FROM leave_ledger_entries
+GROUP BY employee_id, leave_type, balance_year;
+
+ALTER SEQUENCE leave_ledger_entries_id_seq INCREMENT BY 50;
+ALTER SEQUENCE leave_balance_snapshots_id_seq INCREMENT BY 50;
\ No newline at end of file
@@ -0,0 +1,11 @@
+-- Enforce "no two active leave requests of one employee overlap" in the database. The exclusion
+-- constraint's GiST index also serves the overlap lookups, replacing the start_date range scan.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE leave_requests
+    ADD COLUMN leave_period DATERANGE GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+ALTER TABLE leave_requests
+    ADD CONSTRAINT ex_leave_requests_no_overlap
+    EXCLUDE USING gist (employee_id WITH =, leave_period WITH &&)
+    WHERE (status IN ('PENDING', 'APPROVED'));
\ No newline at end of file
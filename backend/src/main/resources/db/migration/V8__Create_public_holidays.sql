@@ -0,0 +1,16 @@
+-- Public holidays per country, matched against employees.country. WorkingDayCalendar folds them
+-- with the configured weekend into one working-day bitset and prefix-sum table per country and year.
+CREATE TABLE public_holidays (
+    id BIGSERIAL PRIMARY KEY,
+    country VARCHAR(50) NOT NULL,
+    holiday_date DATE NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    version BIGINT DEFAULT 0,
+    CONSTRAINT uk_public_holiday UNIQUE (country, holiday_date)
+);
+
+ALTER SEQUENCE public_holidays_id_seq INCREMENT BY 50;
\ No newline at end of file
@@ -0,0 +1,8 @@
+-- Covers approved-leave usage reporting. Queries filter on a start_date range rather than
+-- YEAR(start_date) so the index applies; the partial predicate keeps it to approved rows and
+-- INCLUDE lets SUM(days_requested) be answered from the index alone. Its (employee_id, leave_type)
+-- order also lets grouped usage queries aggregate in index order without a sort.
+CREATE INDEX idx_leave_requests_approved_usage
+    ON leave_requests(employee_id, leave_type, start_date)
+    INCLUDE (days_requested)
+    WHERE status = 'APPROVED';
\ No newline at end of file
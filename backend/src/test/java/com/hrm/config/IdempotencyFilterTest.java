@@ -0,0 +1,91 @@
+package com.hrm.config;
+
+import com.hrm.service.IdempotencyStore;
+import com.hrm.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A key is executed once per caller and request body; retries replay, reuse with another body is
+ * rejected, and a retry of a request still running gets 409.
+ */
+class IdempotencyFilterTest extends IntegrationTest {
+
+    private static final String PATH = "/api/attendance/kiosk/events";
+
+    // Unknown employees, so the batch is answered with per-event failures and writes nothing
+    private static final String BATCH = "[{\"employeeId\":" + Long.MAX_VALUE + ",\"type\":\"CHECK_IN\",\"location\":\"Lobby\"}]";
+    private static final String OTHER_BATCH = "[{\"employeeId\":" + (Long.MAX_VALUE - 1) + ",\"type\":\"CHECK_IN\",\"location\":\"Lobby\"}]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Test
+    void replaysTheFirstResponseToARetry() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String first = send("kiosk-1", key, BATCH)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        send("kiosk-1", key, BATCH)
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(first, true));
+    }
+
+    @Test
+    void rejectsAKeyReusedWithADifferentBody() throws Exception {
+        String key = UUID.randomUUID().toString();
+        send("kiosk-1", key, BATCH).andExpect(status().isOk());
+
+        send("kiosk-1", key, OTHER_BATCH).andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void scopesKeysToTheCaller() throws Exception {
+        String key = UUID.randomUUID().toString();
+        send("kiosk-1", key, BATCH).andExpect(status().isOk());
+
+        send("kiosk-2", key, BATCH)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void rejectsARetryWhileTheOriginalIsInFlight() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String storeKey = IdempotencyFilter.key("kiosk-1", PATH, key);
+        idempotencyStore.claim(storeKey, IdempotencyFilter.hash(BATCH.getBytes(StandardCharsets.UTF_8)));
+        try {
+            send("kiosk-1", key, BATCH).andExpect(status().isConflict());
+        } finally {
+            idempotencyStore.release(storeKey);
+        }
+    }
+
+    private ResultActions send(String subject, String key, String body) throws Exception {
+        return mockMvc.perform(post(PATH)
+                .with(jwt().jwt(token -> token.subject(subject)))
+                .with(csrf())
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
\ No newline at end of file
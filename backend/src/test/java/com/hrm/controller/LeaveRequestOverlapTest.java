@@ -0,0 +1,134 @@
+package com.hrm.controller;
+
+import com.hrm.entity.Employee;
+import com.hrm.entity.LeaveRequest;
+import com.hrm.entity.enums.LeaveStatus;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.service.LeaveOverlapException;
+import com.hrm.service.LeaveRequestService;
+import com.hrm.support.IntegrationTest;
+import com.hrm.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Overlapping pending or approved leave of one employee is refused with 409 by the exclusion
+ * constraint, including when two overlapping requests are saved at the same time.
+ */
+class LeaveRequestOverlapTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestData data;
+    private Long employeeId;
+    private LocalDate firstDay;
+
+    @BeforeEach
+    void seed() {
+        data = new TestData(jdbcTemplate);
+        employeeId = data.employee(data.department(), null);
+        // A Monday, so every range below covers working days (a weekend-only request is a 400)
+        firstDay = LocalDate.now().plusMonths(2).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void overlappingRequestIsAConflict() throws Exception {
+        data.leaveRequest(employeeId, LeaveType.ANNUAL, firstDay, firstDay.plusDays(4), LeaveStatus.PENDING);
+
+        create(firstDay.plusDays(2), firstDay.plusDays(6)).andExpect(status().isConflict());
+        create(firstDay.plusDays(7), firstDay.plusDays(8)).andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectedRequestDoesNotBlockTheSameDates() throws Exception {
+        data.leaveRequest(employeeId, LeaveType.ANNUAL, firstDay, firstDay.plusDays(4), LeaveStatus.REJECTED);
+
+        create(firstDay, firstDay.plusDays(4)).andExpect(status().isOk());
+    }
+
+    @Test
+    void onlyOneOfTwoConcurrentOverlappingRequestsIsSaved() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                LocalDate startDate = firstDay.plusDays(i);
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return leaveRequestService.saveLeaveRequest(leaveRequest(startDate, startDate.plusDays(3)));
+                }));
+            }
+            start.countDown();
+
+            int saved = 0;
+            int conflicts = 0;
+            for (Future<?> attempt : attempts) {
+                try {
+                    attempt.get(30, TimeUnit.SECONDS);
+                    saved++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(LeaveOverlapException.class);
+                    conflicts++;
+                }
+            }
+            assertThat(saved).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leave_requests WHERE employee_id = ?", Integer.class, employeeId)).isEqualTo(1);
+    }
+
+    private ResultActions create(LocalDate startDate, LocalDate endDate) throws Exception {
+        return mockMvc.perform(post("/api/leave-requests")
+                .with(jwt())
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"employee\":{\"id\":" + employeeId + "},\"leaveType\":\"ANNUAL\"," +
+                        "\"startDate\":\"" + startDate + "\",\"endDate\":\"" + endDate + "\",\"reason\":\"Holiday\"}"));
+    }
+
+    private LeaveRequest leaveRequest(LocalDate startDate, LocalDate endDate) {
+        Employee employee = new Employee();
+        employee.setId(employeeId);
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setLeaveType(LeaveType.ANNUAL);
+        leaveRequest.setStartDate(startDate);
+        leaveRequest.setEndDate(endDate);
+        leaveRequest.setReason("Holiday");
+        return leaveRequest;
+    }
+}
\ No newline at end of file
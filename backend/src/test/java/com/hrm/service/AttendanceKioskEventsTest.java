@@ -0,0 +1,66 @@
+package com.hrm.service;
+
+import com.hrm.service.dto.KioskBatchResultDTO;
+import com.hrm.service.dto.KioskEventDTO;
+import com.hrm.service.dto.KioskEventType;
+import com.hrm.support.IntegrationTest;
+import com.hrm.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each kiosk event gets its own outcome, and an event only succeeds if its row was written.
+ */
+class AttendanceKioskEventsTest extends IntegrationTest {
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportsAnOutcomePerEvent() {
+        TestData data = new TestData(jdbcTemplate);
+        Long departmentId = data.department();
+        Long checkedIn = data.employee(departmentId, null);
+        Long neverCheckedIn = data.employee(departmentId, null);
+        Long backfilled = data.employee(departmentId, null);
+        Long deleted = data.employee(departmentId, null);
+        // Gone by the time the batch is written; only the upsert can tell
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", deleted);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime checkInTime = now.minusHours(1).isBefore(LocalDate.now().atStartOfDay())
+                ? LocalDate.now().atStartOfDay() : now.minusHours(1);
+        List<KioskEventDTO> events = List.of(
+                new KioskEventDTO(checkedIn, KioskEventType.CHECK_IN, checkInTime, "Lobby", null),
+                new KioskEventDTO(checkedIn, KioskEventType.CHECK_IN, checkInTime, "Lobby", null),
+                new KioskEventDTO(neverCheckedIn, KioskEventType.CHECK_OUT, now, "Lobby", null),
+                new KioskEventDTO(Long.MAX_VALUE, KioskEventType.CHECK_IN, now, "Lobby", null),
+                new KioskEventDTO(backfilled, KioskEventType.CHECK_IN, now.minusDays(3), "Lobby", null),
+                new KioskEventDTO(checkedIn, KioskEventType.CHECK_OUT, now, "Lobby", null),
+                new KioskEventDTO(deleted, KioskEventType.CHECK_IN, now, "Lobby", null));
+
+        KioskBatchResultDTO result = attendanceService.recordKioskEvents(events, "10.0.0.1");
+
+        assertThat(result.getResults())
+                .extracting(KioskBatchResultDTO.ItemResult::isSuccess)
+                .containsExactly(true, false, false, false, false, true, false);
+        assertThat(result.getSucceededCount()).isEqualTo(2);
+        assertThat(result.getFailedCount()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attendance WHERE employee_id = ? AND check_out_time IS NOT NULL",
+                Integer.class, checkedIn)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attendance WHERE employee_id IN (?, ?, ?)",
+                Integer.class, neverCheckedIn, backfilled, deleted)).isZero();
+    }
+}
@@ -0,0 +1,89 @@
+package com.hrm.service;
+
+import com.hrm.entity.Employee;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.entity.enums.LedgerEntryType;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.support.IntegrationTest;
+import com.hrm.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent debits against one balance are applied by the conditional snapshot UPDATE: every
+ * debit the balance covers succeeds, the rest fail, and the balance never goes below zero.
+ */
+class LeaveBalanceContentionTest extends IntegrationTest {
+
+    // Not the current year, so the legacy employee columns are left alone
+    private static final int YEAR = 2091;
+    private static final int BALANCE = 10;
+    private static final int DEBITS = 16;
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentDebitsNeverOverdrawTheBalance() throws Exception {
+        TestData data = new TestData(jdbcTemplate);
+        Employee employee = employeeRepository.findById(data.employee(data.department(), null)).orElseThrow();
+        leaveLedgerService.adjustTo(employee, LeaveType.ANNUAL, YEAR, BigDecimal.valueOf(BALANCE), "Test balance");
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        int succeeded = 0;
+        int refused = 0;
+        try {
+            List<Future<BigDecimal>> debits = new ArrayList<>();
+            for (int i = 0; i < DEBITS; i++) {
+                debits.add(executor.submit(() -> {
+                    start.await();
+                    return leaveLedgerService.append(employee, LeaveType.ANNUAL, YEAR, LedgerEntryType.DEBIT,
+                            BigDecimal.ONE.negate(), null, "Concurrent debit");
+                }));
+            }
+            start.countDown();
+            for (Future<BigDecimal> debit : debits) {
+                try {
+                    assertThat(debit.get(30, TimeUnit.SECONDS)).isNotNegative();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(InsufficientLeaveBalanceException.class);
+                    refused++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(succeeded).isEqualTo(BALANCE);
+        assertThat(refused).isEqualTo(DEBITS - BALANCE);
+        assertThat(leaveLedgerService.getBalance(employee.getId(), LeaveType.ANNUAL, YEAR)).isZero();
+        // Refused debits roll back with their ledger entry, so the ledger still adds up to the snapshot
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(days) FROM leave_ledger_entries WHERE employee_id = ? AND leave_type = 'ANNUAL' " +
+                "AND balance_year = ?", BigDecimal.class, employee.getId(), YEAR)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leave_ledger_entries WHERE employee_id = ? AND balance_year = ? " +
+                "AND entry_type = 'DEBIT'", Integer.class, employee.getId(), YEAR)).isEqualTo(BALANCE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.hrm.service;
+
+import com.hrm.entity.enums.LeaveStatus;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.service.dto.LeaveRequestDTO;
+import com.hrm.support.IntegrationTest;
+import com.hrm.support.StatementCounter;
+import com.hrm.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the statements issued by the leave request DTO paths. Each page or list loads its rows with
+ * their employees in one query, so the count must not grow with the number of rows.
+ */
+class LeaveRequestStatementCountTest extends IntegrationTest {
+
+    private static final int ROWS = 12;
+    private static final PageRequest PAGE = PageRequest.of(0, 5);
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long managerId;
+    private Long employeeId;
+    private LocalDate firstDay;
+    private final List<Long> leaveRequestIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        TestData data = new TestData(jdbcTemplate);
+        Long departmentId = data.department();
+        managerId = data.employee(departmentId, null);
+        employeeId = data.employee(departmentId, managerId);
+        // Other runs may have rows in the same window; assertions only count the ones seeded here
+        firstDay = LocalDate.of(2090, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            Long reportId = i % 2 == 0 ? employeeId : data.employee(departmentId, managerId);
+            LocalDate day = firstDay.plusDays(i);
+            leaveRequestIds.add(data.leaveRequest(reportId, LeaveType.ANNUAL, day, day, LeaveStatus.PENDING));
+        }
+        StatementCounter.reset();
+    }
+
+    @Test
+    void pageOfAllRequestsIsOneSelectAndOneCount() {
+        Page<LeaveRequestDTO> page = leaveRequestService.getLeaveRequests(PAGE);
+
+        assertThat(page.getContent()).hasSize(5).allSatisfy(dto -> assertThat(dto.getEmployeeName()).isNotNull());
+        assertThat(StatementCounter.statements()).hasSize(2);
+    }
+
+    @Test
+    void pageByEmployeeIsOneSelectAndOneCount() {
+        Page<LeaveRequestDTO> page = leaveRequestService.getLeaveRequestsByEmployee(employeeId, PAGE);
+
+        assertThat(page.getTotalElements()).isEqualTo(ROWS / 2);
+        assertThat(StatementCounter.statements()).hasSize(2);
+    }
+
+    @Test
+    void pageByStatusIsOneSelectAndOneCount() {
+        leaveRequestService.getLeaveRequestsByStatus(LeaveStatus.PENDING, PAGE);
+
+        assertThat(StatementCounter.statements()).hasSize(2);
+    }
+
+    @Test
+    void pendingPageForManagerIsOneSelectAndOneCount() {
+        Page<LeaveRequestDTO> page = leaveRequestService.getPendingLeaveRequestsForManager(managerId, PAGE);
+
+        assertThat(page.getTotalElements()).isEqualTo(ROWS);
+        assertThat(StatementCounter.statements()).hasSize(2);
+    }
+
+    @Test
+    void dateRangeIsOneSelect() {
+        List<LeaveRequestDTO> requests = leaveRequestService.getLeaveRequestsByDateRange(firstDay,
+                firstDay.plusDays(ROWS - 1));
+
+        assertThat(requests).filteredOn(dto -> leaveRequestIds.contains(dto.getId())).hasSize(ROWS);
+        assertThat(StatementCounter.statements()).hasSize(1);
+    }
+
+    @Test
+    void singleRequestIsOneSelect() {
+        leaveRequestService.getLeaveRequest(leaveRequestIds.get(0));
+
+        assertThat(StatementCounter.statements()).hasSize(1);
+    }
+
+    @Test
+    void rejectIsOneSelectAndOneUpdate() {
+        LeaveRequestDTO rejected = leaveRequestService.rejectLeaveRequest(leaveRequestIds.get(0), "Not this week");
+
+        assertThat(rejected.getStatus()).isEqualTo(LeaveStatus.REJECTED);
+        assertThat(StatementCounter.statements()).hasSize(2);
+    }
+}
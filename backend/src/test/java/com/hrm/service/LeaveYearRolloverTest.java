@@ -0,0 +1,140 @@
+package com.hrm.service;
+
+import com.hrm.entity.Employee;
+import com.hrm.entity.LeaveAccrualRun;
+import com.hrm.entity.enums.AccrualRunStatus;
+import com.hrm.entity.enums.LeaveType;
+import com.hrm.entity.enums.LedgerEntryType;
+import com.hrm.repository.EmployeeRepository;
+import com.hrm.support.IntegrationTest;
+import com.hrm.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Year start opens each balance from the ledger: the yearly accrual plus, for ANNUAL, the previous
+ * year's closing balance up to the carry-over cap (20, 10 and 5 days by default). Posting a year
+ * twice changes nothing, and a balance opened from the legacy employee columns is never granted
+ * its cut-over year again.
+ */
+class LeaveYearRolloverTest extends IntegrationTest {
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+
+    @Autowired
+    private LeaveAccrualJob leaveAccrualJob;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void opensTheYearWithAccrualAndCappedCarryOver() {
+        TestData data = new TestData(jdbcTemplate);
+        Long departmentId = data.department();
+        Employee saver = employee(data, departmentId);
+        Employee spender = employee(data, departmentId);
+        Employee newcomer = employee(data, departmentId);
+        leaveLedgerService.adjustTo(saver, LeaveType.ANNUAL, 2092, BigDecimal.valueOf(12), "Closing balance");
+        leaveLedgerService.adjustTo(spender, LeaveType.ANNUAL, 2092, BigDecimal.valueOf(3), "Closing balance");
+        List<Long> employeeIds = List.of(saver.getId(), spender.getId(), newcomer.getId());
+
+        leaveLedgerService.postYearStart(employeeIds, 2093);
+        leaveLedgerService.postYearStart(employeeIds, 2093);
+
+        assertBalance(saver, LeaveType.ANNUAL, 2093, 25);
+        assertBalance(spender, LeaveType.ANNUAL, 2093, 23);
+        assertBalance(newcomer, LeaveType.ANNUAL, 2093, 20);
+        assertBalance(saver, LeaveType.SICK, 2093, 10);
+        assertThat(entries(saver, 2093, LedgerEntryType.CARRY_OVER)).isEqualTo(1);
+        assertThat(entries(saver, 2093, LedgerEntryType.ACCRUAL)).isEqualTo(2);
+        assertThat(entries(newcomer, 2093, LedgerEntryType.CARRY_OVER)).isZero();
+
+        // The snapshot the rollover built is the one later postings update
+        assertThat(leaveLedgerService.append(saver, LeaveType.ANNUAL, 2093, LedgerEntryType.DEBIT,
+                BigDecimal.ONE.negate(), null, "Debit after rollover")).isEqualByComparingTo("24");
+    }
+
+    @Test
+    void accrualJobRollsOverEveryActiveEmployeeOnce() {
+        TestData data = new TestData(jdbcTemplate);
+        Employee employee = employee(data, data.department());
+        leaveLedgerService.adjustTo(employee, LeaveType.ANNUAL, 2094, BigDecimal.valueOf(2), "Closing balance");
+
+        LeaveAccrualRun run = leaveAccrualJob.run(2095);
+        LeaveAccrualRun rerun = leaveAccrualJob.run(2095);
+
+        assertThat(run.getStatus()).isEqualTo(AccrualRunStatus.COMPLETED);
+        assertThat(rerun.getProcessedEmployees()).isEqualTo(run.getProcessedEmployees());
+        assertBalance(employee, LeaveType.ANNUAL, 2095, 22);
+        assertBalance(employee, LeaveType.SICK, 2095, 10);
+        assertThat(entries(employee, 2095, LedgerEntryType.ACCRUAL)).isEqualTo(2);
+    }
+
+    @Test
+    void balancesOpenedFromLegacyColumnsAreNotGrantedTheCutOverYearAgain() {
+        TestData data = new TestData(jdbcTemplate);
+        Long departmentId = data.department();
+        Employee usedUp = employee(data, departmentId);
+        Employee saver = employee(data, departmentId);
+        // As written by V6 for the cut-over year, including a balance that was used up
+        legacyOpening(usedUp, LeaveType.ANNUAL, 2096, 0);
+        legacyOpening(usedUp, LeaveType.SICK, 2096, 0);
+        legacyOpening(saver, LeaveType.ANNUAL, 2096, 7);
+        legacyOpening(saver, LeaveType.SICK, 2096, 4);
+        List<Long> employeeIds = List.of(usedUp.getId(), saver.getId());
+
+        leaveLedgerService.postYearStart(employeeIds, 2096);
+
+        assertBalance(usedUp, LeaveType.ANNUAL, 2096, 0);
+        assertBalance(usedUp, LeaveType.SICK, 2096, 0);
+        assertBalance(saver, LeaveType.ANNUAL, 2096, 7);
+        assertThat(entries(usedUp, 2096, LedgerEntryType.ACCRUAL)).isZero();
+        assertThat(entries(saver, 2096, LedgerEntryType.ACCRUAL)).isZero();
+
+        // The year after the cut-over follows the accrual rules
+        leaveLedgerService.postYearStart(employeeIds, 2097);
+
+        assertBalance(usedUp, LeaveType.ANNUAL, 2097, 20);
+        assertBalance(saver, LeaveType.ANNUAL, 2097, 25);
+        assertBalance(saver, LeaveType.SICK, 2097, 10);
+    }
+
+    private void legacyOpening(Employee employee, LeaveType leaveType, int year, int days) {
+        Long entryId = jdbcTemplate.queryForObject(
+                "INSERT INTO leave_ledger_entries (employee_id, leave_type, balance_year, entry_type, days, description) " +
+                "VALUES (?, ?, ?, 'LEGACY_OPENING', ?, 'Opening balance from employees') RETURNING id",
+                Long.class, employee.getId(), leaveType.name(), year, days);
+        jdbcTemplate.update(
+                "INSERT INTO leave_balance_snapshots (employee_id, leave_type, balance_year, balance, last_entry_id) " +
+                "VALUES (?, ?, ?, ?, ?)", employee.getId(), leaveType.name(), year, days, entryId);
+    }
+
+    private Employee employee(TestData data, Long departmentId) {
+        return employeeRepository.findById(data.employee(departmentId, null)).orElseThrow();
+    }
+
+    private void assertBalance(Employee employee, LeaveType leaveType, int year, int expected) {
+        assertThat(leaveLedgerService.getBalance(employee.getId(), leaveType, year))
+                .isEqualByComparingTo(BigDecimal.valueOf(expected));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(days) FROM leave_ledger_entries WHERE employee_id = ? AND leave_type = ? " +
+                "AND balance_year = ?", BigDecimal.class, employee.getId(), leaveType.name(), year))
+                .isEqualByComparingTo(BigDecimal.valueOf(expected));
+    }
+
+    private int entries(Employee employee, int year, LedgerEntryType entryType) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leave_ledger_entries WHERE employee_id = ? AND balance_year = ? " +
+                "AND entry_type = ?", Integer.class, employee.getId(), year, entryType.name());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.hrm.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Base for tests against the full application on a real PostgreSQL and Redis. The containers are
+ * started once per JVM and shared by every subclass, so the Spring context is cached between them;
+ * tests therefore seed their own rows with {@link TestData} instead of relying on an empty database.
+ *
+ * <p>Skipped when no Docker daemon is available.</p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class IntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    // Requests are authenticated with spring-security-test's jwt(); nothing reaches Keycloak
+    @MockBean
+    protected JwtDecoder jwtDecoder;
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        REDIS.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                StatementCounter.class::getName);
+        registry.add("hrm.leave.accrual.enabled", () -> false);
+    }
+}
@@ -0,0 +1,52 @@
+package com.hrm.support;
+
+import com.hrm.entity.enums.LeaveStatus;
+import com.hrm.entity.enums.LeaveType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts rows with plain SQL, so seeding a test never goes through the code under test. Names,
+ * codes and emails are unique per JVM, since the database is shared by all integration tests.
+ */
+public class TestData {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Long department() {
+        int n = SEQUENCE.incrementAndGet();
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO departments (name, code) VALUES (?, ?) RETURNING id",
+                Long.class, "Department " + n, "D" + n);
+    }
+
+    public Long employee(Long departmentId, Long managerId) {
+        int n = SEQUENCE.incrementAndGet();
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO employees (employee_id, first_name, last_name, email, hire_date, job_title, " +
+                "department_id, manager_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?) RETURNING id",
+                Long.class, "E" + n, "First" + n, "Last" + n, "employee" + n + "@example.com",
+                LocalDate.now().minusYears(2), "Engineer", departmentId, managerId);
+    }
+
+    public Long leaveRequest(Long employeeId, LeaveType leaveType, LocalDate startDate, LocalDate endDate,
+                             LeaveStatus status) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO leave_requests (employee_id, leave_type, start_date, end_date, days_requested, " +
+                "reason, status) VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING id",
+                Long.class, employeeId, leaveType.name(), startDate, endDate,
+                (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1, "Test", status.name());
+    }
+
+    public String email(Long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT email FROM employees WHERE id = ?", String.class, employeeId);
+    }
+}